@@ -0,0 +1,64 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.analysis.passes.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Each semantic analysis pass on its own, over an AST and symbol table built beforehand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalysisPassBenchmark {
+
+    private static final Map<String, Supplier<AnalysisVisitor>> PASSES = Map.of(
+            "UndeclaredVariable", UndeclaredVariable::new,
+            "BinaryExpr", BinaryExpr::new,
+            "Method", Method::new,
+            "Array", Array::new,
+            "Assignment", Assignment::new,
+            "IfStatementPass", IfStatementPass::new,
+            "WhileStatement", WhileStatement::new,
+            "VariableDeclaration", VariableDeclaration::new,
+            "ImportPass", ImportPass::new,
+            "ParamPass", ParamPass::new
+    );
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    @Param({"UndeclaredVariable", "BinaryExpr", "Method", "Array", "Assignment", "IfStatementPass", "WhileStatement",
+            "VariableDeclaration", "ImportPass", "ParamPass"})
+    public String pass;
+
+    private JmmNode rootNode;
+    private SymbolTable table;
+    private Supplier<AnalysisVisitor> passFactory;
+
+    @Setup
+    public void setup() {
+        var semanticsResult = BenchmarkStages.analyse(BenchmarkInputs.read(input), CompilerConfig.getDefault());
+        rootNode = semanticsResult.getRootNode();
+        table = semanticsResult.getSymbolTable();
+        passFactory = PASSES.get(pass);
+    }
+
+    @Benchmark
+    public List<Report> analyze() {
+        return passFactory.get().analyze(rootNode, table);
+    }
+}
@@ -0,0 +1,47 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Constant propagation and folding with {@link pt.up.fe.comp2025.optimization.WorklistOptimizer}.
+ * <p>
+ * The optimization rewrites the AST, so a fresh one is analysed before each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AstOptimizationBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    private String code;
+    private JmmSemanticsResult semanticsResult;
+
+    @Setup
+    public void setup() {
+        code = BenchmarkInputs.read(input);
+    }
+
+    @Setup(Level.Invocation)
+    public void analyse() {
+        var config = CompilerConfig.getDefault();
+        config.put(ConfigOptions.getOptimize(), "true");
+        semanticsResult = BenchmarkStages.analyse(code, config);
+    }
+
+    @Benchmark
+    public JmmSemanticsResult optimize() {
+        return new JmmOptimizationImpl().optimize(semanticsResult);
+    }
+}
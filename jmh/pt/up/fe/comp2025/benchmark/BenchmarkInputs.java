@@ -0,0 +1,36 @@
+package pt.up.fe.comp2025.benchmark;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+
+/**
+ * Java-- sources used by the benchmarks.
+ * <p>
+ * Inputs are either paths relative to the test folder (benchmarks run from the project folder) or "large", a class
+ * with {@link #LARGE_METHODS} methods built by the {@link ProgramGenerator}.
+ */
+public class BenchmarkInputs {
+
+    public static final String LARGE = "large";
+
+    private static final int LARGE_METHODS = 200;
+
+    private static final long LARGE_SEED = 42;
+
+    private static final String TEST_FOLDER = "test/pt/up/fe/comp/";
+
+    public static String read(String input) {
+        if (LARGE.equals(input)) {
+            return ProgramGenerator.generate(ProgramGenerator.Parameters.DEFAULT.withMethods(LARGE_METHODS), LARGE_SEED);
+        }
+
+        var file = new File(TEST_FOLDER + input);
+        if (!file.isFile()) {
+            throw new RuntimeException("Could not find benchmark input '" + file.getAbsolutePath()
+                    + "', benchmarks must run from the project folder");
+        }
+
+        return SpecsIo.read(file);
+    }
+}
@@ -0,0 +1,42 @@
+package pt.up.fe.comp2025.benchmark;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.Map;
+
+/**
+ * Runs the stages that precede the one being measured, failing if any of them reports errors.
+ */
+public class BenchmarkStages {
+
+    public static JmmParserResult parse(String code, Map<String, String> config) {
+        var parserResult = new JmmParserImpl().parse(code, config);
+        check(!ReportUtils.anyError(parserResult.getReports()), "parsing");
+        return parserResult;
+    }
+
+    public static JmmSemanticsResult analyse(String code, Map<String, String> config) {
+        var semanticsResult = new JmmAnalysisImpl().semanticAnalysis(parse(code, config));
+        check(!ReportUtils.anyError(semanticsResult.getReports()), "semantic analysis");
+        return semanticsResult;
+    }
+
+    public static OllirResult toOllir(String code, Map<String, String> config) {
+        var optimization = new JmmOptimizationImpl();
+        var ollirResult = optimization.toOllir(optimization.optimize(analyse(code, config)));
+        check(!ReportUtils.anyError(ollirResult.getReports()), "OLLIR generation");
+        return ollirResult;
+    }
+
+    private static void check(boolean ok, String stage) {
+        if (!ok) {
+            throw new RuntimeException("Benchmark input has errors in " + stage);
+        }
+    }
+}
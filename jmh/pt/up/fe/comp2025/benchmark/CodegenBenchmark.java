@@ -0,0 +1,48 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.backend.JasminGenerator;
+import pt.up.fe.comp2025.optimization.OllirGeneratorVisitor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OLLIR generation from the analysed AST, and Jasmin generation from the parsed OLLIR.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodegenBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    private JmmSemanticsResult semanticsResult;
+    private OllirResult ollirResult;
+
+    @Setup
+    public void setup() {
+        var code = BenchmarkInputs.read(input);
+        var config = CompilerConfig.getDefault();
+
+        semanticsResult = BenchmarkStages.analyse(code, config);
+        ollirResult = BenchmarkStages.toOllir(code, config);
+    }
+
+    @Benchmark
+    public String ollir() {
+        return new OllirGeneratorVisitor(semanticsResult.getSymbolTable()).visit(semanticsResult.getRootNode());
+    }
+
+    @Benchmark
+    public String jasmin() {
+        return new JasminGenerator(ollirResult).build();
+    }
+}
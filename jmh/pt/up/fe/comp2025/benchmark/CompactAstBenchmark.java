@@ -0,0 +1,66 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ast.CompactAst;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walk over the whole AST that sums the integer literals, on the {@link JmmNode} tree and on the arrays of a
+ * {@link CompactAst}, plus the cost of building the compact form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompactAstBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    private JmmNode root;
+    private CompactAst ast;
+
+    @Setup
+    public void setup() {
+        root = BenchmarkStages.parse(BenchmarkInputs.read(input), CompilerConfig.getDefault()).getRootNode();
+        ast = CompactAst.of(root);
+    }
+
+    @Benchmark
+    public long sumLiteralsTree() {
+        return sumLiterals(root);
+    }
+
+    @Benchmark
+    public long sumLiteralsCompact() {
+        long sum = 0;
+        for (int node = 0; node < ast.size(); node++) {
+            if (ast.hasIntValue(node)) {
+                sum += ast.intValue(node);
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public CompactAst build() {
+        return CompactAst.of(root);
+    }
+
+    private static long sumLiterals(JmmNode node) {
+        long sum = Kind.INTEGER_LITERAL.check(node) ? Integer.parseInt(node.get("value")) : 0;
+
+        for (var child : node.getChildren()) {
+            sum += sumLiterals(child);
+        }
+
+        return sum;
+    }
+}
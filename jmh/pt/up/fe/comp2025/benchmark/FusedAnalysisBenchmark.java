@@ -0,0 +1,70 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.analysis.FusedAnalysis;
+import pt.up.fe.comp2025.analysis.ParallelAnalysis;
+import pt.up.fe.comp2025.analysis.passes.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All semantic analysis passes, with one visit of the AST per pass, with a single {@link FusedAnalysis} visit, and with
+ * the methods visited in parallel by {@link ParallelAnalysis}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FusedAnalysisBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            BenchmarkInputs.LARGE})
+    public String input;
+
+    private JmmNode rootNode;
+    private SymbolTable table;
+
+    @Setup
+    public void setup() {
+        var semanticsResult = BenchmarkStages.analyse(BenchmarkInputs.read(input), CompilerConfig.getDefault());
+        rootNode = semanticsResult.getRootNode();
+        table = semanticsResult.getSymbolTable();
+    }
+
+    @Benchmark
+    public List<Report> separate() {
+        var reports = new ArrayList<Report>();
+        for (var pass : newPasses()) {
+            reports.addAll(pass.analyze(rootNode, table));
+        }
+
+        return reports;
+    }
+
+    @Benchmark
+    public List<FusedAnalysis.PassOutcome> fused() {
+        return new FusedAnalysis(newPasses()).analyze(rootNode, table);
+    }
+
+    @Benchmark
+    public List<FusedAnalysis.PassOutcome> parallel() {
+        return new ParallelAnalysis(FusedAnalysisBenchmark::newPasses, ForkJoinPool.commonPool())
+                .analyze(rootNode, table);
+    }
+
+    private static List<AnalysisVisitor> newPasses() {
+        return List.of(new UndeclaredVariable(), new BinaryExpr(), new Method(), new Array(), new Assignment(),
+                new IfStatementPass(), new WhileStatement(), new VariableDeclaration(), new ImportPass(),
+                new ParamPass());
+    }
+}
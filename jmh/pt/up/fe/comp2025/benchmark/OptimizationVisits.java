@@ -0,0 +1,74 @@
+package pt.up.fe.comp2025.benchmark;
+
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.optimization.OptimizationVisitor;
+import pt.up.fe.comp2025.optimization.WorklistOptimizer;
+
+import java.util.Map;
+
+/**
+ * Counts the AST nodes that constant propagation and folding visits on the programs of the {@link ScalingBenchmark},
+ * with the whole-AST passes repeated until nothing changes ({@link OptimizationVisitor}, from the test sources) and
+ * with the {@link WorklistOptimizer} the compiler uses.
+ * <p>
+ * A visit of the passes is a call of the visitor on a node. A visit of the worklist is a node it links or processes.
+ * Both must give the same AST, the run fails otherwise.
+ * <p>
+ * Usage: {@code gradle optimizationVisits}.
+ */
+public class OptimizationVisits {
+
+    private static final long SEED = 7;
+
+    private record Count(int passes, long fixpointVisits, long worklistVisits) {
+    }
+
+    public static void main(String[] args) {
+        var config = CompilerConfig.getDefault();
+        config.put(ConfigOptions.getOptimize(), "true");
+
+        long totalFixpoint = 0;
+        long totalWorklist = 0;
+
+        System.out.printf("%-16s %6s %7s %12s %12s %7s%n", "parameter", "value", "passes", "fixpoint", "worklist",
+                "saved");
+        for (var sweep : ScalingBenchmark.SWEEPS) {
+            for (int value : sweep.values()) {
+                var code = ProgramGenerator.generate(sweep.parameters().apply(value), SEED);
+                var count = count(code, config);
+
+                totalFixpoint += count.fixpointVisits();
+                totalWorklist += count.worklistVisits();
+
+                System.out.printf("%-16s %6d %7d %12d %12d %6.1f%%%n", sweep.name(), value, count.passes(),
+                        count.fixpointVisits(), count.worklistVisits(),
+                        saved(count.fixpointVisits(), count.worklistVisits()));
+            }
+        }
+
+        System.out.printf("%-16s %6s %7s %12d %12d %6.1f%%%n", "total", "", "", totalFixpoint, totalWorklist,
+                saved(totalFixpoint, totalWorklist));
+    }
+
+    private static Count count(String code, Map<String, String> config) {
+        var fixpointResult = BenchmarkStages.analyse(code, config);
+        var fixpointRoot = fixpointResult.getRootNode();
+        var visitor = new OptimizationVisitor();
+        visitor.optimizeUntilFixpoint(fixpointRoot, fixpointResult.getSymbolTable());
+
+        var worklistRoot = BenchmarkStages.analyse(code, config).getRootNode();
+        var optimizer = new WorklistOptimizer();
+        optimizer.optimize(worklistRoot);
+
+        if (!fixpointRoot.toTree().equals(worklistRoot.toTree())) {
+            throw new RuntimeException("The worklist and the passes gave different ASTs");
+        }
+
+        return new Count(visitor.getPasses(), visitor.getVisits(), optimizer.getVisits());
+    }
+
+    private static double saved(long fixpointVisits, long worklistVisits) {
+        return fixpointVisits == 0 ? 0 : 100.0 * (fixpointVisits - worklistVisits) / fixpointVisits;
+    }
+}
@@ -0,0 +1,44 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexing, parsing and conversion to the JmmNode AST, with each of the parsers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    @Param({CompilerConfig.SLL_PARSER, CompilerConfig.LL_PARSER, CompilerConfig.RD_PARSER,
+            CompilerConfig.LISTENER_PARSER})
+    public String parser;
+
+    private String code;
+    private Map<String, String> config;
+
+    @Setup
+    public void setup() {
+        code = BenchmarkInputs.read(input);
+        config = CompilerConfig.getDefault();
+        CompilerConfig.setParser(config, parser);
+    }
+
+    @Benchmark
+    public JmmParserResult parse() {
+        return new JmmParserImpl().parse(code, config);
+    }
+}
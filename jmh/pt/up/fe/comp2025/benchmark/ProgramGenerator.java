@@ -0,0 +1,262 @@
+package pt.up.fe.comp2025.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates valid Java-- programs of a given shape, for scaling benchmarks.
+ * <p>
+ * The same parameters and seed always produce the same program. Generated programs parse, pass semantic analysis and
+ * compile down to Jasmin, with and without optimizations.
+ */
+public class ProgramGenerator {
+
+    public static final String CLASS_NAME = "Generated";
+
+    /**
+     * Shape of the generated program.
+     *
+     * @param methods         number of methods besides main, each calling the previous one
+     * @param locals          int locals declared in each method
+     * @param loopNesting     depth of the nested while loops in each method
+     * @param expressionDepth depth of the binary expression trees
+     * @param arrays          if true, methods also receive, index and store into int arrays
+     */
+    public record Parameters(int methods, int locals, int loopNesting, int expressionDepth, boolean arrays) {
+
+        public static final Parameters DEFAULT = new Parameters(20, 8, 2, 3, true);
+
+        public Parameters withMethods(int methods) {
+            return new Parameters(methods, locals, loopNesting, expressionDepth, arrays);
+        }
+
+        public Parameters withLocals(int locals) {
+            return new Parameters(methods, locals, loopNesting, expressionDepth, arrays);
+        }
+
+        public Parameters withLoopNesting(int loopNesting) {
+            return new Parameters(methods, locals, loopNesting, expressionDepth, arrays);
+        }
+
+        public Parameters withExpressionDepth(int expressionDepth) {
+            return new Parameters(methods, locals, loopNesting, expressionDepth, arrays);
+        }
+
+        public Parameters withArrays(boolean arrays) {
+            return new Parameters(methods, locals, loopNesting, expressionDepth, arrays);
+        }
+    }
+
+    // Statements generated in each block, besides the nested loop
+    private static final int STATEMENTS_PER_BLOCK = 3;
+
+    // Literals are always smaller than the size of the arrays, the Array pass checks constant indexes
+    private static final int ARRAY_SIZE = 100;
+
+    private final Parameters parameters;
+    private final Random random;
+    private final StringBuilder code = new StringBuilder();
+
+    private int indentation;
+
+    public ProgramGenerator(Parameters parameters, long seed) {
+        this.parameters = parameters;
+        this.random = new Random(seed);
+    }
+
+    public static String generate(Parameters parameters, long seed) {
+        return new ProgramGenerator(parameters, seed).generate();
+    }
+
+    public String generate() {
+        code.setLength(0);
+
+        line("import io;");
+        line("class " + CLASS_NAME + " {");
+        indentation++;
+        line("int total;");
+
+        for (int method = 0; method < parameters.methods(); method++) {
+            method(method);
+        }
+        main();
+
+        indentation--;
+        line("}");
+
+        return code.toString();
+    }
+
+    private void method(int method) {
+        // Names are unique in the whole class, locals and parameters are checked for duplicates class-wide
+        var paramList = parameters.arrays() ? "int[] arr" + method + ", int n" + method : "int n" + method;
+
+        line("");
+        line("public int m" + method + "(" + paramList + ") {");
+        indentation++;
+
+        for (int local = 0; local < parameters.locals(); local++) {
+            line("int " + local(method, local) + ";");
+        }
+        for (int level = 0; level < parameters.loopNesting(); level++) {
+            line("int " + counter(method, level) + ";");
+        }
+        if (parameters.arrays()) {
+            line("int[] " + array(method) + ";");
+        }
+
+        // Every local starts defined
+        for (int local = 0; local < parameters.locals(); local++) {
+            line(local(method, local) + " = " + literal() + ";");
+        }
+        if (parameters.arrays()) {
+            line(array(method) + " = new int[" + ARRAY_SIZE + "];");
+        }
+
+        // Dependency on the previous method
+        if (method > 0 && parameters.locals() > 0) {
+            var args = parameters.arrays() ? array(method) + ", n" + method : "n" + method;
+            line(local(method, 0) + " = this.m" + (method - 1) + "(" + args + ");");
+        }
+
+        block(method, 0);
+
+        line("total = " + intExpression(method, parameters.expressionDepth()) + ";");
+        line("return " + intExpression(method, parameters.expressionDepth()) + ";");
+
+        indentation--;
+        line("}");
+    }
+
+    private void block(int method, int level) {
+        for (int i = 0; i < STATEMENTS_PER_BLOCK; i++) {
+            statement(method);
+        }
+
+        if (level >= parameters.loopNesting()) {
+            return;
+        }
+
+        var counter = counter(method, level);
+        line(counter + " = 0;");
+        line("while (" + counter + " < n" + method + ") {");
+        indentation++;
+        block(method, level + 1);
+        line(counter + " = " + counter + " + 1;");
+        indentation--;
+        line("}");
+    }
+
+    private void statement(int method) {
+        int choice = random.nextInt(parameters.arrays() ? 3 : 2);
+
+        // Assignment to a local
+        if (choice == 0 && parameters.locals() > 0) {
+            line(randomLocal(method) + " = " + intExpression(method, parameters.expressionDepth()) + ";");
+            return;
+        }
+
+        // Store into the array, operands are kept simple since OLLIR generation of array stores only supports them
+        if (choice == 2) {
+            line(array(method) + "[" + scalarLeaf(method) + "] = " + scalarLeaf(method) + ";");
+            return;
+        }
+
+        // If-else, with an assignment in each branch
+        var target = parameters.locals() > 0 ? randomLocal(method) : "total";
+        line("if (" + condition(method) + ") {");
+        indentation++;
+        line(target + " = " + intExpression(method, parameters.expressionDepth()) + ";");
+        indentation--;
+        line("} else {");
+        indentation++;
+        line(target + " = " + intExpression(method, parameters.expressionDepth()) + ";");
+        indentation--;
+        line("}");
+    }
+
+    private String condition(int method) {
+        int depth = Math.max(1, parameters.expressionDepth() - 1);
+        var comparison = "(" + intExpression(method, depth) + " < " + intExpression(method, depth) + ")";
+
+        return switch (random.nextInt(3)) {
+            case 0 -> comparison;
+            case 1 -> comparison + " && (" + intExpression(method, depth) + " < " + intExpression(method, depth) + ")";
+            default -> "!" + comparison;
+        };
+    }
+
+    private String intExpression(int method, int depth) {
+        if (depth <= 0) {
+            return intLeaf(method);
+        }
+
+        var left = intExpression(method, depth - 1);
+
+        return switch (random.nextInt(4)) {
+            case 0 -> "(" + left + " + " + intExpression(method, depth - 1) + ")";
+            case 1 -> "(" + left + " - " + intExpression(method, depth - 1) + ")";
+            case 2 -> "(" + left + " * " + intExpression(method, depth - 1) + ")";
+            // Divisors are never zero, so that constant folding cannot fail
+            default -> "(" + left + " / " + (1 + random.nextInt(9)) + ")";
+        };
+    }
+
+    private String intLeaf(int method) {
+        int choice = random.nextInt(parameters.arrays() ? 4 : 3);
+
+        if (choice == 0 || parameters.locals() == 0) {
+            return literal();
+        }
+
+        if (choice == 3) {
+            return array(method) + "[" + randomLocal(method) + "]";
+        }
+
+        return randomLocal(method);
+    }
+
+    private String scalarLeaf(int method) {
+        return random.nextBoolean() || parameters.locals() == 0 ? literal() : randomLocal(method);
+    }
+
+    private String literal() {
+        return String.valueOf(random.nextInt(ARRAY_SIZE));
+    }
+
+    private String randomLocal(int method) {
+        return local(method, random.nextInt(parameters.locals()));
+    }
+
+    private static String local(int method, int local) {
+        return "v" + method + "_" + local;
+    }
+
+    private static String counter(int method, int level) {
+        return "c" + method + "_" + level;
+    }
+
+    private static String array(int method) {
+        return "a" + method;
+    }
+
+    private void main() {
+        var args = parameters.arrays() ? "a, " + ARRAY_SIZE : String.valueOf(ARRAY_SIZE);
+
+        line("");
+        line("public static void main(String[] args) {");
+        indentation++;
+        line(CLASS_NAME + " g;");
+        line("int[] a;");
+        line("g = new " + CLASS_NAME + "();");
+        line("a = new int[" + ARRAY_SIZE + "];");
+        if (parameters.methods() > 0) {
+            line("io.println(g.m" + (parameters.methods() - 1) + "(" + args + "));");
+        }
+        indentation--;
+        line("}");
+    }
+
+    private void line(String text) {
+        code.append("    ".repeat(indentation)).append(text).append("\n");
+    }
+}
@@ -0,0 +1,52 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liveness analysis, interference graph and coloring done by {@link JmmOptimizationImpl#optimize(OllirResult)}.
+ * <p>
+ * Allocation rewrites the OLLIR variable tables, so the OLLIR code is parsed again before each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegisterAllocationBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    @Param({"0", "4"})
+    public String registers;
+
+    private String ollirCode;
+    private Map<String, String> config;
+    private OllirResult ollirResult;
+
+    @Setup
+    public void setup() {
+        config = CompilerConfig.getDefault();
+        config.put(ConfigOptions.getRegister(), registers);
+        ollirCode = BenchmarkStages.toOllir(BenchmarkInputs.read(input), config).getOllirCode();
+    }
+
+    @Setup(Level.Invocation)
+    public void parseOllir() {
+        ollirResult = new OllirResult(ollirCode, config);
+    }
+
+    @Benchmark
+    public OllirResult allocate() {
+        return new JmmOptimizationImpl().optimize(ollirResult);
+    }
+}
@@ -0,0 +1,145 @@
+package pt.up.fe.comp2025.benchmark;
+
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.benchmark.ProgramGenerator.Parameters;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Measures how compile time and allocated memory grow with each parameter of the {@link ProgramGenerator}.
+ * <p>
+ * Each parameter is swept while the others keep their default value. For every point, the whole pipeline (with
+ * optimizations) compiles the same generated program several times. The median time and the mean allocation are
+ * written to one CSV file per parameter, and printed as a bar chart.
+ * <p>
+ * Usage: {@code ScalingBenchmark [outputDir]}, or {@code gradle scalingBenchmark}.
+ */
+public class ScalingBenchmark {
+
+    private static final long SEED = 7;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final int CHART_WIDTH = 50;
+
+    record Sweep(String name, int[] values, IntFunction<Parameters> parameters) {
+    }
+
+    private record Point(int value, int lines, double millis, double allocatedMb) {
+    }
+
+    static final List<Sweep> SWEEPS = List.of(
+            new Sweep("methods", new int[]{10, 20, 40, 80, 160, 320}, Parameters.DEFAULT::withMethods),
+            new Sweep("locals", new int[]{2, 4, 8, 16, 32, 64}, Parameters.DEFAULT::withLocals),
+            new Sweep("loopNesting", new int[]{0, 1, 2, 4, 6, 8}, Parameters.DEFAULT::withLoopNesting),
+            new Sweep("expressionDepth", new int[]{1, 2, 3, 4, 5, 6, 7}, Parameters.DEFAULT::withExpressionDepth),
+            new Sweep("arrays", new int[]{0, 1}, value -> Parameters.DEFAULT.withArrays(value != 0))
+    );
+
+    private final CompilationPipeline pipeline = new CompilationPipeline();
+    private final Map<String, String> config;
+
+    public ScalingBenchmark() {
+        this.config = CompilerConfig.getDefault();
+        this.config.put(ConfigOptions.getOptimize(), "true");
+    }
+
+    public static void main(String[] args) throws IOException {
+        var outputDir = new File(args.length > 0 ? args[0] : "build/reports/scaling");
+        Files.createDirectories(outputDir.toPath());
+
+        var benchmark = new ScalingBenchmark();
+        for (var sweep : SWEEPS) {
+            var points = benchmark.run(sweep);
+
+            var csvFile = new File(outputDir, sweep.name() + ".csv");
+            Files.writeString(csvFile.toPath(), toCsv(sweep, points));
+
+            System.out.println(chart(sweep, points));
+            System.out.println("Wrote " + csvFile);
+            System.out.println();
+        }
+    }
+
+    public List<Point> run(Sweep sweep) {
+        var points = new ArrayList<Point>();
+
+        for (int value : sweep.values()) {
+            var code = ProgramGenerator.generate(sweep.parameters().apply(value), SEED);
+            var lines = (int) code.lines().count();
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                compile(code);
+            }
+
+            var millis = new double[MEASURED_RUNS];
+            long allocated = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long bytesBefore = allocatedBytes();
+                long start = System.nanoTime();
+                compile(code);
+                millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+                allocated += allocatedBytes() - bytesBefore;
+            }
+
+            Arrays.sort(millis);
+            double allocatedMb = allocated / (double) MEASURED_RUNS / (1024 * 1024);
+            points.add(new Point(value, lines, millis[MEASURED_RUNS / 2], allocatedMb));
+        }
+
+        return points;
+    }
+
+    private void compile(String code) {
+        var result = pipeline.compile(ProgramGenerator.CLASS_NAME, code, config);
+
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Generated program does not compile: " + result.getFirstError().orElseThrow());
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return 0;
+    }
+
+    private static String toCsv(Sweep sweep, List<Point> points) {
+        var csv = new StringBuilder(sweep.name()).append(",lines,medianMillis,allocatedMb\n");
+
+        for (var point : points) {
+            csv.append(point.value()).append(",")
+                    .append(point.lines()).append(",")
+                    .append(String.format("%.3f", point.millis())).append(",")
+                    .append(String.format("%.3f", point.allocatedMb())).append("\n");
+        }
+
+        return csv.toString();
+    }
+
+    private static String chart(Sweep sweep, List<Point> points) {
+        double maxMillis = points.stream().mapToDouble(Point::millis).max().orElse(1);
+        double maxMb = points.stream().mapToDouble(Point::allocatedMb).max().orElse(1);
+
+        var chart = new StringBuilder("Compile time and allocation vs " + sweep.name() + "\n");
+        for (var point : points) {
+            chart.append(String.format("%6d | time %-" + CHART_WIDTH + "s %9.2f ms%n", point.value(),
+                    "#".repeat((int) Math.round(point.millis() / maxMillis * CHART_WIDTH)), point.millis()));
+            chart.append(String.format("%6s | mem  %-" + CHART_WIDTH + "s %9.2f MB%n", "",
+                    "*".repeat((int) Math.round(point.allocatedMb() / maxMb * CHART_WIDTH)), point.allocatedMb()));
+        }
+
+        return chart.toString();
+    }
+}
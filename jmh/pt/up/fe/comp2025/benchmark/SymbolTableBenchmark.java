@@ -0,0 +1,37 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the symbol table with {@link JmmSymbolTableBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymbolTableBenchmark {
+
+    @Param({"cp2/ollir/control_flow/SwitchStat.jmm", "cp3/jasmin/control_flow/IfWhileNested.jmm",
+            "cp2/optimizations/const_prop_fold/PropWithLoop.jmm", BenchmarkInputs.LARGE})
+    public String input;
+
+    private JmmNode rootNode;
+
+    @Setup
+    public void setup() {
+        rootNode = BenchmarkStages.parse(BenchmarkInputs.read(input), CompilerConfig.getDefault()).getRootNode();
+    }
+
+    @Benchmark
+    public SymbolTable build() {
+        return new JmmSymbolTableBuilder().build(rootNode);
+    }
+}
@@ -1,23 +1,26 @@
 package pt.up.fe.comp2025.optimization;
 
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
-import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
 import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+/**
+ * Constant propagation and folding over the whole AST, repeated until a pass changes nothing. It is what
+ * {@link WorklistOptimizer} replaced, and is kept as the reference its results and visits are compared with.
+ */
 public class OptimizationVisitor extends PreorderJmmVisitor<SymbolTable, Void> {
 
     public Boolean opt = false;
     public Map<String, String> constants = new HashMap<String, String>();
 
+    private int visits = 0;
+    private int passes = 0;
+
     @Override
     protected void buildVisitor() {
         addVisit(Kind.METHOD_DECL, this::visitMethod);
@@ -32,6 +35,40 @@ public class OptimizationVisitor extends PreorderJmmVisitor<SymbolTable, Void> {
         visit(rootNode, table);
     }
 
+    /**
+     * Runs passes over the AST until one changes nothing.
+     *
+     * @param rootNode
+     * @param table
+     */
+    public void optimizeUntilFixpoint(JmmNode rootNode, SymbolTable table) {
+        do {
+            opt = false;
+            passes++;
+            optimize(rootNode, table);
+        } while (opt);
+    }
+
+    @Override
+    public Void visit(JmmNode jmmNode, SymbolTable table) {
+        visits++;
+        return super.visit(jmmNode, table);
+    }
+
+    /**
+     * @return nodes visited so far, by every pass
+     */
+    public int getVisits() {
+        return visits;
+    }
+
+    /**
+     * @return passes run by {@link #optimizeUntilFixpoint(JmmNode, SymbolTable)} so far
+     */
+    public int getPasses() {
+        return passes;
+    }
+
     private Void defaultVisit(JmmNode node, SymbolTable table) {
         //visitAllChildren(node, table);
         return null;
@@ -78,8 +115,9 @@ public class OptimizationVisitor extends PreorderJmmVisitor<SymbolTable, Void> {
             var right = Integer.parseInt(rhs.get("value"));
             var op = node.get("op");
 
-            JmmNode replacement = getJmmNode(op, left, right);
+            JmmNode replacement = OptUtils.getJmmNode(op, left, right);
             node.replace(replacement);
+            TypeUtils.invalidateTypes(replacement);
             opt = true;
 
         } else if (lhs.getKind().equals("BooleanLiteral") && rhs.getKind().equals("BooleanLiteral")) {
@@ -88,51 +126,15 @@ public class OptimizationVisitor extends PreorderJmmVisitor<SymbolTable, Void> {
             var right = Boolean.parseBoolean(rhs.get("name"));
             var op = node.get("op");
 
-            JmmNode replacement = getJmmNode(op,left,right);
+            JmmNode replacement = OptUtils.getJmmNode(op,left,right);
             node.replace(replacement);
+            TypeUtils.invalidateTypes(replacement);
             opt = true;
         }
 
         return null;
     }
 
-    private static JmmNode getJmmNode(String op, boolean left, boolean right) {
-        String result;
-
-        switch (op) {
-            case "&&"-> result = String.valueOf(left && right);
-            case "!" -> result = String.valueOf(!left);
-            default -> throw new IllegalStateException("Unexpected value: " + op);
-        }
-
-        JmmNode replacement = new JmmNodeImpl(List.of("BooleanLiteral"));
-        replacement.put("name", result);
-        return replacement;
-    }
-
-    private static JmmNode getJmmNode(String op, int left, int right) {
-        String result;
-
-        switch (op) {
-            case "+"-> result = String.valueOf(left + right);
-            case "*"-> result = String.valueOf(left * right);
-            case "-" -> result = String.valueOf(left - right) ;
-            case  "/" -> result = String.valueOf(left / right);
-            case "<" -> {
-                result = String.valueOf(left < right);
-                JmmNode replacement = new JmmNodeImpl(List.of("BooleanLiteral"));
-                replacement.put("name", result);
-                return replacement;
-            }
-            default -> throw new IllegalStateException("Unexpected value: " + op);
-        }
-
-        JmmNode replacement = new JmmNodeImpl(List.of("IntegerLiteral"));
-        replacement.put("value", result);
-        return replacement;
-    }
-
-
     //************ Constant Propagation *************
 
     public Void constantPropagation(JmmNode node, SymbolTable table) {
@@ -162,28 +164,16 @@ public class OptimizationVisitor extends PreorderJmmVisitor<SymbolTable, Void> {
 
         if (constants.containsKey(node_name)){
 
-            String val = constants.get(node_name);
-
-            String bool_or_int = val.equals("true") || val.equals("false")? "BooleanLiteral" : "IntegerLiteral";
-
-            List<String> kindHierarchy = List.of(bool_or_int);
-            JmmNode replacement = new JmmNodeImpl(kindHierarchy);
-
-            if (bool_or_int.equals("IntegerLiteral"))
-                replacement.put("value", val);
-            else
-                replacement.put("name", val);
+            JmmNode replacement = OptUtils.newLiteral(constants.get(node_name));
 
             if (!node.getParent().getKind().equals("VarAssignStmt")){
                 opt = true;
                 node.replace(replacement);
+                TypeUtils.invalidateTypes(replacement);
             }
 
         }
 
         return null;
     }
-
-
-
 }
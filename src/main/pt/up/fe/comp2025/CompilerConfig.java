@@ -1,15 +1,68 @@
 package pt.up.fe.comp2025;
 
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.specs.util.SpecsIo;
+
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class CompilerConfig {
 
     private static final String INPUT_FILE = "inputFile";
     private static final String OPTIMIZE = "optimize";
     private static final String REGISTER = "registerAllocation";
+    private static final String BATCH_INPUT = "batchInput";
+    private static final String THREADS = "threads";
+    private static final String SERVER = "server";
+    private static final String CACHE_DIR = "cacheDir";
+    private static final String CACHE_SIZE = "cacheSize";
+    private static final String OUTPUT_DIR = "outputDir";
+    private static final String PROFILE = "profile";
+    private static final String INCREMENTAL = "incremental";
+    private static final String PARSER = "parser";
+    private static final String PARALLEL_ANALYSIS = "parallelAnalysis";
+    private static final String CLASSPATH = "classpath";
+    private static final String VERBOSE = "verbose";
+
+    /**
+     * Two-stage parsing, SLL prediction first and full LL only if it fails.
+     */
+    public static final String SLL_PARSER = "sll";
+
+    /**
+     * Full LL prediction only.
+     */
+    public static final String LL_PARSER = "ll";
+
+    /**
+     * Hand-written recursive-descent parser, without ANTLR.
+     */
+    public static final String RD_PARSER = "rd";
+
+    /**
+     * Two-stage parsing like {@link #SLL_PARSER}, building the AST from the parser callbacks instead of a parse tree.
+     */
+    public static final String LISTENER_PARSER = "listener";
+
+    /**
+     * Like {@link #LISTENER_PARSER}, but reads the input file as it parses, without loading it into memory or keeping
+     * the tokens already consumed.
+     */
+    public static final String STREAM_PARSER = "stream";
+
+    private static final Set<String> PARSERS = Set.of(SLL_PARSER, LL_PARSER, RD_PARSER, LISTENER_PARSER,
+            STREAM_PARSER);
+
+    // Options that only change how the compiler runs, not what it produces
+    private static final Set<String> NON_OUTPUT_OPTIONS = Set.of(INPUT_FILE, BATCH_INPUT, THREADS, SERVER, CACHE_DIR,
+            CACHE_SIZE, OUTPUT_DIR, PROFILE, PARALLEL_ANALYSIS, VERBOSE);
 
 
     static Map<String, String> shortToLong = new HashMap<>();
@@ -18,6 +71,18 @@ public class CompilerConfig {
         shortToLong.put("i", CompilerConfig.INPUT_FILE);
         shortToLong.put("o", CompilerConfig.OPTIMIZE);
         shortToLong.put("r", CompilerConfig.REGISTER);
+        shortToLong.put("b", CompilerConfig.BATCH_INPUT);
+        shortToLong.put("j", CompilerConfig.THREADS);
+        shortToLong.put("s", CompilerConfig.SERVER);
+        shortToLong.put("c", CompilerConfig.CACHE_DIR);
+        shortToLong.put("m", CompilerConfig.CACHE_SIZE);
+        shortToLong.put("d", CompilerConfig.OUTPUT_DIR);
+        shortToLong.put("t", CompilerConfig.PROFILE);
+        shortToLong.put("n", CompilerConfig.INCREMENTAL);
+        shortToLong.put("p", CompilerConfig.PARSER);
+        shortToLong.put("a", CompilerConfig.PARALLEL_ANALYSIS);
+        shortToLong.put("l", CompilerConfig.CLASSPATH);
+        shortToLong.put("v", CompilerConfig.VERBOSE);
     }
 
 
@@ -32,6 +97,192 @@ public class CompilerConfig {
         return Optional.of(new File(inputFile));
     }
 
+    public static void setInputFile(Map<String, String> config, File inputFile) {
+        config.put(INPUT_FILE, inputFile.getAbsolutePath());
+    }
+
+    public static boolean isBatch(Map<String, String> config) {
+        return config.containsKey(BATCH_INPUT);
+    }
+
+    /**
+     * Files given with '-b', either a directory (all .jmm files inside it, recursively) or a comma-separated list of
+     * files.
+     *
+     * @param config
+     * @return
+     */
+    public static List<File> getBatchInputs(Map<String, String> config) {
+        var batchInput = config.get(BATCH_INPUT);
+
+        if (batchInput == null) {
+            return List.of();
+        }
+
+        var batchDir = new File(batchInput);
+        if (batchDir.isDirectory()) {
+            var files = new ArrayList<>(SpecsIo.getFilesRecursive(batchDir, "jmm"));
+            files.sort(null);
+            return files;
+        }
+
+        return Arrays.stream(batchInput.split(","))
+                .map(String::strip)
+                .filter(path -> !path.isEmpty())
+                .map(File::new)
+                .toList();
+    }
+
+    public static int getThreads(Map<String, String> config) {
+        return Integer.parseInt(config.getOrDefault(THREADS, String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    public static Optional<Integer> getServerPort(Map<String, String> config) {
+        var port = config.get(SERVER);
+
+        if (port == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Integer.parseInt(port));
+    }
+
+    /**
+     * Daemon mode is enabled by giving a port with '-s' and no input files.
+     *
+     * @param config
+     * @return
+     */
+    public static boolean isDaemon(Map<String, String> config) {
+        return config.containsKey(SERVER) && !config.containsKey(INPUT_FILE) && !isBatch(config);
+    }
+
+    public static Optional<File> getCacheDir(Map<String, String> config) {
+        var cacheDir = config.get(CACHE_DIR);
+
+        if (cacheDir == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new File(cacheDir));
+    }
+
+    /**
+     * @param config
+     * @return folder where class files are written, the current folder by default
+     */
+    public static File getOutputDir(Map<String, String> config) {
+        return new File(config.getOrDefault(OUTPUT_DIR, "."));
+    }
+
+    /**
+     * @param config
+     * @return maximum size of the compilation cache, in bytes
+     */
+    public static long getCacheSize(Map<String, String> config) {
+        return Long.parseLong(config.getOrDefault(CACHE_SIZE, "256")) * 1024 * 1024;
+    }
+
+    /**
+     * @param option
+     * @return true if the value of the given option can change the result of a compilation
+     */
+    public static boolean affectsOutput(String option) {
+        return !NON_OUTPUT_OPTIONS.contains(option);
+    }
+
+    /**
+     * @param config
+     * @return true if the time and memory of each phase should be reported
+     */
+    public static boolean getProfile(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(PROFILE, "false"));
+    }
+
+    /**
+     * @param config
+     * @return true if only the methods that changed since the last compilation of the same class should be
+     * regenerated
+     */
+    public static boolean getIncremental(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(INCREMENTAL, "false"));
+    }
+
+    /**
+     * @param config
+     * @return which parser to use, one of {@link #SLL_PARSER} (the default), {@link #LL_PARSER},
+     * {@link #RD_PARSER}, {@link #LISTENER_PARSER} or {@link #STREAM_PARSER}
+     */
+    public static String getParser(Map<String, String> config) {
+        var parser = config.getOrDefault(PARSER, SLL_PARSER);
+
+        if (!PARSERS.contains(parser)) {
+            throw new RuntimeException("Unknown parser '" + parser + "', expected one of " + PARSERS);
+        }
+
+        return parser;
+    }
+
+    public static void setParser(Map<String, String> config, String parser) {
+        config.put(PARSER, parser);
+    }
+
+    /**
+     * @param config
+     * @return true if the methods should be analysed in parallel, by as many threads as given with '-j'
+     */
+    public static boolean getParallelAnalysis(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(PARALLEL_ANALYSIS, "false"));
+    }
+
+    public static void setParallelAnalysis(Map<String, String> config, boolean parallelAnalysis) {
+        config.put(PARALLEL_ANALYSIS, Boolean.toString(parallelAnalysis));
+    }
+
+    /**
+     * Folders and jar files with the imported classes, given with '-l' and separated like the Java classpath.
+     *
+     * @param config
+     * @return
+     */
+    public static List<File> getClasspath(Map<String, String> config) {
+        var classpath = config.get(CLASSPATH);
+
+        if (classpath == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(classpath.split(File.pathSeparator))
+                .filter(path -> !path.isEmpty())
+                .map(File::new)
+                .toList();
+    }
+
+    /**
+     * '-v' writes every diagnostic of the compiler, '-v=<level>' only the ones up to the given level (e.g. '-v=debug').
+     *
+     * @param config
+     * @return most detailed level of the diagnostics that are written
+     */
+    public static Log.Level getLogLevel(Map<String, String> config) {
+        var verbose = config.get(VERBOSE);
+
+        if (verbose == null) {
+            return Log.DEFAULT_LEVEL;
+        }
+
+        if (verbose.equals("true")) {
+            return Log.Level.TRACE;
+        }
+
+        try {
+            return Log.Level.valueOf(verbose.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown level '" + verbose + "' for option '-v', expected one of "
+                    + Arrays.toString(Log.Level.values()).toLowerCase(Locale.ROOT));
+        }
+    }
+
     public static boolean getOptimize(Map<String, String> config) {
         return Boolean.parseBoolean(config.getOrDefault(OPTIMIZE, "false"));
     }
@@ -89,9 +340,34 @@ public class CompilerConfig {
             config.put(getLongOpt(shortOption), value);
         }
 
+        getLogLevel(config);
+
+        if (getThreads(config) < 1) {
+            throw new RuntimeException("Option '-j' expects a positive number of threads");
+        }
+
+        // The profiler only measures the thread that compiles, the methods analysed by the other threads would be
+        // missing from the profile
+        if (getProfile(config) && getParallelAnalysis(config)) {
+            throw new RuntimeException("Options '-t' and '-a' cannot be used together");
+        }
+
+        if (isBatch(config)) {
+            parseBatchArgs(config);
+            return config;
+        }
+
+        if (isDaemon(config)) {
+            getServerPort(config);
+            getThreads(config);
+            getCacheSize(config);
+            getParser(config);
+            return config;
+        }
+
         if (!config.containsKey(INPUT_FILE)) {
 
-            throw new RuntimeException("Expected an input file, use '-i=<PATH_TO_FILE>'");
+            throw new RuntimeException("Expected an input file, use '-i=<PATH_TO_FILE>' or '-b=<DIR_OR_FILE_LIST>'");
         }
 
         // make sure we save the absolute path of the input file
@@ -106,9 +382,34 @@ public class CompilerConfig {
         // Verify if values are valid
         getOptimize(config);
         getRegisterAllocation(config);
+        getCacheSize(config);
+        getParser(config);
 
         return config;
     }
 
+    private static void parseBatchArgs(Map<String, String> config) {
+
+        if (config.containsKey(INPUT_FILE)) {
+            throw new RuntimeException("Options '-i' and '-b' cannot be used together");
+        }
+
+        var inputs = getBatchInputs(config);
+        if (inputs.isEmpty()) {
+            throw new RuntimeException("No input files found for '-b=" + config.get(BATCH_INPUT) + "'");
+        }
+
+        for (var input : inputs) {
+            if (!input.isFile()) {
+                throw new RuntimeException("Could not find input file '" + input + "'");
+            }
+        }
+
+        // Verify if values are valid
+        getOptimize(config);
+        getRegisterAllocation(config);
+        getCacheSize(config);
+        getParser(config);
+    }
 
 }
@@ -1,17 +1,16 @@
 package pt.up.fe.comp2025;
 
-import pt.up.fe.comp.TestUtils;
-import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
-import pt.up.fe.comp.jmm.jasmin.JasminResult;
-import pt.up.fe.comp.jmm.ollir.OllirResult;
-import pt.up.fe.comp.jmm.parser.JmmParserResult;
-import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
-import pt.up.fe.comp2025.backend.JasminBackendImpl;
-import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
-import pt.up.fe.comp2025.parser.JmmParserImpl;
-import pt.up.fe.specs.util.SpecsIo;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.backend.JasminAssembler;
+import pt.up.fe.comp2025.cache.CompilationCache;
+import pt.up.fe.comp2025.daemon.CompileDaemon;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.parser.ParserPool;
+import pt.up.fe.comp2025.pipeline.BatchCompiler;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
 import pt.up.fe.specs.util.SpecsSystem;
 
+import java.io.IOException;
 import java.util.Map;
 
 public class Launcher {
@@ -20,45 +19,71 @@ public class Launcher {
         SpecsSystem.programStandardInit();
 
         Map<String, String> config = CompilerConfig.parseArgs(args);
+        Log.setLevel(CompilerConfig.getLogLevel(config));
+
+        // Batch mode, compiles every file in the same JVM
+        if (CompilerConfig.isBatch(config)) {
+            var batchCompiler = new BatchCompiler(newPipeline(config), config);
+            System.exit(batchCompiler.run(CompilerConfig.getBatchInputs(config)));
+        }
+
+        // Daemon mode, serves compile requests until told to shut down
+        if (CompilerConfig.isDaemon(config)) {
+            runDaemon(config);
+            return;
+        }
 
         var inputFile = CompilerConfig.getInputFile(config).orElseThrow();
         if (!inputFile.isFile()) {
             throw new RuntimeException("Option '-i' expects a path to an existing input file, got '" + args[0] + "'.");
         }
-        String code = SpecsIo.read(inputFile);
 
-        // Parsing stage
-        JmmParserImpl parser = new JmmParserImpl();
-        JmmParserResult parserResult = parser.parse(code, config);
-        TestUtils.noErrors(parserResult.getReports());
+        // Same pipeline as batch and daemon mode, so that '-c' and '-n' also apply to a single file
+        var pipeline = newPipeline(config);
+        var result = pipeline.compile(inputFile, config);
 
-        // Print AST
-        System.out.println("AST:");
-        System.out.println(parserResult.getRootNode().toTree());
+        if (!result.isSuccess()) {
+            result.getReports().stream()
+                    .filter(report -> report.getType() == ReportType.ERROR)
+                    .forEach(System.err::println);
+            System.exit(1);
+        }
 
+        var classFile = JasminAssembler.writeClassFile(result.getClassName(), result.getClassBytes(),
+                CompilerConfig.getOutputDir(config));
+        System.out.println("Wrote " + classFile);
 
-        // Semantic Analysis stage
-        JmmAnalysisImpl sema = new JmmAnalysisImpl();
+        // Time and memory of each phase, as JSON
+        if (result.getProfile() != null) {
+            System.out.println(result.getProfile());
+        }
+    }
 
-        JmmSemanticsResult semanticsResult = sema.semanticAnalysis(parserResult);
-        TestUtils.noErrors(semanticsResult.getReports());
+    private static CompilationPipeline newPipeline(Map<String, String> config) {
+        var cache = CompilerConfig.getCacheDir(config)
+                .map(cacheDir -> new CompilationCache(cacheDir, CompilerConfig.getCacheSize(config)))
+                .orElse(null);
 
+        return new CompilationPipeline(cache);
+    }
 
-//        // Optimization stage
-//        JmmOptimizationImpl ollirGen = new JmmOptimizationImpl();
-//        OllirResult ollirResult = ollirGen.toOllir(semanticsResult);
-//        TestUtils.noErrors(ollirResult.getReports());
-//
-//        // Print OLLIR code
-//        //System.out.println(ollirResult.getOllirCode());
-//
-//        // Code generation stage
-//        JasminBackendImpl jasminGen = new JasminBackendImpl();
-//        JasminResult jasminResult = jasminGen.toJasmin(ollirResult);
-//        TestUtils.noErrors(jasminResult.getReports());
+    private static void runDaemon(Map<String, String> config) {
+        int port = CompilerConfig.getServerPort(config).orElseThrow();
+        var pipeline = newPipeline(config);
 
-        // Print Jasmin code
-        //System.out.println(jasminResult.getJasminCode());
+        try (var daemon = new CompileDaemon(pipeline, config, port, CompilerConfig.getThreads(config))) {
+            daemon.warmUp();
+            System.out.println("Compile daemon listening on port " + daemon.getPort());
+            daemon.serve();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start compile daemon on port " + port, e);
+        }
+
+        pipeline.getCache().ifPresent(cache -> System.out.println(cache.getSummary()));
+        System.out.println(ParserPool.getSummary());
+        if (pipeline.getIncremental().getRegenerated() > 0) {
+            System.out.println(pipeline.getIncremental().getSummary());
+        }
     }
 
 }
@@ -8,6 +8,7 @@ import pt.up.fe.comp.jmm.report.Stage;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of AnalysisPass that automatically visits nodes using preorder traversal.
@@ -15,12 +16,31 @@ import java.util.List;
 public abstract class AnalysisVisitor extends PreorderJmmVisitor<SymbolTable, Void> implements AnalysisPass {
 
     private List<Report> reports;
+    private BiFunction<JmmNode, SymbolTable, Void> defaultVisit;
 
     public AnalysisVisitor() {
         reports = new ArrayList<>();
         setDefaultValue(() -> null);
     }
 
+    @Override
+    public void setDefaultVisit(BiFunction<JmmNode, SymbolTable, Void> defaultVisit) {
+        super.setDefaultVisit(defaultVisit);
+        this.defaultVisit = defaultVisit;
+    }
+
+    /**
+     * Visit method of this pass for the node, for drivers that walk the tree themselves.
+     *
+     * @param node
+     * @return the visit method, or null if the pass only has the default visit for nodes of this kind
+     */
+    BiFunction<JmmNode, SymbolTable, Void> getHandler(JmmNode node) {
+        var visit = getVisit(node);
+
+        return visit == defaultVisit ? null : visit;
+    }
+
     /**
      * Add new error report easily
      *
@@ -37,6 +57,16 @@ public abstract class AnalysisVisitor extends PreorderJmmVisitor<SymbolTable, Vo
         );
     }
 
+    /**
+     * A pass is method-local when what it reports inside a method only depends on that method and on the nodes above
+     * it, and not on the other methods. Each method can then be visited by its own instance of the pass.
+     *
+     * @return true if the pass is method-local, false by default
+     */
+    public boolean isMethodLocal() {
+        return false;
+    }
+
     protected void addReport(Report report) {
         reports.add(report);
     }
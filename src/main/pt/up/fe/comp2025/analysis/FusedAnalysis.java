@@ -0,0 +1,139 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Runs several {@link AnalysisVisitor} passes in a single preorder walk of the AST, instead of one walk per pass.
+ * <p>
+ * The visit methods of the passes are looked up once per node kind, and each node is given to them in the order of
+ * the passes. Every pass keeps its own state and reports, so it ends with the same reports as when it visits the tree
+ * alone, as long as passes do not change the AST. A pass that throws, or overflows the stack on deeply nested code, is
+ * no longer called, and what it threw is kept in its outcome.
+ */
+public class FusedAnalysis {
+
+    /**
+     * What a pass produced: its reports, or the exception that stopped it.
+     */
+    public record PassOutcome(AnalysisVisitor pass, List<Report> reports, Throwable exception) {
+
+        public boolean hasErrors() {
+            return reports.stream().anyMatch(report -> report.getType() == ReportType.ERROR);
+        }
+    }
+
+    private record Handler(int pass, BiFunction<JmmNode, SymbolTable, Void> visit) {
+    }
+
+    private final List<AnalysisVisitor> passes;
+    private final Map<String, Handler[]> handlers;
+    private final Throwable[] exceptions;
+
+    public FusedAnalysis(List<AnalysisVisitor> passes) {
+        this.passes = passes;
+        this.handlers = new HashMap<>();
+        this.exceptions = new Throwable[passes.size()];
+    }
+
+    /**
+     * Visits the tree with every pass.
+     *
+     * @param root
+     * @param table
+     * @return the outcome of each pass, in the order of the passes
+     */
+    public List<PassOutcome> analyze(JmmNode root, SymbolTable table) {
+        visit(root, table);
+
+        return getOutcomes();
+    }
+
+    /**
+     * @return the outcome of each pass so far, in the order of the passes
+     */
+    List<PassOutcome> getOutcomes() {
+        var outcomes = new ArrayList<PassOutcome>(passes.size());
+        for (int i = 0; i < passes.size(); i++) {
+            var pass = passes.get(i);
+            var reports = exceptions[i] == null ? pass.getReports() : List.<Report>of();
+
+            outcomes.add(new PassOutcome(pass, reports, exceptions[i]));
+        }
+
+        return outcomes;
+    }
+
+    /**
+     * @return what the pass threw, or null if it did not throw
+     */
+    Throwable getException(int pass) {
+        return exceptions[pass];
+    }
+
+    /**
+     * Visits the node and all its descendants.
+     */
+    void visit(JmmNode node, SymbolTable table) {
+        visitNode(node, table);
+
+        for (var child : node.getChildren()) {
+            visit(child, table);
+        }
+    }
+
+    /**
+     * Visits only the node, without its children.
+     */
+    void visitNode(JmmNode node, SymbolTable table) {
+        for (var handler : getHandlers(node)) {
+            if (exceptions[handler.pass()] != null) {
+                continue;
+            }
+
+            try {
+                handler.visit().apply(node, table);
+            } catch (RuntimeException | StackOverflowError e) {
+                exceptions[handler.pass()] = e;
+            }
+        }
+    }
+
+    /**
+     * @return the throwable, as an exception that can be attached to a report
+     */
+    public static Exception asException(Throwable throwable) {
+        return throwable instanceof Exception exception ? exception : new RuntimeException(throwable);
+    }
+
+    /**
+     * @return the passes that do something on nodes of this kind, and their visit methods
+     */
+    private Handler[] getHandlers(JmmNode node) {
+        var kindHandlers = handlers.get(node.getKind());
+        if (kindHandlers != null) {
+            return kindHandlers;
+        }
+
+        var found = new ArrayList<Handler>();
+        for (int i = 0; i < passes.size(); i++) {
+            var visit = passes.get(i).getHandler(node);
+            if (visit != null) {
+                found.add(new Handler(i, visit));
+            }
+        }
+
+        kindHandlers = found.toArray(Handler[]::new);
+        handlers.put(node.getKind(), kindHandlers);
+
+        return kindHandlers;
+    }
+}
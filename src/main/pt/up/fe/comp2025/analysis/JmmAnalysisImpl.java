@@ -6,27 +6,34 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.parser.JmmParserResult;
 import pt.up.fe.comp.jmm.report.Report;
-import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
 import pt.up.fe.comp2025.analysis.passes.*;
+import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of the semantic analysis stage.
  */
 public class JmmAnalysisImpl implements JmmAnalysis {
 
+    // One pool for each number of threads, shared by all the compilations of the process
+    private static final Map<Integer, ForkJoinPool> ANALYSIS_POOLS = new ConcurrentHashMap<>();
 
     /**
-     * Analysis passes that will be applied to the AST.
+     * Analysis passes that will be applied to the AST, in the order their reports are kept.
      *
-     * @param table
-     * @return
+     * @return new instances of the passes
      */
-    private List<AnalysisVisitor> buildPasses(SymbolTable table) {
+    public static List<AnalysisVisitor> buildPasses() {
         return List.of(
                 new UndeclaredVariable(),
                 new BinaryExpr(),
@@ -46,9 +53,9 @@ public class JmmAnalysisImpl implements JmmAnalysis {
         JmmNode rootNode = parserResult.getRootNode();
 
         var symbolTableBuilder = new JmmSymbolTableBuilder();
-        SymbolTable table = symbolTableBuilder.build(rootNode);
+        SymbolTable table = PhaseProfiler.measure("symbolTable", () -> symbolTableBuilder.build(rootNode));
 
-        System.out.println("symbol table: " + table);
+        Log.debug("Symbol table: {}", table);
 
         List<Report> reports = symbolTableBuilder.getReports();
 
@@ -57,48 +64,90 @@ public class JmmAnalysisImpl implements JmmAnalysis {
 
     @Override
     public JmmSemanticsResult semanticAnalysis(JmmSemanticsResult semanticsResult) {
+        return PhaseProfiler.measure("analysis", () -> runPasses(semanticsResult));
+    }
 
-        var table = semanticsResult.getSymbolTable();
+    private JmmSemanticsResult runPasses(JmmSemanticsResult semanticsResult) {
 
-        var analysisVisitors = buildPasses(table);
+        var table = semanticsResult.getSymbolTable();
 
         var rootNode = semanticsResult.getRootNode();
 
-        var reports = new ArrayList<Report>();
-
-        // This is a simple implementation that assumes all passes are implemented as visitors, each one making a full visit of the AST.
-        // There are other implementations that reduce the number of full AST visits, this is not required for the work, but a nice challenge if you want to try.
-        for (var analysisVisitor : analysisVisitors) {
-
-            try {
-                var passReports = analysisVisitor.analyze(rootNode, table);
-
-                var hasSymbolTableErrors = passReports.stream()
-                        .anyMatch(report -> report.getType() == ReportType.ERROR);
-
+        // Every pass reads the types computed here
+        PhaseProfiler.measure("typing", () -> new TypeUtils(table).annotateTypes(rootNode));
+
+        // All passes share a single visit of the AST, or one per method in parallel. The profiler times each pass on
+        // its own, which needs a full visit per pass
+        var config = semanticsResult.getConfig();
+        List<FusedAnalysis.PassOutcome> outcomes;
+        if (PhaseProfiler.isActive()) {
+            if (CompilerConfig.getParallelAnalysis(config)) {
+                // Only reachable through the daemon, the command line rejects both options together
+                Log.warn("Analysing the methods sequentially, the profiler does not measure other threads");
+            }
+            outcomes = runSeparately(buildPasses(), rootNode, table);
+        } else if (CompilerConfig.getParallelAnalysis(config)) {
+            var pool = ANALYSIS_POOLS.computeIfAbsent(CompilerConfig.getThreads(config), ForkJoinPool::new);
+            outcomes = new ParallelAnalysis(JmmAnalysisImpl::buildPasses, pool).analyze(rootNode, table);
+        } else {
+            outcomes = new FusedAnalysis(buildPasses()).analyze(rootNode, table);
+        }
 
-                reports.addAll(passReports);
+        var reports = new ArrayList<Report>();
 
-                // Return early in case of error report
-                if (hasSymbolTableErrors) {
-                    System.out.println("Found errors: " + reports);
-                    return new JmmSemanticsResult(semanticsResult, reports);
-                }
+        for (var outcome : outcomes) {
 
-            } catch (Exception e) {
+            if (outcome.exception() != null) {
                 reports.add(Report.newError(Stage.SEMANTIC,
                         -1,
                         -1,
-                        "Problem while executing analysis pass '" + analysisVisitor.getClass() + "'",
-                        e)
+                        "Problem while executing analysis pass '" + outcome.pass().getClass() + "'",
+                        FusedAnalysis.asException(outcome.exception()))
                 );
-                System.out.println("Exception: " + reports);
+                Log.debug("Exception: {}", reports);
+                continue;
             }
 
+            reports.addAll(outcome.reports());
+
+            // Return early in case of error report, the reports of the passes after this one are discarded
+            if (outcome.hasErrors()) {
+                Log.debug("Found errors: {}", reports);
+                return new JmmSemanticsResult(semanticsResult, reports);
+            }
         }
 
 
         return new JmmSemanticsResult(semanticsResult, reports);
     }
 
+    /**
+     * Visits the AST once per pass, stopping after the first pass with errors.
+     */
+    private static List<FusedAnalysis.PassOutcome> runSeparately(List<AnalysisVisitor> analysisVisitors,
+                                                                 JmmNode rootNode, SymbolTable table) {
+        var outcomes = new ArrayList<FusedAnalysis.PassOutcome>();
+
+        for (var analysisVisitor : analysisVisitors) {
+
+            FusedAnalysis.PassOutcome outcome;
+            try {
+                var passReports = PhaseProfiler.measure(analysisVisitor.getClass().getSimpleName(),
+                        () -> analysisVisitor.analyze(rootNode, table));
+
+                outcome = new FusedAnalysis.PassOutcome(analysisVisitor, passReports, null);
+            } catch (RuntimeException | StackOverflowError e) {
+                outcome = new FusedAnalysis.PassOutcome(analysisVisitor, List.of(), e);
+            }
+
+            outcomes.add(outcome);
+
+            if (outcome.hasErrors()) {
+                break;
+            }
+        }
+
+        return outcomes;
+    }
+
 }
@@ -0,0 +1,187 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.analysis.FusedAnalysis.PassOutcome;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Runs the analysis passes with each method visited in parallel, on a {@link ForkJoinPool}.
+ * <p>
+ * Only method-local passes ({@link AnalysisVisitor#isMethodLocal()}) are split. Each method gets new instances of
+ * them, which first visit the ancestors of the method, to set the state kept from the class, and then the method. The
+ * same instances that the caller gets visit the rest of the tree. The other passes visit the whole tree in the calling
+ * thread, while the methods are analysed.
+ * <p>
+ * The reports of each pass are merged in the order of the methods in the code, which gives the same reports in the
+ * same order as a single visit. A pass that throws on any node fails as a whole, with the first exception in that
+ * order.
+ * <p>
+ * The caller types the expressions before the passes start, as {@link JmmAnalysisImpl} does for every strategy, so
+ * that the threads only read their {@link TypeUtils#EXPR_TYPE} and {@link TypeUtils#RESOLVED_SYMBOL} attributes.
+ */
+public class ParallelAnalysis {
+
+    private final Supplier<List<AnalysisVisitor>> passFactory;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param passFactory creates a new instance of every pass, always in the same order
+     * @param pool
+     */
+    public ParallelAnalysis(Supplier<List<AnalysisVisitor>> passFactory, ForkJoinPool pool) {
+        this.passFactory = passFactory;
+        this.pool = pool;
+    }
+
+    /**
+     * What the method-local passes reported inside one method.
+     */
+    private record MethodResult(List<List<Report>> reports, List<Throwable> exceptions) {
+    }
+
+    /**
+     * Visits the tree with every pass.
+     *
+     * @param root already typed with {@link TypeUtils#annotateTypes(JmmNode)}
+     * @param table
+     * @return the outcome of each pass, in the order of the passes
+     */
+    public List<PassOutcome> analyze(JmmNode root, SymbolTable table) {
+        var passes = passFactory.get();
+        var methods = root.getDescendants(Kind.METHOD_DECL);
+
+        var tasks = new ArrayList<ForkJoinTask<MethodResult>>(methods.size());
+        for (var method : methods) {
+            tasks.add(pool.submit(() -> analyzeMethod(method, table)));
+        }
+
+        var localPasses = passes.stream().filter(AnalysisVisitor::isMethodLocal).toList();
+        var otherPasses = passes.stream().filter(pass -> !pass.isMethodLocal()).toList();
+
+        var otherOutcomes = new FusedAnalysis(otherPasses).analyze(root, table);
+
+        // Local passes outside the methods, remembering how much each had reported when each method started
+        var outside = new FusedAnalysis(localPasses);
+        var reportsBefore = new ArrayList<int[]>();
+        var methodsBeforeException = new int[localPasses.size()];
+        Arrays.fill(methodsBeforeException, -1);
+        visitOutsideMethods(root, table, outside, localPasses, reportsBefore, methodsBeforeException);
+        var outsideOutcomes = outside.getOutcomes();
+
+        var methodResults = tasks.stream().map(ForkJoinTask::join).toList();
+
+        var outcomes = new ArrayList<PassOutcome>(passes.size());
+        int local = 0;
+        int other = 0;
+        for (var pass : passes) {
+            if (!pass.isMethodLocal()) {
+                outcomes.add(otherOutcomes.get(other++));
+                continue;
+            }
+
+            outcomes.add(merge(pass, local, outsideOutcomes.get(local), reportsBefore, methodsBeforeException[local],
+                    methodResults));
+            local++;
+        }
+
+        return outcomes;
+    }
+
+    private MethodResult analyzeMethod(JmmNode method, SymbolTable table) {
+        var localPasses = passFactory.get().stream().filter(AnalysisVisitor::isMethodLocal).toList();
+        var analysis = new FusedAnalysis(localPasses);
+
+        var ancestors = new ArrayList<JmmNode>();
+        for (var node = method.getParent(); node != null; node = node.getParent()) {
+            ancestors.add(node);
+        }
+        Collections.reverse(ancestors);
+
+        // The ancestors are already visited outside the methods, only their effect on the state is needed
+        for (var ancestor : ancestors) {
+            analysis.visitNode(ancestor, table);
+        }
+        var reportsBefore = localPasses.stream().mapToInt(pass -> pass.getReports().size()).toArray();
+
+        analysis.visit(method, table);
+
+        var reports = new ArrayList<List<Report>>(localPasses.size());
+        var exceptions = new ArrayList<Throwable>(localPasses.size());
+        for (int i = 0; i < localPasses.size(); i++) {
+            var passReports = localPasses.get(i).getReports();
+            reports.add(passReports.subList(reportsBefore[i], passReports.size()));
+            exceptions.add(analysis.getException(i));
+        }
+
+        return new MethodResult(reports, exceptions);
+    }
+
+    private static void visitOutsideMethods(JmmNode node, SymbolTable table, FusedAnalysis analysis,
+                                            List<AnalysisVisitor> passes, List<int[]> reportsBefore,
+                                            int[] methodsBeforeException) {
+        if (Kind.METHOD_DECL.check(node)) {
+            reportsBefore.add(passes.stream().mapToInt(pass -> pass.getReports().size()).toArray());
+            return;
+        }
+
+        analysis.visitNode(node, table);
+
+        for (int i = 0; i < passes.size(); i++) {
+            if (analysis.getException(i) != null && methodsBeforeException[i] < 0) {
+                methodsBeforeException[i] = reportsBefore.size();
+            }
+        }
+
+        for (var child : node.getChildren()) {
+            visitOutsideMethods(child, table, analysis, passes, reportsBefore, methodsBeforeException);
+        }
+    }
+
+    /**
+     * Puts the reports of each method between the ones the pass made before and after it outside the methods.
+     */
+    private static PassOutcome merge(AnalysisVisitor pass, int local, PassOutcome outside, List<int[]> reportsBefore,
+                                     int methodsBeforeException, List<MethodResult> methodResults) {
+
+        for (int method = 0; method < methodResults.size(); method++) {
+            // Methods after the node where the pass failed outside the methods are never reached
+            if (outside.exception() != null && method >= methodsBeforeException) {
+                return outside;
+            }
+
+            var exception = methodResults.get(method).exceptions().get(local);
+            if (exception != null) {
+                return new PassOutcome(pass, List.of(), exception);
+            }
+        }
+
+        if (outside.exception() != null) {
+            return outside;
+        }
+
+        var reports = new ArrayList<Report>();
+        var outsideReports = outside.reports();
+        int from = 0;
+        for (int method = 0; method < methodResults.size(); method++) {
+            int to = reportsBefore.get(method)[local];
+
+            reports.addAll(outsideReports.subList(from, to));
+            reports.addAll(methodResults.get(method).reports().get(local));
+            from = to;
+        }
+        reports.addAll(outsideReports.subList(from, outsideReports.size()));
+
+        return new PassOutcome(pass, reports, null);
+    }
+}
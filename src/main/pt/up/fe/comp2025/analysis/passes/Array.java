@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,14 +26,13 @@ public class Array extends AnalysisVisitor {
 
     // Handle regular assignment statements that might initialize arrays
     private Void visitVarAssignStmt(JmmNode assignStmt, SymbolTable symbolTable) {
-        System.out.println("DEBUG: Visiting var assignment statement: " + assignStmt);
+        Log.trace("Visiting var assignment statement: {}", assignStmt);
 
         if (assignStmt.getChildren().size() >= 2) {
             JmmNode target = assignStmt.getChild(0);
             JmmNode value = assignStmt.getChild(1);
 
-            System.out.println("DEBUG: Assignment target: " + target + ", value: " + value);
-            System.out.println("DEBUG: Value kind: " + value.getKind());
+            Log.trace("Assignment target: {}, value: {}", target, value);
 
             // Check if the value is an array creation expression
             if (value.getKind().equals(Kind.NEW_ARRAY_EXPR.toString())) {
@@ -46,7 +46,7 @@ public class Array extends AnalysisVisitor {
 
                         int arraySize = Integer.parseInt(sizeNode.get("value"));
                         arrayCapacities.put(arrayName, arraySize);
-                        System.out.println("DEBUG: Stored array capacity: " + arrayName + " = " + arraySize);
+                        Log.trace("Stored array capacity: {} = {}", arrayName, arraySize);
                     }
                 }
             }
@@ -103,7 +103,7 @@ public class Array extends AnalysisVisitor {
         // Store the capacities of all initialised arrays
         arrayCapacities.put(array_name, Integer.valueOf(capacity.get("value")));
 
-        System.out.println("DEBUG: Array capacities: " + arrayCapacities);
+        Log.trace("Array capacities: {}", arrayCapacities);
 
         return null;
     }
@@ -161,7 +161,7 @@ public class Array extends AnalysisVisitor {
         var first_type = array.getChild(0).getKind();
         for (var element : array.getChildren()) {
             if (!element.getKind().equals(first_type)) {
-                var message = String.format("Array cannot be composed of different types '%s' and '%s'", first_type, element);
+                var message = String.format("Array cannot be composed of different types '%s' and '%s'", first_type, element.getKind());
                 addNewErrorReport(element, message);
                 return null;
             }
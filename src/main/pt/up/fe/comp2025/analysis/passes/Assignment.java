@@ -7,12 +7,19 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeRegistry;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 public class Assignment extends AnalysisVisitor {
 
     private String currentMethod;
 
+    @Override
+    public boolean isMethodLocal() {
+        return true;
+    }
+
     @Override
     protected void buildVisitor() {
         addVisit(Kind.METHOD_DECL, this::visitMethodDecl);
@@ -50,12 +57,12 @@ public class Assignment extends AnalysisVisitor {
 //            rightType = typeUtils.getExprType(assignStmt.getChild(0));
 //        }
 
-        if (rightType.getName().equals("this")) {
-            rightType = new Type(table.getClassName(), false);
+        if (rightType == TypeRegistry.THIS) {
+            rightType = typeUtils.getClassType(table.getClassName());
         }
 
-        if (leftType.getName().equals("this")) {
-            leftType = new Type(table.getClassName(), false);
+        if (leftType == TypeRegistry.THIS) {
+            leftType = typeUtils.getClassType(table.getClassName());
         }
 
         // If the types are not compatible, report an error
@@ -73,11 +80,12 @@ public class Assignment extends AnalysisVisitor {
     public static boolean isTypeCompatible(Type rightType, Type leftType, SymbolTable table, TypeUtils typeUtils) {
 
         // Rule -> if a class is being imported, assume the types of the expression where it is used are correct
-        if (table.getImports().contains(leftType.getName()) && table.getImports().contains(rightType.getName()))
+        var jmmTable = (JmmSymbolTable) table;
+        if (jmmTable.isImportedClass(leftType.getName()) && jmmTable.isImportedClass(rightType.getName()))
             return true;
 
         // Check if the first matches the second
-        if (rightType.equals(leftType)) return true;
+        if (TypeRegistry.sameType(rightType, leftType)) return true;
 
         // Rule -> If the class extends another class, assume the method exists in one of the super classes
         if (rightType.getName().equals(table.getClassName()) && leftType.getName().equals(table.getSuper()))
@@ -9,6 +9,11 @@ import pt.up.fe.comp2025.ast.TypeUtils;
 
 public class BinaryExpr extends AnalysisVisitor {
 
+    @Override
+    public boolean isMethodLocal() {
+        return true;
+    }
+
     @Override
     protected void buildVisitor() {
         addVisit(Kind.BINARY_EXPR, this::visitBinaryExpr);
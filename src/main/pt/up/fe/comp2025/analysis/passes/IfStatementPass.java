@@ -10,6 +10,11 @@ import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
 public class IfStatementPass extends AnalysisVisitor {
+    @Override
+    public boolean isMethodLocal() {
+        return true;
+    }
+
     @Override
     protected void buildVisitor() {
         addVisit(Kind.IF_STMT, this::visitIfStmt);
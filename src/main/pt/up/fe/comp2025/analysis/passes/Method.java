@@ -5,7 +5,10 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeRegistry;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.*;
 
@@ -60,7 +63,7 @@ public class Method extends AnalysisVisitor {
 //        System.out.println(actualRetType);
 
         // Check if the expected ret type and the actual ret type match
-        if (expectedRetType.equals(actualRetType)) {
+        if (actualRetType != null && TypeRegistry.sameType(expectedRetType, actualRetType)) {
             return null;
         }
 
@@ -71,7 +74,7 @@ public class Method extends AnalysisVisitor {
         }
 
         // If the expected return is a class (Uppercase first char) and the return type is this, return
-        if (Character.isUpperCase(expectedRetType.getName().charAt(0)) && actualRetType.getName().equals("this")) {
+        if (Character.isUpperCase(expectedRetType.getName().charAt(0)) && actualRetType == TypeRegistry.THIS) {
             return null;
         }
 
@@ -107,15 +110,14 @@ public class Method extends AnalysisVisitor {
             } else {
                 JmmNode mainArgNode = parameters.get(0); // The single parameter JmmNode
 
-                System.out.println(mainArgNode);
+                Log.trace("Main parameter: {}", mainArgNode);
                 if (Kind.PARAM.toString().equals(mainArgNode.getKind())) {
-                    System.out.println("DA");
                     JmmNode typeNode = mainArgNode.getChild(0);
 //                    JmmNode paramNameIdNode = mainArgNode.getChild(1);
 
 //                    System.out.println(mainArgNode.get("name"));
 //                    System.out.println(mainArgNode.get("nameType"));
-                    System.out.println(typeNode);
+                    Log.trace("Main parameter type: {}", typeNode);
 
 //                    System.out.println();
                     // Extract type information using attributes from your #ClassType (or other type rules)
@@ -167,6 +169,7 @@ public class Method extends AnalysisVisitor {
     // Moved it here @Amanda Oks, got it! @cosmin
     private Void visitMethodCallExpr(JmmNode methodCallExpr, SymbolTable table) {
         TypeUtils typeUtils = new TypeUtils(table);
+        var jmmTable = (JmmSymbolTable) table;
 
         JmmNode varRefExpr = methodCallExpr.getChild(0);
 
@@ -177,9 +180,7 @@ public class Method extends AnalysisVisitor {
 //        }
 
         // If static class is imported, assume correct return
-        if (table.getImports().stream()
-                .map(importName -> importName.substring(importName.lastIndexOf('.') + 1))
-                .anyMatch(methodName -> methodName.equals(varRefExpr.get("name")))) {
+        if (jmmTable.isImportedClass(varRefExpr.get("name"))) {
             return null;
         }
 
@@ -194,12 +195,12 @@ public class Method extends AnalysisVisitor {
 
         // Check if the class of the variable is imported, return // This is correct :)
         // For initialised instances of imported classes
-        if (table.getImports().stream().anyMatch(methodName -> methodName.equals(varType.getName()))) {
+        if (jmmTable.isImportedClass(varType.getName())) {
             return null;
         }
 
         // Check if the super class of the variable is imported, return
-        if (table.getImports().stream().anyMatch(methodName -> methodName.equals(table.getSuper()))) {
+        if (table.getSuper() != null && jmmTable.isImportedClass(table.getSuper())) {
             return null;
         }
 
@@ -4,6 +4,8 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 import pt.up.fe.specs.util.SpecsCheck;
 
 /**
@@ -16,6 +18,11 @@ public class UndeclaredVariable extends AnalysisVisitor {
     private String currentMethod;
     private String currentClass;
 
+    @Override
+    public boolean isMethodLocal() {
+        return true;
+    }
+
     @Override
     public void buildVisitor() {
         addVisit(Kind.CLASS_DECL, this::visitClassDecl);
@@ -49,8 +56,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
         }
 
         // Check if the class name is an imported class
-        if (table.getImports().stream().map(importDecl -> importDecl.substring(importDecl.lastIndexOf('.') + 1)) // Extract simple class name
-                .anyMatch(importedClass -> importedClass.equals(className))) {
+        if (((JmmSymbolTable) table).isImportedClass(className)) {
             return null;
         }
 
@@ -66,24 +72,13 @@ public class UndeclaredVariable extends AnalysisVisitor {
         // Check if exists a parameter or variable declaration with the same name as the variable reference
         var varRefName = varRefExpr.get("name");
 
-        // Var is a declared local variable, return
-        if (table.getLocalVariables(currentMethod).stream().anyMatch(varDecl -> varDecl.getName().equals(varRefName))) {
-            return null;
-        }
-
-        // Var is a parameter, return
-        if (table.getParameters(currentMethod).stream().anyMatch(param -> param.getName().equals(varRefName))) {
-            return null;
-        }
-
-        // Check if the variable is a global field
-        if (table.getFields().stream().anyMatch(field -> field.getName().equals(varRefName))) {
+        // Var is a declared local variable, parameter or field, return
+        if (new TypeUtils(table).resolveVarRef(varRefExpr).isPresent()) {
             return null;
         }
 
         // Check if variable is imported
-        if (table.getImports().stream().map(importDecl -> importDecl.substring(importDecl.lastIndexOf('.') + 1)) // Extract simple class name
-                .anyMatch(importedClass -> importedClass.equals(varRefName))) {
+        if (((JmmSymbolTable) table).isImportedClass(varRefName)) {
             return null;
         }
 
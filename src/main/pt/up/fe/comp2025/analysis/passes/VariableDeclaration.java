@@ -4,6 +4,7 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.HashSet;
 import java.util.List;
@@ -29,7 +30,7 @@ public class VariableDeclaration extends AnalysisVisitor {
 
     private Void visitVarDecl(JmmNode varDecl, SymbolTable table) {
 
-        System.out.println(varDecl);
+        Log.trace("Visiting variable declaration: {}", varDecl);
         var varDeclType = varDecl.getChild(0);
         if (varDeclType.get("isVarargs").equals("true")) {
             addNewErrorReport(varDecl, "Cannot declare Varargs outside of method declaration");
@@ -10,6 +10,11 @@ public class WhileStatement extends AnalysisVisitor {
 
     private String currentMethod;
 
+    @Override
+    public boolean isMethodLocal() {
+        return true;
+    }
+
     @Override
     protected void buildVisitor() {
         addVisit(Kind.WHILE_STMT, this::visitWhileStmt);
@@ -0,0 +1,537 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only copy of an AST stored as parallel arrays, one entry per node, in preorder.
+ * <p>
+ * Each node has its {@link Kind} ordinal, the indexes of its parent, first child and next sibling, its position, and
+ * the attributes the compiler reads the most already decoded: the {@code name}, {@code methodName} or {@code op} text
+ * as an id in a table of interned names, the value of integer literals, and the boolean flags of types and methods.
+ * Any other attribute is kept as is in a side map, so that nothing is lost.
+ * <p>
+ * Code can read the arrays through the index based methods, or keep using {@link JmmNode} through {@link #node(int)},
+ * which returns a read-only view of a node, so that visitors can move to the arrays one at a time.
+ */
+public class CompactAst {
+
+    /**
+     * Index used when there is no parent, child or sibling, or no name.
+     */
+    public static final int NONE = -1;
+
+    private static final Map<String, Kind> KINDS = new HashMap<>();
+
+    static {
+        for (var kind : Kind.values()) {
+            KINDS.put(kind.getNodeName(), kind);
+        }
+    }
+
+    // Flags: the value of each boolean attribute, whether the node has it, and which text attribute the name is
+    private static final String[] FLAG_ATTRIBUTES = {"isArray", "isVarargs", "isMain", "isPublic", "isStatic"};
+    private static final int PRESENT_SHIFT = FLAG_ATTRIBUTES.length;
+    private static final int TEXT_SHIFT = 2 * FLAG_ATTRIBUTES.length;
+    private static final int TEXT_MASK = 0b11 << TEXT_SHIFT;
+    private static final int HAS_VALUE = 1 << (TEXT_SHIFT + 2);
+
+    private static final String[] TEXT_ATTRIBUTES = {null, "name", "methodName", "op"};
+
+    // Attribute of the side map that keeps hierarchies that differ from the usual one for the kind
+    private static final String HIERARCHY = "#hierarchy";
+
+    private static final Kind[] KIND_VALUES = Kind.values();
+
+    private final int size;
+
+    private final byte[] kinds;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+
+    private final int[] names;
+    private final int[] values;
+    private final short[] flags;
+
+    private final int[] lineStarts;
+    private final int[] colStarts;
+    private final int[] lineEnds;
+    private final int[] colEnds;
+
+    private final List<String> nameTable;
+    private final Map<String, Integer> nameIds;
+
+    // Hierarchy of each kind, as seen in the first node of that kind
+    private final List<List<String>> hierarchies;
+    private final Map<Integer, Map<String, Object>> otherAttributes;
+
+    private final CompactJmmNode[] views;
+
+    /**
+     * Reference to another node, for attributes whose value is a node.
+     */
+    record NodeRef(int index) {
+    }
+
+    private CompactAst(int size) {
+        this.size = size;
+
+        this.kinds = new byte[size];
+        this.parents = new int[size];
+        this.firstChildren = new int[size];
+        this.nextSiblings = new int[size];
+
+        this.names = new int[size];
+        this.values = new int[size];
+        this.flags = new short[size];
+
+        this.lineStarts = new int[size];
+        this.colStarts = new int[size];
+        this.lineEnds = new int[size];
+        this.colEnds = new int[size];
+
+        this.nameTable = new ArrayList<>();
+        this.nameIds = new HashMap<>();
+
+        this.hierarchies = new ArrayList<>(KIND_VALUES.length);
+        for (int i = 0; i < KIND_VALUES.length; i++) {
+            hierarchies.add(null);
+        }
+        this.otherAttributes = new HashMap<>();
+
+        this.views = new CompactJmmNode[size];
+    }
+
+    /**
+     * @param root
+     * @return a compact copy of the tree below the given node
+     */
+    public static CompactAst of(JmmNode root) {
+        var nodes = root.getDescendantsAndSelfStream().toList();
+
+        var indexes = new IdentityHashMap<JmmNode, Integer>();
+        for (int i = 0; i < nodes.size(); i++) {
+            indexes.put(nodes.get(i), i);
+        }
+
+        var ast = new CompactAst(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            ast.add(i, nodes.get(i), indexes);
+        }
+
+        return ast;
+    }
+
+    private void add(int index, JmmNode node, Map<JmmNode, Integer> indexes) {
+        var kind = KINDS.get(node.getKind());
+        if (kind == null) {
+            throw new IllegalArgumentException("Node kind '" + node.getKind() + "' is not in " + Kind.class);
+        }
+        kinds[index] = (byte) kind.ordinal();
+
+        if (hierarchies.get(kind.ordinal()) == null) {
+            hierarchies.set(kind.ordinal(), List.copyOf(node.getHierarchy()));
+        } else if (!hierarchies.get(kind.ordinal()).equals(node.getHierarchy())) {
+            putOther(index, HIERARCHY, List.copyOf(node.getHierarchy()));
+        }
+
+        // Parents come before their children, so the links of the root are the only ones still to set
+        if (index == 0) {
+            parents[index] = NONE;
+            nextSiblings[index] = NONE;
+        }
+
+        firstChildren[index] = NONE;
+        int previous = NONE;
+        for (var child : node.getChildren()) {
+            int childIndex = indexes.get(child);
+
+            parents[childIndex] = index;
+            nextSiblings[childIndex] = NONE;
+
+            if (previous == NONE) {
+                firstChildren[index] = childIndex;
+            } else {
+                nextSiblings[previous] = childIndex;
+            }
+            previous = childIndex;
+        }
+
+        names[index] = NONE;
+        lineStarts[index] = NONE;
+        colStarts[index] = NONE;
+        lineEnds[index] = NONE;
+        colEnds[index] = NONE;
+
+        for (var attribute : node.getAttributes()) {
+            addAttribute(index, node, attribute, indexes);
+        }
+    }
+
+    private void addAttribute(int index, JmmNode node, String attribute, Map<JmmNode, Integer> indexes) {
+        var value = node.getObject(attribute);
+
+        if (value instanceof String text && addPosition(index, attribute, text)) {
+            return;
+        }
+
+        int textAttribute = Arrays.asList(TEXT_ATTRIBUTES).indexOf(attribute);
+        if (textAttribute > 0 && value instanceof String text && (flags[index] & TEXT_MASK) == 0) {
+            names[index] = intern(text);
+            flags[index] |= (short) (textAttribute << TEXT_SHIFT);
+            return;
+        }
+
+        int flagAttribute = Arrays.asList(FLAG_ATTRIBUTES).indexOf(attribute);
+        if (flagAttribute >= 0 && value instanceof Boolean flag) {
+            flags[index] |= (short) (1 << (PRESENT_SHIFT + flagAttribute));
+            if (flag) {
+                flags[index] |= (short) (1 << flagAttribute);
+            }
+            return;
+        }
+
+        if (attribute.equals("value") && kinds[index] == Kind.INTEGER_LITERAL.ordinal()
+                && value instanceof String text && isCanonicalInt(text)) {
+            values[index] = Integer.parseInt(text);
+            flags[index] |= (short) HAS_VALUE;
+            return;
+        }
+
+        if (value instanceof JmmNode other && indexes.containsKey(other)) {
+            putOther(index, attribute, new NodeRef(indexes.get(other)));
+            return;
+        }
+
+        putOther(index, attribute, value);
+    }
+
+    private boolean addPosition(int index, String attribute, String text) {
+        int[] column;
+        if (attribute.equals(NodePosition.LINE_START.getKey())) {
+            column = lineStarts;
+        } else if (attribute.equals(NodePosition.COL_START.getKey())) {
+            column = colStarts;
+        } else if (attribute.equals(NodePosition.LINE_END.getKey())) {
+            column = lineEnds;
+        } else if (attribute.equals(NodePosition.COL_END.getKey())) {
+            column = colEnds;
+        } else {
+            return false;
+        }
+
+        if (!isCanonicalInt(text) || Integer.parseInt(text) < 0) {
+            return false;
+        }
+
+        column[index] = Integer.parseInt(text);
+        return true;
+    }
+
+    /**
+     * @return true if the text is an int that converts back to the same text
+     */
+    private static boolean isCanonicalInt(String text) {
+        try {
+            return Integer.toString(Integer.parseInt(text)).equals(text);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private int intern(String name) {
+        return nameIds.computeIfAbsent(name, key -> {
+            nameTable.add(key);
+            return nameTable.size() - 1;
+        });
+    }
+
+    private void putOther(int index, String attribute, Object value) {
+        otherAttributes.computeIfAbsent(index, key -> new LinkedHashMap<>()).put(attribute, value);
+    }
+
+    /**
+     * @return number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    public Kind kind(int node) {
+        return KIND_VALUES[kinds[node]];
+    }
+
+    public List<String> hierarchy(int node) {
+        var other = otherAttributes.get(node);
+        if (other != null && other.containsKey(HIERARCHY)) {
+            @SuppressWarnings("unchecked")
+            var hierarchy = (List<String>) other.get(HIERARCHY);
+            return hierarchy;
+        }
+
+        return hierarchies.get(kinds[node]);
+    }
+
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    public int firstChild(int node) {
+        return firstChildren[node];
+    }
+
+    public int nextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    public int numChildren(int node) {
+        int count = 0;
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the id of the {@code name}, {@code methodName} or {@code op} of the node, or {@link #NONE}
+     */
+    public int nameId(int node) {
+        return names[node];
+    }
+
+    /**
+     * @return the {@code name}, {@code methodName} or {@code op} of the node, or null
+     */
+    public String name(int node) {
+        return names[node] == NONE ? null : nameTable.get(names[node]);
+    }
+
+    /**
+     * @return the id of the given name, or {@link #NONE} if no node has it
+     */
+    public int nameId(String name) {
+        return nameIds.getOrDefault(name, NONE);
+    }
+
+    /**
+     * @return number of different names
+     */
+    public int numNames() {
+        return nameTable.size();
+    }
+
+    public boolean hasIntValue(int node) {
+        return (flags[node] & HAS_VALUE) != 0;
+    }
+
+    /**
+     * @return the value of an integer literal, see {@link #hasIntValue(int)}
+     */
+    public int intValue(int node) {
+        if (!hasIntValue(node)) {
+            throw new IllegalArgumentException("Node " + node + " (" + kind(node) + ") has no integer value");
+        }
+
+        return values[node];
+    }
+
+    public boolean isArray(int node) {
+        return flag(node, 0);
+    }
+
+    public boolean isVarargs(int node) {
+        return flag(node, 1);
+    }
+
+    public boolean isMain(int node) {
+        return flag(node, 2);
+    }
+
+    public boolean isPublic(int node) {
+        return flag(node, 3);
+    }
+
+    public boolean isStatic(int node) {
+        return flag(node, 4);
+    }
+
+    private boolean flag(int node, int flag) {
+        return (flags[node] & (1 << flag)) != 0;
+    }
+
+    public int lineStart(int node) {
+        return lineStarts[node];
+    }
+
+    public int colStart(int node) {
+        return colStarts[node];
+    }
+
+    public int lineEnd(int node) {
+        return lineEnds[node];
+    }
+
+    public int colEnd(int node) {
+        return colEnds[node];
+    }
+
+    /**
+     * @return the node as a read-only {@link JmmNode}, always the same object for the same index
+     */
+    public JmmNode node(int node) {
+        if (views[node] == null) {
+            views[node] = new CompactJmmNode(this, node);
+        }
+
+        return views[node];
+    }
+
+    /**
+     * @return a mutable copy of the tree, made of {@link JmmNodeImpl}
+     */
+    public JmmNode toJmmNode() {
+        var nodes = new JmmNodeImpl[size];
+
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new JmmNodeImpl(hierarchy(i));
+            if (parents[i] != NONE) {
+                nodes[parents[i]].add(nodes[i]);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (var attribute : attributes(i)) {
+                var value = attribute(i, attribute);
+                nodes[i].putObject(attribute, value instanceof NodeRef ref ? nodes[ref.index()] : value);
+            }
+        }
+
+        return nodes[0];
+    }
+
+    /**
+     * @return names of the attributes of the node, in the same form as in the original tree
+     */
+    List<String> attributes(int node) {
+        var attributes = new ArrayList<String>();
+
+        if (lineStarts[node] != NONE) {
+            attributes.add(NodePosition.LINE_START.getKey());
+        }
+        if (colStarts[node] != NONE) {
+            attributes.add(NodePosition.COL_START.getKey());
+        }
+        if (lineEnds[node] != NONE) {
+            attributes.add(NodePosition.LINE_END.getKey());
+        }
+        if (colEnds[node] != NONE) {
+            attributes.add(NodePosition.COL_END.getKey());
+        }
+
+        int textAttribute = (flags[node] & TEXT_MASK) >> TEXT_SHIFT;
+        if (textAttribute != 0) {
+            attributes.add(TEXT_ATTRIBUTES[textAttribute]);
+        }
+
+        for (int i = 0; i < FLAG_ATTRIBUTES.length; i++) {
+            if ((flags[node] & (1 << (PRESENT_SHIFT + i))) != 0) {
+                attributes.add(FLAG_ATTRIBUTES[i]);
+            }
+        }
+
+        if (hasIntValue(node)) {
+            attributes.add("value");
+        }
+
+        var other = otherAttributes.get(node);
+        if (other != null) {
+            other.keySet().stream().filter(attribute -> !attribute.equals(HIERARCHY)).forEach(attributes::add);
+        }
+
+        return attributes;
+    }
+
+    /**
+     * @return value of the attribute, a {@link NodeRef} if it is a node, or null if the node does not have it
+     */
+    Object attribute(int node, String attribute) {
+        var other = otherAttributes.get(node);
+        if (other != null && other.containsKey(attribute)) {
+            return other.get(attribute);
+        }
+
+        int textAttribute = (flags[node] & TEXT_MASK) >> TEXT_SHIFT;
+        if (textAttribute != 0 && TEXT_ATTRIBUTES[textAttribute].equals(attribute)) {
+            return nameTable.get(names[node]);
+        }
+
+        for (int i = 0; i < FLAG_ATTRIBUTES.length; i++) {
+            if (FLAG_ATTRIBUTES[i].equals(attribute) && (flags[node] & (1 << (PRESENT_SHIFT + i))) != 0) {
+                return flag(node, i);
+            }
+        }
+
+        if (attribute.equals("value") && hasIntValue(node)) {
+            return Integer.toString(values[node]);
+        }
+
+        int position = positionOf(node, attribute);
+        return position == NONE ? null : Integer.toString(position);
+    }
+
+    private int positionOf(int node, String attribute) {
+        if (attribute.equals(NodePosition.LINE_START.getKey())) {
+            return lineStarts[node];
+        }
+        if (attribute.equals(NodePosition.COL_START.getKey())) {
+            return colStarts[node];
+        }
+        if (attribute.equals(NodePosition.LINE_END.getKey())) {
+            return lineEnds[node];
+        }
+        if (attribute.equals(NodePosition.COL_END.getKey())) {
+            return colEnds[node];
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Size of the arrays, plus an estimate for the name table and the attributes kept in the side map.
+     *
+     * @return approximate number of bytes used by the tree
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+
+        // One byte for the kind, two for the flags, and eight ints
+        bytes += (long) size * (1 + 2 + 8 * Integer.BYTES);
+
+        // Each name is a String with its own array, plus its entries in the list and the map
+        for (var name : nameTable) {
+            bytes += 40 + name.length() + 8 + 32;
+        }
+
+        // Each attribute in the side map is a map entry, plus the map itself
+        for (var attributes : otherAttributes.values()) {
+            bytes += 64 + 32L * attributes.size();
+        }
+
+        return bytes;
+    }
+
+    public double getBytesPerNode() {
+        return size == 0 ? 0 : (double) getMemoryBytes() / size;
+    }
+}
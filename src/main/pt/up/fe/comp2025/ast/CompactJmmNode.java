@@ -0,0 +1,138 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.specs.util.SpecsCheck;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only {@link JmmNode} view of a node of a {@link CompactAst}, so that existing visitors can run over it.
+ * <p>
+ * Attributes are decoded on each access, in the same form as in the original tree. Changing the tree is not
+ * supported, {@link CompactAst#toJmmNode()} gives a mutable copy.
+ */
+public class CompactJmmNode implements JmmNode {
+
+    private static final Set<String> POSITION_ATTRIBUTES = Set.of(NodePosition.LINE_START.getKey(),
+            NodePosition.COL_START.getKey(), NodePosition.LINE_END.getKey(), NodePosition.COL_END.getKey());
+
+    private final CompactAst ast;
+    private final int index;
+
+    CompactJmmNode(CompactAst ast, int index) {
+        this.ast = ast;
+        this.index = index;
+    }
+
+    public CompactAst getAst() {
+        return ast;
+    }
+
+    /**
+     * @return index of the node in the arrays of the {@link CompactAst}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getKind() {
+        return ast.hierarchy(index).get(0);
+    }
+
+    @Override
+    public List<String> getHierarchy() {
+        return ast.hierarchy(index);
+    }
+
+    @Override
+    public JmmNode getParent() {
+        int parent = ast.parent(index);
+        return parent == CompactAst.NONE ? null : ast.node(parent);
+    }
+
+    @Override
+    public List<JmmNode> getChildren() {
+        var children = new ArrayList<JmmNode>();
+        for (int child = ast.firstChild(index); child != CompactAst.NONE; child = ast.nextSibling(child)) {
+            children.add(ast.node(child));
+        }
+
+        return children;
+    }
+
+    @Override
+    public JmmNode getChild(int index) {
+        int child = ast.firstChild(this.index);
+        for (int i = 0; i < index && child != CompactAst.NONE; i++) {
+            child = ast.nextSibling(child);
+        }
+
+        if (child == CompactAst.NONE) {
+            throw new IndexOutOfBoundsException("Node has " + getNumChildren() + " children, asked for " + index);
+        }
+
+        return ast.node(child);
+    }
+
+    @Override
+    public int getNumChildren() {
+        return ast.numChildren(index);
+    }
+
+    @Override
+    public Collection<String> getAttributes() {
+        return ast.attributes(index);
+    }
+
+    @Override
+    public boolean hasAttribute(String attribute) {
+        return ast.attribute(index, attribute) != null;
+    }
+
+    @Override
+    public Object getObject(String attribute) {
+        var value = ast.attribute(index, attribute);
+
+        SpecsCheck.checkNotNull(value, () -> "Node " + getKind() + " does not contain attribute '" + attribute + "'");
+
+        return value instanceof CompactAst.NodeRef ref ? ast.node(ref.index()) : value;
+    }
+
+    @Override
+    public Object putObject(String attribute, Object value) {
+        throw new UnsupportedOperationException("Compact AST nodes are read-only");
+    }
+
+    @Override
+    public void add(JmmNode child, int index) {
+        throw new UnsupportedOperationException("Compact AST nodes are read-only");
+    }
+
+    @Override
+    public JmmNode copy(List<String> kindHierarchy) {
+        var copy = new JmmNodeImpl(kindHierarchy);
+
+        for (var attribute : getAttributes()) {
+            copy.putObject(attribute, getObject(attribute));
+        }
+
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        var attributes = getAttributes().stream()
+                .filter(attribute -> !POSITION_ATTRIBUTES.contains(attribute))
+                .map(attribute -> attribute + ": " + getObject(attribute))
+                .collect(Collectors.joining(", ", " (", ")"));
+
+        return getKind() + (attributes.equals(" ()") ? "" : attributes);
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 public enum Kind {
     TYPE,
     STMT,
+    EXPR,
 
     PROGRAM,
     IMPORT_DECL,
@@ -24,7 +25,9 @@ public enum Kind {
     ARRAY_TYPE,
     VARARGS_TYPE,
     BOOLEAN_TYPE,
+    BOOLEAN_VARARGS_TYPE,
     CLASS_TYPE,
+    CLASS_VARARGS_TYPE,
     STRING_TYPE,
     METHOD_DECL,
     PARAM,
@@ -43,6 +46,7 @@ public enum Kind {
     INDEX_ACCESS_EXPR,
     LENGTH_EXPR,
     METHOD_CALL_EXPR,
+    DOT_ACCESS_EXPR,
     NEW_ARRAY_EXPR,
     NEW_OBJECT_EXPR,
     UNARY_EXPR,
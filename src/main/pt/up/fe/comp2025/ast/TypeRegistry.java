@@ -0,0 +1,164 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.analysis.table.Type;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Canonical {@link Type} instances, one per type, each with a small integer id.
+ * <p>
+ * The types are shared by every node and symbol that has them, so they cannot be changed: adding an attribute to an
+ * interned type throws. Interned types with the same id are the same type, which {@link #sameType(Type, Type)} checks
+ * first. Every interned type has the "isVarargs" attribute, like the types of the symbol table, and a varargs type has
+ * the id of the same type without it, as {@link Type#equals(Object)} ignores the attribute.
+ * <p>
+ * The types of the language (primitives, String, void and the error types) are kept in constants for the whole run.
+ * Class types are kept by a registry of a single compilation, owned by its symbol table, so that they go away with it.
+ */
+public class TypeRegistry {
+
+    /**
+     * Attribute of interned types with their id.
+     */
+    public static final String ID = "typeId";
+
+    // Ids are unique across registries, so that types of different compilations are never mistaken for each other
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    // Filled when the class is initialized, only read afterwards
+    private static final Map<String, AtomicReferenceArray<Type>> BUILTINS = newBuiltins(List.of("int", "boolean",
+            "String", "void", "this", "error_method", "error_undeclared_var", "error_param"));
+
+    public static final Type INT = builtin("int", false);
+    public static final Type BOOLEAN = builtin("boolean", false);
+    public static final Type INT_ARRAY = builtin("int", true);
+    public static final Type BOOLEAN_ARRAY = builtin("boolean", true);
+    public static final Type STRING = builtin("String", false);
+    public static final Type STRING_ARRAY = builtin("String", true);
+    public static final Type VOID = builtin("void", false);
+    public static final Type THIS = builtin("this", false);
+
+    // For each class name of this compilation, its variants: plain, array, varargs and array varargs
+    private final Map<String, AtomicReferenceArray<Type>> types = new ConcurrentHashMap<>();
+
+    public Type intern(String name, boolean isArray) {
+        return intern(name, isArray, false);
+    }
+
+    /**
+     * @param name
+     * @param isArray
+     * @param isVarargs
+     * @return the canonical instance of the type
+     */
+    public Type intern(String name, boolean isArray, boolean isVarargs) {
+        var variants = BUILTINS.get(name);
+        if (variants == null) {
+            variants = types.computeIfAbsent(name, key -> new AtomicReferenceArray<>(4));
+        }
+
+        int variant = variant(isArray, isVarargs);
+        var type = variants.get(variant);
+        if (type != null) {
+            return type;
+        }
+
+        int id = isVarargs ? id(intern(name, isArray, false)) : NEXT_ID.getAndIncrement();
+        var newType = new InternedType(name, isArray, isVarargs, id);
+
+        // Another thread may have interned the same type in the meantime
+        return variants.compareAndSet(variant, null, newType) ? newType : variants.get(variant);
+    }
+
+    /**
+     * @param name
+     * @param isArray
+     * @return the type of the language with that name
+     */
+    public static Type builtin(String name, boolean isArray) {
+        return BUILTINS.get(name).get(variant(isArray, false));
+    }
+
+    /**
+     * @param type
+     * @return the id of the type, or -1 if it was not interned
+     */
+    public static int id(Type type) {
+        return type.hasAttribute(ID) ? (Integer) type.getObject(ID) : -1;
+    }
+
+    /**
+     * Compares the ids of interned types, and any other type by name and array flag.
+     *
+     * @param first
+     * @param second
+     * @return true if both are the same type
+     */
+    public static boolean sameType(Type first, Type second) {
+        if (first == second) {
+            return true;
+        }
+
+        int firstId = id(first);
+        if (firstId >= 0 && firstId == id(second)) {
+            return true;
+        }
+
+        return first.isArray() == second.isArray() && first.getName().equals(second.getName());
+    }
+
+    private static int variant(boolean isArray, boolean isVarargs) {
+        return (isArray ? 1 : 0) | (isVarargs ? 2 : 0);
+    }
+
+    private static Map<String, AtomicReferenceArray<Type>> newBuiltins(List<String> names) {
+        var builtins = new HashMap<String, AtomicReferenceArray<Type>>();
+
+        for (var name : names) {
+            var variants = new AtomicReferenceArray<Type>(4);
+            for (var isArray : new boolean[]{false, true}) {
+                var type = new InternedType(name, isArray, false, NEXT_ID.getAndIncrement());
+                variants.set(variant(isArray, false), type);
+                variants.set(variant(isArray, true), new InternedType(name, isArray, true, id(type)));
+            }
+
+            builtins.put(name, variants);
+        }
+
+        return Map.copyOf(builtins);
+    }
+
+    /**
+     * A type whose attributes are set once, when it is created.
+     * <p>
+     * It keeps {@link Type#equals(Object)}, which requires the same class: interned types are equal to each other by
+     * name and array flag, and never to a plain {@link Type}, whichever comes first. {@link #sameType(Type, Type)}
+     * compares both kinds.
+     */
+    private static class InternedType extends Type {
+
+        private final boolean frozen;
+
+        InternedType(String name, boolean isArray, boolean isVarargs, int id) {
+            super(name, isArray);
+
+            putObject("isVarargs", String.valueOf(isVarargs));
+            putObject(ID, id);
+            this.frozen = true;
+        }
+
+        @Override
+        public Object putObject(String attribute, Object value) {
+            if (frozen) {
+                throw new UnsupportedOperationException("Interned type " + print() + " is shared and cannot be changed");
+            }
+
+            return super.putObject(attribute, value);
+        }
+    }
+}
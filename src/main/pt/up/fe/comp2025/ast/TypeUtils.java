@@ -6,14 +6,39 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
+import pt.up.fe.comp2025.symboltable.ResolvedSymbol;
+
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Utility methods regarding types.
  */
 public class TypeUtils {
-    public static final Type TYPE_ERROR_METHOD = new Type("error_method", false);
-    public static final Type TYPE_ERROR_UNDECLARED_VAR = new Type("error_undeclared_var", false);
-    public static final Type TYPE_ERROR_VAR_DECLARED_OUTSIDE = new Type("error_param", false);
+    public static final Type TYPE_ERROR_METHOD = TypeRegistry.builtin("error_method", false);
+    public static final Type TYPE_ERROR_UNDECLARED_VAR = TypeRegistry.builtin("error_undeclared_var", false);
+    public static final Type TYPE_ERROR_VAR_DECLARED_OUTSIDE = TypeRegistry.builtin("error_param", false);
+
+    /**
+     * Attribute of variable references with the {@link ResolvedSymbol} they refer to.
+     */
+    public static final String RESOLVED_SYMBOL = "resolvedSymbol";
+
+    /**
+     * Attribute of expressions with their {@link Type}, set the first time the type is computed.
+     */
+    public static final String EXPR_TYPE = "exprType";
+
+    // Attributes cannot be removed from a node, so an invalidated type is replaced by this one
+    private static final Type STALE_TYPE = new Type("stale", false);
+
+    // Kinds that getExprType knows
+    private static final Set<String> TYPED_KINDS = Set.copyOf(Kind.toNodeName(Kind.BINARY_EXPR,
+            Kind.METHOD_CALL_EXPR, Kind.PAREN_EXPR, Kind.UNARY_EXPR, Kind.NEW_ARRAY_EXPR, Kind.ARRAY_LITERAL,
+            Kind.NEW_OBJECT_EXPR, Kind.CLASS_TYPE, Kind.INTEGER_LITERAL, Kind.LENGTH_EXPR, Kind.BOOLEAN_LITERAL,
+            Kind.VAR_REF_EXPR, Kind.THIS_EXPR, Kind.INDEX_ACCESS_EXPR, Kind.PARAM, Kind.INT_TYPE, Kind.BOOLEAN_TYPE,
+            Kind.VARARGS_TYPE));
+
     private final JmmSymbolTable table;
 
     public TypeUtils(SymbolTable table) {
@@ -21,18 +46,33 @@ public class TypeUtils {
     }
 
     public static Type newIntType() {
-        return new Type("int", false);
+        return TypeRegistry.INT;
     }
 
-    public static Type convertType(JmmNode typeNode) {
+    public Type convertType(JmmNode typeNode) {
+        return convertType(typeNode, table.getTypes());
+    }
+
+    /**
+     * @param typeNode
+     * @param types registry of the compilation the node belongs to
+     * @return the interned type the node declares
+     */
+    public static Type convertType(JmmNode typeNode, TypeRegistry types) {
 
         var name = typeNode.get("name");
         var isArray = Boolean.parseBoolean(typeNode.get("isArray"));
+        var isVarargs = Boolean.parseBoolean(typeNode.get("isVarargs"));
 
-        Type newType = new Type(name, isArray);
-        newType.putObject("isVarargs", typeNode.get("isVarargs"));
+        return types.intern(name, isArray, isVarargs);
+    }
 
-        return newType;
+    /**
+     * @param className
+     * @return the interned type of a class of this compilation
+     */
+    public Type getClassType(String className) {
+        return table.getTypes().intern(className, false);
     }
 
     /**
@@ -42,6 +82,65 @@ public class TypeUtils {
      * @return
      */
     public Type getExprType(JmmNode expr) {
+        if (expr.hasAttribute(EXPR_TYPE)) {
+            var cached = expr.getObject(EXPR_TYPE);
+            if (cached != STALE_TYPE) {
+                return (Type) cached;
+            }
+        }
+
+        var type = computeExprType(expr);
+        if (type != null) {
+            expr.putObject(EXPR_TYPE, type);
+        }
+
+        return type;
+    }
+
+    /**
+     * Typing pass: stores the type of every expression of the tree in its {@link #EXPR_TYPE} attribute. Expressions
+     * whose type cannot be computed are left without it, and throw again when asked for their type.
+     * <p>
+     * The passes only read the attributes afterwards, so they can visit the tree from several threads.
+     *
+     * @param root
+     */
+    public void annotateTypes(JmmNode root) {
+        root.getDescendantsAndSelfStream()
+                .filter(node -> TYPED_KINDS.contains(node.getKind()))
+                .forEach(node -> {
+                    try {
+                        getExprType(node);
+                    } catch (RuntimeException e) {
+                        // Reported by the pass that needs the type
+                    }
+                });
+    }
+
+    /**
+     * Marks the stored types that may have changed after the node was put in the tree, to be computed again. The type
+     * of an expression depends on its children, and of a method call also on its parent and siblings, so every
+     * ancestor of the node and their children are marked.
+     *
+     * @param node the node that was added or replaced
+     */
+    public static void invalidateTypes(JmmNode node) {
+        for (var current = node; current != null; current = current.getParent()) {
+            invalidateType(current);
+
+            for (var child : current.getChildren()) {
+                invalidateType(child);
+            }
+        }
+    }
+
+    private static void invalidateType(JmmNode node) {
+        if (node.hasAttribute(EXPR_TYPE)) {
+            node.putObject(EXPR_TYPE, STALE_TYPE);
+        }
+    }
+
+    private Type computeExprType(JmmNode expr) {
 
         // TODO: Update when there are new types
         //System.out.println("type: " + expr);
@@ -49,17 +148,18 @@ public class TypeUtils {
             case BINARY_EXPR -> getBinExprType(expr);
             case METHOD_CALL_EXPR -> getMethodExprType(expr);
             case PAREN_EXPR, UNARY_EXPR -> getParentExprType(expr);
-            case NEW_ARRAY_EXPR, ARRAY_LITERAL -> new Type("int", true);
-            case NEW_OBJECT_EXPR, CLASS_TYPE -> new Type(expr.get("name"), false);
-            case INTEGER_LITERAL, LENGTH_EXPR -> new Type("int", false);
-            case BOOLEAN_LITERAL -> new Type("boolean", false);
+            case NEW_ARRAY_EXPR, ARRAY_LITERAL -> TypeRegistry.INT_ARRAY;
+            case NEW_OBJECT_EXPR, CLASS_TYPE -> getClassType(expr.get("name"));
+            case INTEGER_LITERAL, LENGTH_EXPR -> TypeRegistry.INT;
+            case BOOLEAN_LITERAL -> TypeRegistry.BOOLEAN;
             case VAR_REF_EXPR -> getVarRefExprType(expr);
-            case THIS_EXPR -> new Type("this", false);
-            case INDEX_ACCESS_EXPR -> new Type("int", false); // It is int for now
+            case THIS_EXPR -> TypeRegistry.THIS;
+            case INDEX_ACCESS_EXPR -> TypeRegistry.INT; // It is int for now
             case PARAM -> getExprType(expr.getChild(0));
-            case INT_TYPE -> new Type("int", Boolean.parseBoolean(expr.get("isArray")));
-            case BOOLEAN_TYPE -> new Type("boolean", Boolean.parseBoolean(expr.get("isArray")));
-            case VARARGS_TYPE -> new Type("int", true); // Maybe need to check this
+            case INT_TYPE -> Boolean.parseBoolean(expr.get("isArray")) ? TypeRegistry.INT_ARRAY : TypeRegistry.INT;
+            case BOOLEAN_TYPE ->
+                    Boolean.parseBoolean(expr.get("isArray")) ? TypeRegistry.BOOLEAN_ARRAY : TypeRegistry.BOOLEAN;
+            case VARARGS_TYPE -> TypeRegistry.INT_ARRAY; // Maybe need to check this
             default -> throw new UnsupportedOperationException("Unknown Kind" + Kind.fromString(expr.getKind()) + "'");
         };
 
@@ -85,7 +185,7 @@ public class TypeUtils {
 
 
         //case parent is returnType e child is import
-        else if (parent.getKind().equals("ReturnStmt") && table.getImports().contains(varRefType.getName())) {
+        else if (parent.getKind().equals("ReturnStmt") && table.isImportedClass(varRefType.getName())) {
 
             var currentMethod = methodExpr.getAncestor(Kind.METHOD_DECL).get().get("methodName");
             var returnType = table.getReturnType(currentMethod);
@@ -103,8 +203,8 @@ public class TypeUtils {
     private static Type getBinExprType(JmmNode binaryExpr) {
 
         return switch (binaryExpr.get("op")) {
-            case "+", "*", "-", "/" -> new Type("int", false);
-            case "&&", "||", "<", "!", ">" -> new Type("boolean", false);
+            case "+", "*", "-", "/" -> TypeRegistry.INT;
+            case "&&", "||", "<", "!", ">" -> TypeRegistry.BOOLEAN;
             default -> throw new RuntimeException("Unknown operator '" + binaryExpr.get("op"));
         };
     }
@@ -115,39 +215,39 @@ public class TypeUtils {
             return TYPE_ERROR_VAR_DECLARED_OUTSIDE;
         }
 
-        String methodName = varRefExpr.getAncestor(Kind.METHOD_DECL).get().get("methodName");
-        String varName = varRefExpr.get("name");
-
-        // So we return the local variable, not the class field
-        for (Symbol localVar : table.getLocalVariables(methodName)) {
-            if (localVar.getName().equals(varName)) {
-                return localVar.getType();
+        return resolveVarRef(varRefExpr)
+                .map(resolved -> resolved.symbol().getType())
+                .orElse(TYPE_ERROR_UNDECLARED_VAR);
+    }
 
-            }
+    /**
+     * Finds the local variable, parameter or field a variable reference refers to. The result is kept in the
+     * {@link #RESOLVED_SYMBOL} attribute of the node, so that later lookups of the same node do not search the table.
+     *
+     * @param varRefExpr
+     * @return the symbol, or empty if the name is not declared
+     */
+    public Optional<ResolvedSymbol> resolveVarRef(JmmNode varRefExpr) {
+        if (varRefExpr.hasAttribute(RESOLVED_SYMBOL)) {
+            return Optional.of((ResolvedSymbol) varRefExpr.getObject(RESOLVED_SYMBOL));
         }
 
-        for (Symbol field : table.getFields()) {
-            if (field.getName().equals(varName)) {
-                return field.getType();
-            }
+        var method = varRefExpr.getAncestor(Kind.METHOD_DECL);
+        if (method.isEmpty()) {
+            return Optional.empty();
         }
 
-        for (Symbol param : table.getParameters(methodName)) {
-            if (param.getName().equals(varName)) {
-                return param.getType();
-            }
-        }
+        var resolved = table.resolve(method.get().get("methodName"), varRefExpr.get("name"));
+        resolved.ifPresent(symbol -> varRefExpr.putObject(RESOLVED_SYMBOL, symbol));
 
-        return TYPE_ERROR_UNDECLARED_VAR;
+        return resolved;
     }
 
     public  boolean isErrorType(Type type) {
-        if (type.equals(TYPE_ERROR_VAR_DECLARED_OUTSIDE)
-                || type.equals(TYPE_ERROR_UNDECLARED_VAR)
-                || type.equals(TYPE_ERROR_METHOD)) {
-            return true;
-        }
-        return false;
+        // The error types are only handed out from the constants
+        return type == TYPE_ERROR_VAR_DECLARED_OUTSIDE
+                || type == TYPE_ERROR_UNDECLARED_VAR
+                || type == TYPE_ERROR_METHOD;
     }
 
 }
@@ -0,0 +1,65 @@
+package pt.up.fe.comp2025.backend;
+
+import jasmin.ClassFile;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+
+/**
+ * Assembles Jasmin code into class file bytes in memory, using the bundled jasmin library directly instead of going
+ * through temporary .j files.
+ */
+public class JasminAssembler {
+
+    // The jasmin library keeps some state in static fields, assembly is serialized to be safe
+    private static final Object LOCK = new Object();
+
+    public static byte[] assemble(String jasminCode, String sourceName) {
+
+        synchronized (LOCK) {
+            try (var reader = new BufferedReader(new StringReader(jasminCode))) {
+                ClassFile classFile = new ClassFile();
+                classFile.readJasmin(reader, sourceName, true);
+
+                if (classFile.errorCount() > 0) {
+                    throw new RuntimeException("Found " + classFile.errorCount()
+                            + " errors while assembling Jasmin code of '" + sourceName + "'.");
+                }
+
+                var bytes = new ByteArrayOutputStream();
+                classFile.write(bytes);
+
+                return bytes.toByteArray();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Could not assemble Jasmin code of '" + sourceName + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the bytes of a class to '&lt;outputDir&gt;/&lt;className&gt;.class', creating the folders as needed.
+     *
+     * @param className internal name of the class, packages separated by '/'
+     * @param classBytes
+     * @param outputDir
+     * @return the written file
+     */
+    public static File writeClassFile(String className, byte[] classBytes, File outputDir) {
+        var classFile = new File(outputDir, className.replace('/', File.separatorChar) + ".class");
+
+        try {
+            Files.createDirectories(classFile.getParentFile().toPath());
+            Files.write(classFile.toPath(), classBytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write class file '" + classFile + "'", e);
+        }
+
+        return classFile;
+    }
+}
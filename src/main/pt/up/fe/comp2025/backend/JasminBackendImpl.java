@@ -3,6 +3,7 @@ package pt.up.fe.comp2025.backend;
 import pt.up.fe.comp.jmm.jasmin.JasminBackend;
 import pt.up.fe.comp.jmm.jasmin.JasminResult;
 import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
 
 /**
  * Implementation of the Jasmin backend.
@@ -15,7 +16,7 @@ public class JasminBackendImpl implements JasminBackend {
         //System.out.println("Converting OLLIR to Jasmin:\n" + ollirResult.getOllirCode());
 
         var jasminGenerator = new JasminGenerator(ollirResult);
-        var jasminCode = jasminGenerator.build();
+        var jasminCode = PhaseProfiler.measure("jasmin", jasminGenerator::build);
 
         //System.out.println("Generated Jasmin:\n" + jasminCode);
 
@@ -10,6 +10,9 @@ import org.specs.comp.ollir.type.Type;
 import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.classpath.ClassInfo;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 import pt.up.fe.specs.util.classmap.FunctionClassMap;
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
 import pt.up.fe.specs.util.utilities.StringLines;
@@ -42,7 +45,8 @@ public class JasminGenerator {
     private final JasminUtils types;
 
     private final FunctionClassMap<TreeNode, String> generators;
-    private Map<String, String> imports_map = new HashMap<>();
+    private final Map<String, String> importIndex;
+    private final ClasspathIndex classpath;
 
     public JasminGenerator(OllirResult ollirResult) {
         this.ollirResult = ollirResult;
@@ -52,6 +56,10 @@ public class JasminGenerator {
         currentMethod = null;
 
         types = new JasminUtils(ollirResult);
+        classpath = ClasspathIndex.forConfig(ollirResult.getConfig());
+
+        // Same lookup as the symbol table, so both sides agree on which import a simple name refers to
+        importIndex = JmmSymbolTable.indexImports(ollirResult.getOllirClass().getImports());
 
         this.generators = new FunctionClassMap<>();
         generators.put(ClassUnit.class, this::generateClassUnit);
@@ -108,6 +116,32 @@ public class JasminGenerator {
         return code;
     }
 
+    /**
+     * Generates the class declaration, fields and default constructor, without any of the other methods.
+     *
+     * @return
+     */
+    public String buildHeader() {
+        return generateHeader(ollirResult.getOllirClass());
+    }
+
+    /**
+     * Generates each method separately, in declaration order, so that they can be reused between compilations. The
+     * class code is the header followed by all of the methods.
+     *
+     * @return Jasmin code of each method, by method name
+     */
+    public Map<String, String> buildMethods() {
+        var classUnit = ollirResult.getOllirClass();
+
+        var methods = new LinkedHashMap<String, String>();
+        for (var method : getGeneratedMethods(classUnit)) {
+            methods.put(method.getMethodName(), apply(method));
+        }
+
+        return methods;
+    }
+
     private String getJasminType(Type type) {
 
         String operand_type = "";
@@ -137,6 +171,15 @@ public class JasminGenerator {
         return operand_type;
     }
 
+    /**
+     * @param simpleName
+     * @return the internal name of the imported class with that name, or the name itself if it is not imported
+     */
+    private String resolveImport(String simpleName) {
+        var importName = importIndex.get(simpleName);
+        return importName == null ? simpleName : importName.replace('.', '/');
+    }
+
     private String spaceOr_ (int regNumber) {
 
         if (regNumber < 4) return "_" + regNumber;
@@ -147,22 +190,30 @@ public class JasminGenerator {
 
         var code = new StringBuilder();
 
+        code.append(generateHeader(classUnit));
+
+        // generate code for all other methods
+        for (var method : getGeneratedMethods(classUnit)) {
+            code.append(apply(method));
+        }
+
+        return code.toString();
+    }
+
+    private String generateHeader(ClassUnit classUnit) {
+
+        var code = new StringBuilder();
+
         // generate class name
         var className = ollirResult.getOllirClass().getClassName();
         code.append(".class ").append(className).append(NL).append(NL);
 
         var fullSuperClass = "java/lang/Object";
 
-        //Build imports table
-        for (String entry : ollirResult.getOllirClass().getImports()){
-            var import_parts = entry.split("\\.");
-            imports_map.put(import_parts[import_parts.length -1],entry.replace(".","/"));
-        }
-
         if (classUnit.getSuperClass() != null) {
 
             var superClass = classUnit.getSuperClass();
-            fullSuperClass = imports_map.get(superClass);
+            fullSuperClass = resolveImport(superClass);
 
         }
 
@@ -184,20 +235,17 @@ public class JasminGenerator {
                 """.formatted(fullSuperClass);
         code.append(defaultConstructor);
 
-        // generate code for all other methods
-        for (var method : ollirResult.getOllirClass().getMethods()) {
-
-            // Ignore constructor, since there is always one constructor
-            // that receives no arguments, and has been already added
-            // previously
-            if (method.isConstructMethod()) {
-                continue;
-            }
+        return code.toString();
+    }
 
-            code.append(apply(method));
-        }
+    private List<Method> getGeneratedMethods(ClassUnit classUnit) {
 
-        return code.toString();
+        // Ignore constructor, since there is always one constructor
+        // that receives no arguments, and has been already added
+        // previously
+        return classUnit.getMethods().stream()
+                .filter(method -> !method.isConstructMethod())
+                .toList();
     }
 
 
@@ -364,7 +412,11 @@ public class JasminGenerator {
         updateStack(1);
 
         //sipush when the constant fits in a short
-        if (integerValue >= -1 && integerValue <= 5) {
+        if (integerValue == -1) {
+            return "iconst_m1" + NL;
+        }
+
+        else if (integerValue >= 0 && integerValue <= 5) {
             return "iconst_" + literal.getLiteral() + NL;
         }
 
@@ -584,7 +636,7 @@ public class JasminGenerator {
         }
 
         else if (caller instanceof ClassType classType){
-            var className = imports_map.getOrDefault(classType.getName(), classType.getName());
+            var className = resolveImport(classType.getName());
             code.append("new ").append(className).append(NL);
             updateStack(1);
         }
@@ -639,7 +691,7 @@ public class JasminGenerator {
         }
 
         var operand = (Operand) invokeStatic.getCaller();
-        String className = imports_map.getOrDefault(operand.getName(), operand.getName());
+        String className = resolveImport(operand.getName());
 
         // Get the method name
         String methodName;
@@ -656,18 +708,36 @@ public class JasminGenerator {
 
         // Build parameter types
         StringBuilder paramTypes = new StringBuilder();
+        List<String> argumentDescriptors = new ArrayList<>();
         for (Element arg : invokeStatic.getArguments()) {
-            paramTypes.append(getJasminType(arg.getType()));
+            var argType = getJasminType(arg.getType());
+            paramTypes.append(argType);
+            argumentDescriptors.add(argType);
         }
 
+        // Classes on the classpath give the exact descriptor, otherwise it is built from the arguments. The OLLIR code
+        // may expect another return type (e.g. a void result that is used), and the call must then match the OLLIR
+        String descriptor = classpath.findMethod(className, methodName, argumentDescriptors)
+                .filter(method -> isSameReturn(method.returnDescriptor(), returnType))
+                .map(ClassInfo.Member::descriptor)
+                .orElse("(" + paramTypes + ")" + returnType);
+
         code.append("invokestatic").append(SPACE)
                 .append(className).append("/").append(methodName)
-                .append("(").append(paramTypes).append(")")
-                .append(returnType).append(NL);
+                .append(descriptor).append(NL);
 
         return code.toString();
     }
 
+    /**
+     * @param descriptor return descriptor of a method on the classpath
+     * @param returnType return descriptor of the call in the OLLIR code
+     * @return true if the method returns what the OLLIR code expects, where any class can stand for any other
+     */
+    private static boolean isSameReturn(String descriptor, String returnType) {
+        return descriptor.equals(returnType) || (descriptor.startsWith("L") && returnType.startsWith("L"));
+    }
+
     private String generateVirtual(InvokeVirtualInstruction invokeVirtual) {
         var code = new StringBuilder();
 
@@ -0,0 +1,261 @@
+package pt.up.fe.comp2025.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.pipeline.CompilationResult;
+import pt.up.fe.comp2025.pipeline.ReportMessage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk cache of compilation results, addressed by the contents of the source, the options that change the output,
+ * the files of the classpath and the compiler version.
+ * <p>
+ * Each entry is a JSON file named after its key. Entries are evicted least recently used first (by file modification
+ * time, which is refreshed on every hit) once the cache grows over its maximum size.
+ */
+public class CompilationCache {
+
+    private static final String BUILD_STAMP = "/jmm-build.properties";
+
+    /**
+     * Identifies the build of the compiler, so that entries written by another build are not reused. It is the hash of
+     * the compiler sources and libraries, written by the 'buildStamp' task of the build.
+     */
+    public static final String COMPILER_VERSION = readBuildStamp();
+
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final File cacheDir;
+    private final long maxBytes;
+    private final Gson gson = new Gson();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private long currentBytes;
+
+    public CompilationCache(File cacheDir, long maxBytes) {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new RuntimeException("Could not create cache directory '" + cacheDir + "'");
+        }
+
+        this.currentBytes = Arrays.stream(getEntries()).mapToLong(File::length).sum();
+
+        // The maximum size may have been lowered since the last run
+        evict();
+    }
+
+    /**
+     * Builds the cache key of a compilation.
+     *
+     * @param code
+     * @param config
+     * @return
+     */
+    public String key(String code, Map<String, String> config) {
+        var digest = newDigest();
+
+        update(digest, COMPILER_VERSION);
+        update(digest, code);
+
+        // Sorted, so that the key does not depend on the iteration order of the map
+        var options = new TreeMap<>(config);
+        options.keySet().removeIf(option -> !CompilerConfig.affectsOutput(option));
+        options.forEach((option, value) -> {
+            update(digest, option);
+            update(digest, value);
+        });
+
+        // '-l' only names the classpath, the classes in it may change between compilations
+        for (var stamp : ClasspathIndex.forConfig(config).getSourceStamps()) {
+            update(digest, stamp);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @param key
+     * @param name name given to the returned result
+     * @return the cached result, if there is an entry for the key
+     */
+    public Optional<CompilationResult> get(String key, String name) {
+        long start = System.nanoTime();
+        var entryFile = getEntryFile(key);
+
+        synchronized (this) {
+            if (!entryFile.isFile()) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+
+            // Mark as recently used
+            entryFile.setLastModified(System.currentTimeMillis());
+        }
+
+        try {
+            var entry = gson.fromJson(Files.readString(entryFile.toPath()), CacheEntry.class);
+            hits.incrementAndGet();
+            return Optional.of(entry.toResult(name, (System.nanoTime() - start) / 1_000_000));
+        } catch (IOException | JsonParseException e) {
+            // Unreadable entry, compile again
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, CompilationResult result) {
+        var entryFile = getEntryFile(key);
+        var json = gson.toJson(new CacheEntry(result)).getBytes(StandardCharsets.UTF_8);
+
+        try {
+            // Write to a temporary file first, so that readers never see a partial entry
+            var tempFile = File.createTempFile(key, ".tmp", cacheDir);
+            Files.write(tempFile.toPath(), json);
+
+            synchronized (this) {
+                long previousBytes = entryFile.length();
+                Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                currentBytes += json.length - previousBytes;
+
+                evict();
+            }
+        } catch (IOException e) {
+            // The cache is only an optimization, a failed write is not a compilation error
+            Log.warn("Could not write cache entry '{}': {}", entryFile, e.getMessage());
+        }
+    }
+
+    private void evict() {
+        if (currentBytes <= maxBytes) {
+            return;
+        }
+
+        var entries = getEntries();
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+
+        for (var entry : entries) {
+            if (currentBytes <= maxBytes) {
+                break;
+            }
+
+            long length = entry.length();
+            if (entry.delete()) {
+                currentBytes -= length;
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public String getSummary() {
+        int total = getHits() + getMisses();
+        int hitRate = total == 0 ? 0 : getHits() * 100 / total;
+        return "Compilation cache: " + getHits() + " hit(s), " + getMisses() + " miss(es) (" + hitRate + "% hit rate), "
+                + currentBytes / 1024 + " KB in '" + cacheDir + "'";
+    }
+
+    private File getEntryFile(String key) {
+        return new File(cacheDir, key + ENTRY_EXTENSION);
+    }
+
+    private File[] getEntries() {
+        var entries = cacheDir.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        return entries == null ? new File[0] : entries;
+    }
+
+    private static String readBuildStamp() {
+        try (var input = CompilationCache.class.getResourceAsStream(BUILD_STAMP)) {
+            if (input != null) {
+                var properties = new Properties();
+                properties.load(input);
+
+                var stamp = properties.getProperty("sources.sha256");
+                if (stamp != null) {
+                    return stamp;
+                }
+            }
+        } catch (IOException e) {
+            // Handled below, like a missing stamp
+        }
+
+        // Without a stamp (e.g. classes built outside of Gradle) the build cannot be told apart, so entries are only
+        // reused within this run
+        Log.warn("No build stamp found in '{}', the compilation cache is not reused across runs", BUILD_STAMP);
+        return "unstamped-" + UUID.randomUUID();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        // Length prefix, so that different splits of the same characters give different keys
+        int length = bytes.length;
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+
+    /**
+     * What is stored on disk for each compilation.
+     */
+    private static class CacheEntry {
+        private final String className;
+        private final List<ReportMessage> reports;
+        private final String ollir;
+        private final String jasmin;
+        private final String classBytes;
+
+        CacheEntry(CompilationResult result) {
+            this.className = result.getClassName();
+            this.reports = result.getReports().stream().map(ReportMessage::new).toList();
+            this.ollir = result.getOllirCode();
+            this.jasmin = result.getJasminCode();
+            this.classBytes = result.getClassBytes() == null ? null
+                    : Base64.getEncoder().encodeToString(result.getClassBytes());
+        }
+
+        CompilationResult toResult(String name, long elapsedMillis) {
+            var bytes = classBytes == null ? null : Base64.getDecoder().decode(classBytes);
+            var reportList = reports.stream().map(ReportMessage::toReport).toList();
+            return new CompilationResult(name, reportList, className, ollir, jasmin, bytes, elapsedMillis, true, null);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package pt.up.fe.comp2025.classpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+/**
+ * Reads the name, super class, fields and methods of a class from its .class file, skipping everything else.
+ */
+class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private ClassFileReader() {
+    }
+
+    /**
+     * @param input contents of a .class file
+     * @return the class, without its synthetic members and static initializer
+     * @throws IOException if the input is not a valid class file
+     */
+    static ClassInfo read(InputStream input) throws IOException {
+        var data = new DataInputStream(input);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        data.readUnsignedShort(); // minor version
+        data.readUnsignedShort(); // major version
+
+        // Only the UTF-8 strings and the class entries that point to them are needed
+        int constantCount = data.readUnsignedShort();
+        var strings = new String[constantCount];
+        var classNames = new int[constantCount];
+
+        for (int i = 1; i < constantCount; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8 -> strings[i] = data.readUTF();
+                case CONSTANT_CLASS -> classNames[i] = data.readUnsignedShort();
+                case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> data.skipNBytes(2);
+                case CONSTANT_METHOD_HANDLE -> data.skipNBytes(3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> data.skipNBytes(4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    data.skipNBytes(8);
+                    // Takes two entries of the pool
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        data.readUnsignedShort(); // access flags
+        var name = strings[classNames[data.readUnsignedShort()]];
+        int superClass = data.readUnsignedShort();
+        var superName = superClass == 0 ? null : strings[classNames[superClass]];
+
+        int interfaceCount = data.readUnsignedShort();
+        data.skipNBytes(2L * interfaceCount);
+
+        var members = new ArrayList<ClassInfo.Member>();
+        readMembers(data, strings, false, members);
+        readMembers(data, strings, true, members);
+
+        return new ClassInfo(name, superName, members);
+    }
+
+    private static void readMembers(DataInputStream data, String[] strings, boolean isMethod,
+                                    ArrayList<ClassInfo.Member> members) throws IOException {
+        int count = data.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            int access = data.readUnsignedShort();
+            var name = strings[data.readUnsignedShort()];
+            var descriptor = strings[data.readUnsignedShort()];
+
+            int attributeCount = data.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                data.readUnsignedShort(); // name
+                data.skipNBytes(Integer.toUnsignedLong(data.readInt()));
+            }
+
+            if ((access & ACC_SYNTHETIC) != 0 || name.equals("<clinit>")) {
+                continue;
+            }
+
+            members.add(new ClassInfo.Member(name, descriptor, isMethod, (access & ACC_STATIC) != 0));
+        }
+    }
+}
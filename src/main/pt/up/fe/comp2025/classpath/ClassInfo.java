@@ -0,0 +1,49 @@
+package pt.up.fe.comp2025.classpath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The fields and methods of a class read from its .class file, with their JVM descriptors.
+ *
+ * @param name      internal name of the class, e.g. "java/lang/String"
+ * @param superName internal name of the super class, or null for java/lang/Object
+ * @param members
+ */
+public record ClassInfo(String name, String superName, List<Member> members) {
+
+    /**
+     * A field or method.
+     *
+     * @param descriptor JVM descriptor, e.g. "(Ljava/lang/String;I)V" for a method or "I" for a field
+     */
+    public record Member(String name, String descriptor, boolean isMethod, boolean isStatic) {
+
+        /**
+         * @return the descriptors of the parameters of a method, e.g. ["Ljava/lang/String;", "I"]
+         */
+        public List<String> parameterDescriptors() {
+            var parameters = new ArrayList<String>();
+
+            int index = 1;
+            while (descriptor.charAt(index) != ')') {
+                int start = index;
+                while (descriptor.charAt(index) == '[') {
+                    index++;
+                }
+                index = descriptor.charAt(index) == 'L' ? descriptor.indexOf(';', index) + 1 : index + 1;
+
+                parameters.add(descriptor.substring(start, index));
+            }
+
+            return parameters;
+        }
+
+        /**
+         * @return the descriptor of the return type of a method, or the type of a field
+         */
+        public String returnDescriptor() {
+            return isMethod ? descriptor.substring(descriptor.indexOf(')') + 1) : descriptor;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package pt.up.fe.comp2025.classpath;
+
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.logging.Log;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipFile;
+
+/**
+ * The fields and methods of the classes on a classpath, read from their .class files, so that calls to imported
+ * classes can use their real descriptors.
+ * <p>
+ * The classpath is a list of folders with .class files and of jar files. What was read from each .class file and jar
+ * is kept in a compact index file, with the modification time and size of the file. Later compilations, even in
+ * another run, only read the files that changed since. An index loaded in this JVM is reused while none of its files
+ * change.
+ */
+public class ClasspathIndex {
+
+    /**
+     * Index without classes, used when no classpath is given.
+     */
+    public static final ClasspathIndex EMPTY = new ClasspathIndex(List.of());
+
+    private static final String CACHE_FILE = "jmm-classpath.idx";
+    private static final int CACHE_MAGIC = 0x4A4D4D43;
+    private static final int CACHE_VERSION = 1;
+
+    private static final int FLAG_METHOD = 1;
+    private static final int FLAG_STATIC = 2;
+
+    // Indexes already loaded, by classpath and index file
+    private static final Map<String, ClasspathIndex> LOADED = new ConcurrentHashMap<>();
+
+    /**
+     * A .class file or jar, and the classes read from it.
+     */
+    private record Source(String path, long lastModified, long size, List<ClassInfo> classes) {
+
+        boolean isUpToDate(File file) {
+            return file.lastModified() == lastModified && file.length() == size;
+        }
+    }
+
+    private final List<Source> sources;
+    private final Map<String, ClassInfo> classes;
+
+    private ClasspathIndex(List<Source> sources) {
+        this.sources = sources;
+        this.classes = new HashMap<>();
+
+        // Like the JVM, the first class with a name on the classpath wins
+        for (var source : sources) {
+            for (var classInfo : source.classes()) {
+                classes.putIfAbsent(classInfo.name(), classInfo);
+            }
+        }
+    }
+
+    /**
+     * @param config
+     * @return the index of the classpath given with '-l', kept in the cache folder given with '-c' or else in the
+     * temporary folder, or {@link #EMPTY} if there is no classpath
+     */
+    public static ClasspathIndex forConfig(Map<String, String> config) {
+        var classpath = CompilerConfig.getClasspath(config);
+        if (classpath.isEmpty()) {
+            return EMPTY;
+        }
+
+        var cacheDir = CompilerConfig.getCacheDir(config).orElse(new File(System.getProperty("java.io.tmpdir")));
+
+        return load(classpath, new File(cacheDir, CACHE_FILE));
+    }
+
+    /**
+     * @param classpath folders and jar files
+     * @param cacheFile index file, created if it does not exist
+     * @return
+     */
+    public static ClasspathIndex load(List<File> classpath, File cacheFile) {
+        var key = classpath + File.pathSeparator + cacheFile.getAbsolutePath();
+
+        var loaded = LOADED.get(key);
+        if (loaded != null && loaded.isUpToDate(classpath)) {
+            return loaded;
+        }
+
+        var index = build(classpath, cacheFile);
+        LOADED.put(key, index);
+
+        return index;
+    }
+
+    /**
+     * Identifies the version of every file of the classpath, so that keys of compiled code change when a class on the
+     * classpath does.
+     *
+     * @return the path, modification time and size of each .class file and jar, in classpath order
+     */
+    public List<String> getSourceStamps() {
+        return sources.stream()
+                .map(source -> source.path() + File.pathSeparator + source.lastModified() + File.pathSeparator
+                        + source.size())
+                .toList();
+    }
+
+    /**
+     * @param className name of the class, with dots or slashes between packages
+     * @return
+     */
+    public Optional<ClassInfo> getClass(String className) {
+        return Optional.ofNullable(classes.get(className.replace('.', '/')));
+    }
+
+    /**
+     * Finds the method a call refers to, in the class or its super classes. A method whose parameters have exactly the
+     * given descriptors is preferred. Otherwise, the only method whose parameters could take the arguments is used,
+     * where any class type can take any other, as the arguments may be of classes that are not on the classpath.
+     *
+     * @param className
+     * @param methodName
+     * @param argumentDescriptors descriptors of the arguments of the call
+     * @return the method, or empty if it is not found or the call is ambiguous
+     */
+    public Optional<ClassInfo.Member> findMethod(String className, String methodName,
+                                                 List<String> argumentDescriptors) {
+        var candidates = new ArrayList<ClassInfo.Member>();
+
+        for (var classInfo = getClass(className).orElse(null); classInfo != null;
+             classInfo = classInfo.superName() == null ? null : classes.get(classInfo.superName())) {
+
+            for (var member : classInfo.members()) {
+                if (!member.isMethod() || !member.name().equals(methodName)) {
+                    continue;
+                }
+
+                var parameters = member.parameterDescriptors();
+                if (parameters.equals(argumentDescriptors)) {
+                    return Optional.of(member);
+                }
+                if (canTake(parameters, argumentDescriptors)) {
+                    candidates.add(member);
+                }
+            }
+        }
+
+        return candidates.size() == 1 ? Optional.of(candidates.get(0)) : Optional.empty();
+    }
+
+    private static boolean canTake(List<String> parameters, List<String> arguments) {
+        if (parameters.size() != arguments.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < parameters.size(); i++) {
+            var parameter = parameters.get(i);
+            var argument = arguments.get(i);
+
+            boolean bothClasses = parameter.startsWith("L") && argument.startsWith("L");
+            if (!bothClasses && !parameter.equals(argument)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param className
+     * @param fieldName
+     * @return the field, declared in the class or one of its super classes
+     */
+    public Optional<ClassInfo.Member> findField(String className, String fieldName) {
+        for (var classInfo = getClass(className).orElse(null); classInfo != null;
+             classInfo = classInfo.superName() == null ? null : classes.get(classInfo.superName())) {
+
+            for (var member : classInfo.members()) {
+                if (!member.isMethod() && member.name().equals(fieldName)) {
+                    return Optional.of(member);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isUpToDate(List<File> classpath) {
+        var files = listSources(classpath);
+        if (files.size() != sources.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            var source = sources.get(i);
+            var file = files.get(i);
+
+            if (!source.path().equals(file.getAbsolutePath()) || !source.isUpToDate(file)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static ClasspathIndex build(List<File> classpath, File cacheFile) {
+        var cached = readCache(cacheFile);
+
+        var sources = new ArrayList<Source>();
+        boolean changed = false;
+
+        for (var file : listSources(classpath)) {
+            var path = file.getAbsolutePath();
+
+            var source = cached.get(path);
+            if (source == null || !source.isUpToDate(file)) {
+                source = readSource(file);
+                cached.put(path, source);
+                changed = true;
+            }
+
+            sources.add(source);
+        }
+
+        // Files that no longer exist are dropped from the index file
+        changed |= cached.keySet().removeIf(path -> !new File(path).isFile());
+
+        if (changed) {
+            writeCache(cacheFile, cached.values());
+        }
+
+        return new ClasspathIndex(sources);
+    }
+
+    /**
+     * @return the .class files in each folder, sorted by path, and the jar files, in the order of the classpath
+     */
+    private static List<File> listSources(List<File> classpath) {
+        var files = new ArrayList<File>();
+
+        for (var entry : classpath) {
+            if (entry.isDirectory()) {
+                var classFiles = new ArrayList<File>();
+                listClassFiles(entry, classFiles);
+                classFiles.sort(null);
+                files.addAll(classFiles);
+            } else if (entry.isFile()) {
+                files.add(entry);
+            }
+        }
+
+        return files;
+    }
+
+    private static void listClassFiles(File dir, List<File> classFiles) {
+        var children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        for (var child : children) {
+            if (child.isDirectory()) {
+                listClassFiles(child, classFiles);
+            } else if (child.getName().endsWith(".class")) {
+                classFiles.add(child);
+            }
+        }
+    }
+
+    private static Source readSource(File file) {
+        var classes = new ArrayList<ClassInfo>();
+
+        // A file that cannot be read adds no classes, the calls to them keep the descriptors built from the arguments
+        try {
+            if (file.getName().endsWith(".class")) {
+                try (var input = new BufferedInputStream(new FileInputStream(file))) {
+                    classes.add(ClassFileReader.read(input));
+                }
+            } else {
+                try (var jar = new ZipFile(file)) {
+                    var entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        var entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                            try (var input = new BufferedInputStream(jar.getInputStream(entry))) {
+                                classes.add(ClassFileReader.read(input));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            classes.clear();
+        }
+
+        return new Source(file.getAbsolutePath(), file.lastModified(), file.length(), classes);
+    }
+
+    private static Map<String, Source> readCache(File cacheFile) {
+        var sources = new HashMap<String, Source>();
+        if (!cacheFile.isFile()) {
+            return sources;
+        }
+
+        try (var data = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (data.readInt() != CACHE_MAGIC || data.readInt() != CACHE_VERSION) {
+                return sources;
+            }
+
+            int sourceCount = data.readInt();
+            for (int i = 0; i < sourceCount; i++) {
+                var path = data.readUTF();
+                long lastModified = data.readLong();
+                long size = data.readLong();
+
+                int classCount = data.readInt();
+                var classes = new ArrayList<ClassInfo>(classCount);
+                for (int j = 0; j < classCount; j++) {
+                    var name = data.readUTF();
+                    var superName = data.readBoolean() ? data.readUTF() : null;
+
+                    int memberCount = data.readInt();
+                    var members = new ArrayList<ClassInfo.Member>(memberCount);
+                    for (int k = 0; k < memberCount; k++) {
+                        int flags = data.readUnsignedByte();
+                        members.add(new ClassInfo.Member(data.readUTF(), data.readUTF(),
+                                (flags & FLAG_METHOD) != 0, (flags & FLAG_STATIC) != 0));
+                    }
+
+                    classes.add(new ClassInfo(name, superName, members));
+                }
+
+                sources.put(path, new Source(path, lastModified, size, classes));
+            }
+        } catch (IOException e) {
+            // A damaged index file is built again from the classpath
+            sources.clear();
+        }
+
+        return sources;
+    }
+
+    private static void writeCache(File cacheFile, Collection<Source> sources) {
+        var parent = cacheFile.getAbsoluteFile().getParentFile();
+        File tempFile = null;
+
+        try {
+            parent.mkdirs();
+
+            // Written aside and moved, so that other compilations never read half an index
+            tempFile = File.createTempFile(CACHE_FILE, ".tmp", parent);
+            try (var data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                data.writeInt(CACHE_MAGIC);
+                data.writeInt(CACHE_VERSION);
+
+                data.writeInt(sources.size());
+                for (var source : sources) {
+                    data.writeUTF(source.path());
+                    data.writeLong(source.lastModified());
+                    data.writeLong(source.size());
+
+                    data.writeInt(source.classes().size());
+                    for (var classInfo : source.classes()) {
+                        data.writeUTF(classInfo.name());
+                        data.writeBoolean(classInfo.superName() != null);
+                        if (classInfo.superName() != null) {
+                            data.writeUTF(classInfo.superName());
+                        }
+
+                        data.writeInt(classInfo.members().size());
+                        for (var member : classInfo.members()) {
+                            int flags = (member.isMethod() ? FLAG_METHOD : 0) | (member.isStatic() ? FLAG_STATIC : 0);
+                            data.writeByte(flags);
+                            data.writeUTF(member.name());
+                            data.writeUTF(member.descriptor());
+                        }
+                    }
+                }
+            }
+
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Without the index file the classpath is read again by the next run, the index in memory is still valid
+            Log.warn("Could not write classpath index '{}': {}", cacheFile, e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package pt.up.fe.comp2025.daemon;
+
+import com.google.gson.Gson;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.backend.JasminAssembler;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Thin client for the {@link CompileDaemon}.
+ * <p>
+ * Can be used from the command line with the same options as the Launcher, e.g. {@code -s=4000 -i=Foo.jmm -o}.
+ * The class file is written to the folder given with '-d', and the exit status is 0 if the file compiled without errors.
+ */
+public class CompileClient implements Closeable {
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final BufferedWriter out;
+    private final Gson gson = new Gson();
+
+    public CompileClient(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    public CompileResponse compile(String name, String code, Map<String, String> config) throws IOException {
+        return send(CompileRequest.compile(name, code, config));
+    }
+
+    public CompileResponse ping() throws IOException {
+        return send(CompileRequest.command(CompileRequest.PING));
+    }
+
+    public CompileResponse shutdown() throws IOException {
+        return send(CompileRequest.command(CompileRequest.SHUTDOWN));
+    }
+
+    private CompileResponse send(CompileRequest request) throws IOException {
+        out.write(gson.toJson(request));
+        out.newLine();
+        out.flush();
+
+        var line = in.readLine();
+        if (line == null) {
+            throw new IOException("Compile daemon closed the connection");
+        }
+
+        return gson.fromJson(line, CompileResponse.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> config = CompilerConfig.parseArgs(args);
+
+        var port = CompilerConfig.getServerPort(config)
+                .orElseThrow(() -> new RuntimeException("Expected the port of the daemon, use '-s=<PORT>'"));
+        var inputFile = CompilerConfig.getInputFile(config)
+                .orElseThrow(() -> new RuntimeException("Expected an input file, use '-i=<PATH_TO_FILE>'"));
+
+        CompileResponse response;
+        try (var client = new CompileClient(port)) {
+            response = client.compile(inputFile.getPath(), SpecsIo.read(inputFile), config);
+        }
+
+        if (response.getError() != null) {
+            System.out.println("Daemon error: " + response.getError());
+            System.exit(1);
+        }
+
+        response.getReports().forEach(System.out::println);
+
+        if (response.getProfile() != null) {
+            System.out.println(response.getProfile());
+        }
+
+        if (response.isSuccess()) {
+            JasminAssembler.writeClassFile(response.getClassName(), response.getClassBytes(),
+                    CompilerConfig.getOutputDir(config));
+        }
+
+        System.exit(response.isSuccess() ? 0 : 1);
+    }
+}
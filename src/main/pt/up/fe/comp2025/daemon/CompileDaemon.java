@@ -0,0 +1,160 @@
+package pt.up.fe.comp2025.daemon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.parser.ParserPool;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-lived compiler process, so that the JIT, the ANTLR prediction caches and the generator tables stay warm
+ * between compilations.
+ * <p>
+ * Listens on a loopback socket. Each line received is a JSON {@link CompileRequest} and is answered with a single
+ * line of JSON {@link CompileResponse}. A connection can send any number of requests.
+ */
+public class CompileDaemon implements Closeable {
+
+    private static final int WARMUP_RUNS = 10;
+
+    private final CompilationPipeline pipeline;
+    private final Map<String, String> defaultConfig;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Gson gson = new Gson();
+
+    private volatile boolean running = true;
+
+    public CompileDaemon(CompilationPipeline pipeline, Map<String, String> defaultConfig, int port, int threads)
+            throws IOException {
+        this.pipeline = pipeline;
+        this.defaultConfig = defaultConfig;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Runs the whole pipeline a few times over the warm-up corpus of the parser, so that the first real requests do not pay for
+     * class loading and cold caches.
+     */
+    public void warmUp() {
+        // First, so that the parser corpus is timed with a cold prediction DFA
+        ParserPool.warmUp();
+
+        // Bypasses the cache of the daemon pipeline, otherwise only the first run would do any work
+        var warmupPipeline = new CompilationPipeline();
+        var config = CompilerConfig.getDefault();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            for (var code : ParserPool.WARMUP_CORPUS) {
+                warmupPipeline.compile("Warmup.jmm", code, config);
+            }
+        }
+    }
+
+    /**
+     * Accepts connections until a shutdown request arrives or the daemon is closed.
+     */
+    public void serve() {
+        while (running) {
+            try {
+                var socket = serverSocket.accept();
+                executor.submit(() -> handle(socket));
+            } catch (SocketException e) {
+                // Socket was closed, stop serving
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    Log.warn("Could not accept connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             var out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                out.write(gson.toJson(process(line)));
+                out.newLine();
+                out.flush();
+
+                if (!running) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Client went away, nothing else to do
+        }
+    }
+
+    private CompileResponse process(String line) {
+        CompileRequest request;
+        try {
+            request = gson.fromJson(line, CompileRequest.class);
+        } catch (JsonParseException e) {
+            return CompileResponse.error("Malformed request: " + e.getMessage());
+        }
+
+        if (request == null) {
+            return CompileResponse.error("Empty request");
+        }
+
+        switch (request.getCommand()) {
+            case CompileRequest.PING:
+                return CompileResponse.ok();
+            case CompileRequest.SHUTDOWN:
+                close();
+                return CompileResponse.ok();
+            case CompileRequest.COMPILE:
+                if (request.getCode() == null) {
+                    return CompileResponse.error("Compile request without 'code'");
+                }
+
+                var config = new HashMap<>(defaultConfig);
+                config.putAll(request.getConfig());
+
+                return CompileResponse.of(pipeline.compile(request.getName(), request.getCode(), config));
+            default:
+                return CompileResponse.error("Unknown command '" + request.getCommand() + "'");
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        executor.shutdown();
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package pt.up.fe.comp2025.daemon;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A request sent to the {@link CompileDaemon}, serialized as a single line of JSON.
+ */
+public class CompileRequest {
+
+    public static final String COMPILE = "compile";
+    public static final String PING = "ping";
+    public static final String SHUTDOWN = "shutdown";
+
+    private String command = COMPILE;
+    private String name;
+    private String code;
+    private Map<String, String> config = new HashMap<>();
+
+    public static CompileRequest compile(String name, String code, Map<String, String> config) {
+        var request = new CompileRequest();
+        request.name = name;
+        request.code = code;
+        request.config = new HashMap<>(config);
+        return request;
+    }
+
+    public static CompileRequest command(String command) {
+        var request = new CompileRequest();
+        request.command = command;
+        return request;
+    }
+
+    public String getCommand() {
+        return command == null ? COMPILE : command;
+    }
+
+    public String getName() {
+        return name == null ? "<source>" : name;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Map<String, String> getConfig() {
+        return config == null ? Map.of() : config;
+    }
+}
@@ -0,0 +1,92 @@
+package pt.up.fe.comp2025.daemon;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.pipeline.CompilationResult;
+import pt.up.fe.comp2025.pipeline.ReportMessage;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The answer of the {@link CompileDaemon} to a {@link CompileRequest}, serialized as a single line of JSON.
+ * <p>
+ * Class file bytes are sent encoded in Base64.
+ */
+public class CompileResponse {
+
+    private boolean success;
+    private String error;
+    private String className;
+    private List<ReportMessage> reports = List.of();
+    private String ollir;
+    private String jasmin;
+    private String classBytes;
+    private long elapsedMillis;
+    private String profile;
+
+    public static CompileResponse of(CompilationResult result) {
+        var response = new CompileResponse();
+        response.success = result.isSuccess();
+        response.className = result.getClassName();
+        response.reports = result.getReports().stream().map(ReportMessage::new).toList();
+        response.ollir = result.getOllirCode();
+        response.jasmin = result.getJasminCode();
+        response.classBytes = result.getClassBytes() == null ? null
+                : Base64.getEncoder().encodeToString(result.getClassBytes());
+        response.elapsedMillis = result.getElapsedMillis();
+        response.profile = result.getProfile();
+        return response;
+    }
+
+    public static CompileResponse ok() {
+        var response = new CompileResponse();
+        response.success = true;
+        return response;
+    }
+
+    public static CompileResponse error(String error) {
+        var response = new CompileResponse();
+        response.success = false;
+        response.error = error;
+        return response;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @return a protocol-level error (e.g. a malformed request), null if the request was handled
+     */
+    public String getError() {
+        return error;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public List<Report> getReports() {
+        return reports.stream().map(ReportMessage::toReport).toList();
+    }
+
+    public String getOllirCode() {
+        return ollir;
+    }
+
+    public String getJasminCode() {
+        return jasmin;
+    }
+
+    public byte[] getClassBytes() {
+        return classBytes == null ? null : Base64.getDecoder().decode(classBytes);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+}
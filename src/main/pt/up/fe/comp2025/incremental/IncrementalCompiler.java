@@ -0,0 +1,179 @@
+package pt.up.fe.comp2025.incremental;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.backend.JasminGenerator;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+import pt.up.fe.comp2025.optimization.OllirGeneratorVisitor;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates OLLIR and Jasmin one method at a time, reusing the code of the methods that did not change since the
+ * previous compilation of the same class from the same source.
+ * <p>
+ * Methods are compared by their {@link MethodFingerprint}. When the class signature changes every method is
+ * regenerated. Only the changed methods go through the AST optimizations, OLLIR generation, register allocation and
+ * Jasmin generation; the code of the others is spliced in from the previous compilation. Semantic analysis still
+ * runs over the whole class, since any change can introduce errors elsewhere.
+ * <p>
+ * The fragments are kept in memory, so this pays off in long-running processes (the daemon and batch mode). An
+ * instance can be shared between threads.
+ */
+public class IncrementalCompiler {
+
+    private final Map<ClassKey, ClassFragments> classes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger regenerated = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    /**
+     * Code generated from a semantically valid program.
+     */
+    public record Result(String ollirCode, String jasminCode, List<Report> reports) {
+    }
+
+    /**
+     * The generated code of a method, along with the fingerprint it was generated for.
+     */
+    private record MethodFragment(String fingerprint, String ollirCode, String jasminCode) {
+    }
+
+    /**
+     * Identifies a class by the source it was compiled from, so that two inputs declaring the same class never splice
+     * in each other's methods.
+     */
+    private record ClassKey(String source, String className) {
+    }
+
+    /**
+     * Everything that is kept of the last compilation of a class.
+     */
+    private record ClassFragments(String fingerprint, String jasminHeader, Map<String, MethodFragment> methods) {
+    }
+
+    /**
+     * @param source name of the input the program was read from, usually its path
+     * @param semanticsResult
+     * @return
+     */
+    public Result compile(String source, JmmSemanticsResult semanticsResult) {
+
+        var table = semanticsResult.getSymbolTable();
+        var classKey = new ClassKey(source, table.getClassName());
+        var classNode = semanticsResult.getRootNode().getChildren(Kind.CLASS_DECL).get(0);
+        var methods = classNode.getChildren(Kind.METHOD_DECL);
+
+        var classFingerprint = MethodFingerprint.ofClass(table, semanticsResult.getConfig());
+        var previous = classes.get(classKey);
+        if (previous != null && !previous.fingerprint().equals(classFingerprint)) {
+            previous = null;
+        }
+
+        // Fingerprints are taken before the AST optimizations change the methods
+        Map<JmmNode, String> fingerprints = new HashMap<>();
+        List<JmmNode> changed = new ArrayList<>();
+        for (var method : methods) {
+            var fingerprint = MethodFingerprint.ofMethod(classFingerprint, method);
+            fingerprints.put(method, fingerprint);
+
+            var fragment = previous == null ? null : previous.methods().get(method.get("methodName"));
+            if (fragment == null || !fragment.fingerprint().equals(fingerprint)) {
+                changed.add(method);
+            }
+        }
+
+        regenerated.addAndGet(changed.size());
+        reused.addAndGet(methods.size() - changed.size());
+
+        var optimization = new JmmOptimizationImpl();
+        optimization.optimize(semanticsResult, changed);
+
+        // OLLIR of the changed methods
+        var visitor = new OllirGeneratorVisitor(table, ClasspathIndex.forConfig(semanticsResult.getConfig()));
+        Map<String, String> changedOllir = new HashMap<>();
+        PhaseProfiler.measure("toOllir", () -> {
+            for (var method : changed) {
+                changedOllir.put(method.get("methodName"), visitor.visit(method));
+            }
+        });
+
+        List<Report> reports = new ArrayList<>();
+        var jasminHeader = previous == null ? null : previous.jasminHeader();
+        Map<String, String> changedJasmin = Map.of();
+
+        // A class with only the changed methods is enough to generate their Jasmin
+        if (!changed.isEmpty() || jasminHeader == null) {
+            var partialOllir = visitor.buildProgram(classNode, changed.stream()
+                    .map(method -> changedOllir.get(method.get("methodName")))
+                    .toList());
+            var ollirResult = optimization.optimize(new OllirResult(semanticsResult, partialOllir,
+                    Collections.emptyList()));
+            reports.addAll(ollirResult.getReports());
+            if (ReportUtils.anyError(reports)) {
+                return new Result(partialOllir, null, reports);
+            }
+
+            var generator = new JasminGenerator(ollirResult);
+            jasminHeader = PhaseProfiler.measure("jasmin", generator::buildHeader);
+            changedJasmin = PhaseProfiler.measure("jasmin", generator::buildMethods);
+            reports.addAll(generator.getReports());
+            if (ReportUtils.anyError(reports)) {
+                return new Result(partialOllir, null, reports);
+            }
+        }
+
+        // Splices the fragments in declaration order
+        List<String> ollirCode = new ArrayList<>();
+        StringBuilder jasminCode = new StringBuilder(jasminHeader);
+        Map<String, MethodFragment> fragments = new HashMap<>();
+        for (var method : methods) {
+            var methodName = method.get("methodName");
+
+            MethodFragment fragment;
+            if (changedOllir.containsKey(methodName)) {
+                fragment = new MethodFragment(fingerprints.get(method), changedOllir.get(methodName),
+                        changedJasmin.get(methodName));
+            } else {
+                fragment = previous.methods().get(methodName);
+            }
+
+            fragments.put(methodName, fragment);
+            ollirCode.add(fragment.ollirCode());
+            jasminCode.append(fragment.jasminCode());
+        }
+
+        classes.put(classKey, new ClassFragments(classFingerprint, jasminHeader, fragments));
+
+        reports.add(Report.newLog(Stage.OPTIMIZATION, -1, -1, "Incremental compilation regenerated "
+                + changed.size() + " of " + methods.size() + " method(s)", null));
+
+        return new Result(visitor.buildProgram(classNode, ollirCode), jasminCode.toString(), reports);
+    }
+
+    public int getRegenerated() {
+        return regenerated.get();
+    }
+
+    public int getReused() {
+        return reused.get();
+    }
+
+    public String getSummary() {
+        return "Incremental compilation: " + getRegenerated() + " method(s) regenerated, " + getReused()
+                + " reused";
+    }
+}
@@ -0,0 +1,146 @@
+package pt.up.fe.comp2025.incremental;
+
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.cache.CompilationCache;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Fingerprints of the parts of a class that the code of a method depends on.
+ * <p>
+ * The code generated for a method only depends on its own subtree and on the class-level signature (imports, super
+ * class, fields and the signatures of every method), so a method whose fingerprint did not change since the last
+ * compilation produces the same OLLIR and Jasmin.
+ */
+public class MethodFingerprint {
+
+    // Source positions do not reach the generated code, moving a method must not change its fingerprint
+    private static final Set<String> POSITION_ATTRIBUTES = Set.of("lineStart", "colStart", "lineEnd", "colEnd");
+
+    private MethodFingerprint() {
+    }
+
+    /**
+     * Fingerprint of everything in the class that can change the code of any method, including the options that
+     * change the output and the files of the classpath.
+     *
+     * @param table
+     * @param config
+     * @return
+     */
+    public static String ofClass(SymbolTable table, Map<String, String> config) {
+        var digest = newDigest();
+
+        update(digest, CompilationCache.COMPILER_VERSION);
+
+        var options = new TreeMap<>(config);
+        options.keySet().removeIf(option -> !CompilerConfig.affectsOutput(option));
+        options.forEach((option, value) -> {
+            update(digest, option);
+            update(digest, value);
+        });
+
+        // Calls to imported classes use the descriptors read from the classpath
+        for (var stamp : ClasspathIndex.forConfig(config).getSourceStamps()) {
+            update(digest, stamp);
+        }
+
+        update(digest, table.getImports().toString());
+        update(digest, table.getClassName());
+        update(digest, String.valueOf(table.getSuper()));
+        updateSymbols(digest, table.getFields());
+
+        for (var method : table.getMethods()) {
+            update(digest, method);
+            updateType(digest, table.getReturnType(method));
+            updateSymbols(digest, table.getParameters(method));
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Fingerprint of a method, given the fingerprint of its class.
+     *
+     * @param classFingerprint
+     * @param methodDecl
+     * @return
+     */
+    public static String ofMethod(String classFingerprint, JmmNode methodDecl) {
+        var digest = newDigest();
+
+        update(digest, classFingerprint);
+        updateNode(digest, methodDecl);
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void updateNode(MessageDigest digest, JmmNode node) {
+        update(digest, node.getKind());
+
+        // Sorted, so that the fingerprint does not depend on the order the attributes were added
+        var attributes = new TreeSet<>(node.getAttributes());
+        attributes.removeAll(POSITION_ATTRIBUTES);
+        for (var attribute : attributes) {
+            update(digest, attribute);
+
+            var value = node.getObject(attribute);
+            if (value instanceof Type type) {
+                updateType(digest, type);
+            } else {
+                update(digest, String.valueOf(value));
+            }
+        }
+
+        update(digest, String.valueOf(node.getNumChildren()));
+        for (var child : node.getChildren()) {
+            updateNode(digest, child);
+        }
+    }
+
+    private static void updateSymbols(MessageDigest digest, List<Symbol> symbols) {
+        update(digest, String.valueOf(symbols.size()));
+        for (var symbol : symbols) {
+            update(digest, symbol.getName());
+            updateType(digest, symbol.getType());
+        }
+    }
+
+    private static void updateType(MessageDigest digest, Type type) {
+        update(digest, type.getName());
+        update(digest, String.valueOf(type.isArray()));
+
+        // Only what the type is, the id of an interned type changes with every compilation
+        update(digest, String.valueOf(type.getBoolean("isVarargs", false)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        // Length prefix, so that different splits of the same characters give different fingerprints
+        int length = bytes.length;
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,182 @@
+package pt.up.fe.comp2025.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Leveled diagnostics of the compiler, shared by every thread of the run.
+ * <p>
+ * Messages are formats where each "{}" is replaced by the next argument. The level is checked before anything else,
+ * so a disabled call only costs that check: the message is not formatted and the arguments' toString is not called.
+ * Messages that need more work than that take a {@link Supplier}, only called when the level is enabled.
+ * <p>
+ * Only warnings and errors are written by default, '-v' turns on every level. Every level is written to
+ * {@link System#err}.
+ */
+public class Log {
+
+    public enum Level {
+        ERROR,
+        WARN,
+        INFO,
+        DEBUG,
+        TRACE
+    }
+
+    public static final Level DEFAULT_LEVEL = Level.WARN;
+
+    private static volatile Level level = DEFAULT_LEVEL;
+
+    private Log() {
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * @param newLevel most detailed level that is written
+     */
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) <= 0;
+    }
+
+    public static void error(String message) {
+        if (isEnabled(Level.ERROR)) {
+            write(Level.ERROR, message);
+        }
+    }
+
+    public static void error(String message, Object arg) {
+        if (isEnabled(Level.ERROR)) {
+            write(Level.ERROR, message, arg);
+        }
+    }
+
+    public static void error(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            write(Level.ERROR, message, arg1, arg2);
+        }
+    }
+
+    public static void error(Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) {
+            write(Level.ERROR, message.get());
+        }
+    }
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) {
+            write(Level.WARN, message);
+        }
+    }
+
+    public static void warn(String message, Object arg) {
+        if (isEnabled(Level.WARN)) {
+            write(Level.WARN, message, arg);
+        }
+    }
+
+    public static void warn(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            write(Level.WARN, message, arg1, arg2);
+        }
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) {
+            write(Level.WARN, message.get());
+        }
+    }
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            write(Level.INFO, message);
+        }
+    }
+
+    public static void info(String message, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            write(Level.INFO, message, arg);
+        }
+    }
+
+    public static void info(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            write(Level.INFO, message, arg1, arg2);
+        }
+    }
+
+    public static void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            write(Level.INFO, message.get());
+        }
+    }
+
+    public static void debug(String message) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message);
+        }
+    }
+
+    public static void debug(String message, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message, arg);
+        }
+    }
+
+    public static void debug(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message, arg1, arg2);
+        }
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            write(Level.DEBUG, message.get());
+        }
+    }
+
+    public static void trace(String message) {
+        if (isEnabled(Level.TRACE)) {
+            write(Level.TRACE, message);
+        }
+    }
+
+    public static void trace(String message, Object arg) {
+        if (isEnabled(Level.TRACE)) {
+            write(Level.TRACE, message, arg);
+        }
+    }
+
+    public static void trace(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.TRACE)) {
+            write(Level.TRACE, message, arg1, arg2);
+        }
+    }
+
+    public static void trace(Supplier<String> message) {
+        if (isEnabled(Level.TRACE)) {
+            write(Level.TRACE, message.get());
+        }
+    }
+
+    private static void write(Level messageLevel, String message, Object... args) {
+        var line = new StringBuilder("[").append(messageLevel).append("] ");
+
+        int argIndex = 0;
+        int start = 0;
+        for (int placeholder = message.indexOf("{}"); placeholder >= 0 && argIndex < args.length;
+             placeholder = message.indexOf("{}", start)) {
+            line.append(message, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        line.append(message, start, message.length());
+
+        // Every level goes to the error stream, so that diagnostics never mix with the output of the compiler
+        System.err.println(line);
+    }
+}
@@ -3,28 +3,29 @@ package pt.up.fe.comp2025.optimization;
 import org.specs.comp.ollir.*;
 import org.specs.comp.ollir.inst.*;
 import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
-import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.ollir.JmmOptimization;
 import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.ConfigOptions;
-import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
 
 import java.util.*;
 
 public class JmmOptimizationImpl implements JmmOptimization {
 
-    private OptimizationVisitor optimizationVisitor;
-
     @Override
     public OllirResult toOllir(JmmSemanticsResult semanticsResult) {
 
         // Create visitor that will generate the OLLIR code
-        var visitor = new OllirGeneratorVisitor(semanticsResult.getSymbolTable());
+        var visitor = new OllirGeneratorVisitor(semanticsResult.getSymbolTable(),
+                ClasspathIndex.forConfig(semanticsResult.getConfig()));
 
         // Visit the AST and obtain OLLIR code
-        var ollirCode = visitor.visit(semanticsResult.getRootNode());
+        var ollirCode = PhaseProfiler.measure("toOllir", () -> visitor.visit(semanticsResult.getRootNode()));
 
         //System.out.println("\nOLLIR:\n\n" + ollirCode);
 
@@ -39,27 +40,51 @@ public class JmmOptimizationImpl implements JmmOptimization {
         var isOptimized = ConfigOptions.getOptimize(config);
 
         if (isOptimized) {
+            PhaseProfiler.measure("optimizeAst", () -> optimizeAst(semanticsResult));
+        }
 
-            this.optimizationVisitor = new OptimizationVisitor();
-            this.optimizationVisitor.buildVisitor();
+        return semanticsResult;
+    }
 
-            var rootNode = semanticsResult.getRootNode();
+    /**
+     * Applies the AST optimizations only to the given methods, leaving the rest of the AST untouched. Constant
+     * propagation never crosses method boundaries, so each method is optimized the same way as with
+     * {@link #optimize(JmmSemanticsResult)}.
+     *
+     * @param semanticsResult
+     * @param methods METHOD_DECL nodes of the AST in the result
+     * @return
+     */
+    public JmmSemanticsResult optimize(JmmSemanticsResult semanticsResult, List<JmmNode> methods) {
 
-            JmmSymbolTableBuilder tableBuilder = new JmmSymbolTableBuilder();
-            SymbolTable table = tableBuilder.build(rootNode);
-            int counter = 1;
+        Map<String, String> config = semanticsResult.getConfig();
+        var isOptimized = ConfigOptions.getOptimize(config);
 
-            do {
-                System.out.println("Visiting for the " + counter + " time..");
-                counter++;
-                this.optimizationVisitor.opt = false;
-                this.optimizationVisitor.optimize(rootNode, table);
-            } while (this.optimizationVisitor.opt);
+        if (isOptimized && !methods.isEmpty()) {
+            PhaseProfiler.measure("optimizeAst", () -> optimizeAst(methods));
         }
 
         return semanticsResult;
     }
 
+    private void optimizeAst(JmmSemanticsResult semanticsResult) {
+        optimizeAst(List.of(semanticsResult.getRootNode()));
+    }
+
+    private void optimizeAst(List<JmmNode> nodes) {
+
+        // Only the nodes that a replacement affects are visited again, instead of the whole AST until nothing changes
+        var optimizer = new WorklistOptimizer();
+
+        PhaseProfiler.measure("constantFoldingPropagation", () -> {
+            for (var node : nodes) {
+                optimizer.optimize(node);
+            }
+        });
+
+        Log.debug("Constant folding and propagation visited {} nodes", optimizer.getVisits());
+    }
+
     @Override
     public OllirResult optimize(OllirResult ollirResult) {
         Map<String, String> config = ollirResult.getConfig();
@@ -74,17 +99,19 @@ public class JmmOptimizationImpl implements JmmOptimization {
 
         ClassUnit classUnit = ollirResult.getOllirClass();
 
-        classUnit.buildCFGs();
+        PhaseProfiler.measure("registerAllocation", () -> {
+            classUnit.buildCFGs();
 
-        for (Method method : classUnit.getMethods()) {
-            if (method.getMethodName().equals("soManyRegisters")) {
-                handleSoManyRegistersMethod(method, registerAllocation);
-                continue;
+            for (Method method : classUnit.getMethods()) {
+                if (method.getMethodName().equals("soManyRegisters")) {
+                    handleSoManyRegistersMethod(method, registerAllocation);
+                    continue;
+                }
+
+                method.buildCFG();
+                performRegisterAllocation(method, registerAllocation);
             }
-            
-            method.buildCFG();
-            performRegisterAllocation(method, registerAllocation);
-        }
+        });
 
         ollirResult.getReports().addAll(reports);
         return ollirResult;
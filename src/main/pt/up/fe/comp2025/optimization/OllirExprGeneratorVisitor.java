@@ -6,8 +6,13 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeRegistry;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static pt.up.fe.comp2025.ast.Kind.*;
@@ -34,18 +39,20 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
 
     private final String NEW = "new";
 
-    private final SymbolTable table;
+    private final JmmSymbolTable table;
 
     private final TypeUtils types;
     private final OptUtils ollirTypes;
+    private final ClasspathIndex classpath;
 
     private boolean isMethodStatic;
 
 
-    public OllirExprGeneratorVisitor(SymbolTable table, OptUtils ollirTypes) {
-        this.table = table;
+    public OllirExprGeneratorVisitor(SymbolTable table, OptUtils ollirTypes, ClasspathIndex classpath) {
+        this.table = (JmmSymbolTable) table;
         this.types = new TypeUtils(table);
         this.ollirTypes = ollirTypes;
+        this.classpath = classpath;
     }
 
 
@@ -287,8 +294,6 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
 
     private OllirExprResult visitMethodCallExpr(JmmNode node, Void unused) {
 
-        TypeUtils typeUtils = new TypeUtils(table);
-
         StringBuilder computation = new StringBuilder();
         String code = "";
 
@@ -301,9 +306,7 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
         boolean isThis = varRefExprName.equals("this");
 
         //are there other cases when a method is static?
-        if (table.getImports().stream()
-                .map(importName -> importName.substring(importName.lastIndexOf('.') + 1))
-                .anyMatch(methodName -> methodName.equals(varRefExprName))) {
+        if (table.isImportedClass(varRefExprName)) {
             isMethodStatic = true;
         }
 
@@ -320,8 +323,19 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
 
         String ollirRetType;
 
-        if (!isMethodStatic) {
-            Type expectedRetType = typeUtils.getExprType(node);
+        // Methods of imported classes on the classpath have their real return type
+        String importedClass = null;
+        if (isMethodStatic) {
+            importedClass = varRefExprName;
+        } else if (varRefExpr.isInstance(VAR_REF_EXPR)) {
+            importedClass = types.getExprType(varRefExpr).getName();
+        }
+        var importedRetType = importedClass == null ? null : findImportedReturnType(node, importedClass, methodName);
+
+        if (importedRetType != null) {
+            ollirRetType = importedRetType;
+        } else if (!isMethodStatic) {
+            Type expectedRetType = types.getExprType(node);
 
             if (expectedRetType != null) {
                 ollirRetType = ollirTypes.toOllirType(expectedRetType);
@@ -414,7 +428,7 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
         if (!isMethodStatic) {
 
             if (!isThis) {
-                Type varType = typeUtils.getExprType(varRefExpr);
+                Type varType = types.getExprType(varRefExpr);
                 invocation.append(".").append(varType.getName());
             } else {
                 String className = table.getClassName();
@@ -449,6 +463,50 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
         return new OllirExprResult(code, computation.toString());
     }
 
+    /**
+     * @return the OLLIR return type of the method of an imported class that the call refers to, or null if the class is
+     * not imported or not on the classpath
+     */
+    private String findImportedReturnType(JmmNode callExpr, String className, String methodName) {
+        var importName = table.resolveImport(className);
+        if (importName.isEmpty() || classpath.getClass(importName.get()).isEmpty()) {
+            return null;
+        }
+
+        var argumentDescriptors = new ArrayList<String>();
+        try {
+            for (int i = 1; i < callExpr.getNumChildren(); i++) {
+                argumentDescriptors.add(toDescriptor(types.getExprType(callExpr.getChild(i))));
+            }
+        } catch (RuntimeException e) {
+            // Arguments without a type are reported when they are visited
+            return null;
+        }
+
+        var retType = classpath.findMethod(importName.get(), methodName, argumentDescriptors)
+                .map(method -> ollirTypes.descriptorToOllirType(method.returnDescriptor()))
+                .orElse(null);
+
+        // A void method whose result is used is a mistake in the code, the type is taken from where it is used instead
+        if (".V".equals(retType) && !callExpr.getParent().isInstance(EXPR_STMT)) {
+            return null;
+        }
+
+        return retType;
+    }
+
+    private String toDescriptor(Type type) {
+        var elementDescriptor = switch (type.getName()) {
+            case "int" -> "I";
+            case "boolean" -> "Z";
+            case "String" -> "Ljava/lang/String;";
+            default -> "L" + table.resolveImport(type.getName()).orElse(type.getName())
+                    .replace('.', '/') + ";";
+        };
+
+        return type.isArray() ? "[" + elementDescriptor : elementDescriptor;
+    }
+
     private OllirExprResult visitInteger(JmmNode node, Void unused) {
         var intType = TypeUtils.newIntType();
         String ollirIntType = ollirTypes.toOllirType(intType);
@@ -457,10 +515,10 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
     }
 
     private OllirExprResult visitBoolean(JmmNode node, Void unused) {
-        var booleanType = new Type("boolean", false);
+        var booleanType = TypeRegistry.BOOLEAN;
         String ollirBooleanType = ollirTypes.toOllirType(booleanType);
 
-        System.out.println(node);
+        Log.trace("Visiting boolean: {}", node);
 
         var bool_name = node.get("name").equals("true") ? 1 : 0;
 
@@ -545,10 +603,7 @@ public class OllirExprGeneratorVisitor extends AJmmVisitor<Void, OllirExprResult
         Type type = types.getExprType(node);
         String ollirType = ollirTypes.toOllirType(type);
 
-        String currentMethodName = node.getAncestor(Kind.METHOD_DECL).get().get("methodName");
-
-        boolean isLocalOrParam = table.getLocalVariables(currentMethodName).stream().anyMatch(var -> var.getName().equals(id)) ||
-                table.getParameters(currentMethodName).stream().anyMatch(param -> param.getName().equals(id));
+        boolean isLocalOrParam = types.resolveVarRef(node).filter(resolved -> !resolved.isField()).isPresent();
 
         if (isLocalOrParam) {
             return new OllirExprResult(id + ollirType);
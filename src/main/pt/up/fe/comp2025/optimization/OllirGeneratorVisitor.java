@@ -7,6 +7,7 @@ import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.classpath.ClasspathIndex;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -48,10 +49,18 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     private final OllirExprGeneratorVisitor exprVisitor;
 
     public OllirGeneratorVisitor(SymbolTable table) {
+        this(table, ClasspathIndex.EMPTY);
+    }
+
+    /**
+     * @param table
+     * @param classpath the imported classes, for the return types of their methods
+     */
+    public OllirGeneratorVisitor(SymbolTable table, ClasspathIndex classpath) {
         this.table = table;
         this.types = new TypeUtils(table);
         this.ollirTypes = new OptUtils(types);
-        exprVisitor = new OllirExprGeneratorVisitor(table, ollirTypes);
+        exprVisitor = new OllirExprGeneratorVisitor(table, ollirTypes, classpath);
     }
 
 
@@ -257,10 +266,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         String ollirLhsType = ollirTypes.toOllirType(lhsType);
 
         String lhsName = lhs.get("name");
-        String currentMethodName = node.getAncestor(Kind.METHOD_DECL).get().get("methodName");
 
-        boolean isLocalOrParam = table.getLocalVariables(currentMethodName).stream().anyMatch(var -> var.getName().equals(lhsName)) ||
-                table.getParameters(currentMethodName).stream().anyMatch(param -> param.getName().equals(lhsName));
+        boolean isLocalOrParam = lhs.isInstance(VAR_REF_EXPR)
+                && types.resolveVarRef(lhs).filter(resolved -> !resolved.isField()).isPresent();
 
         if (lhs.isInstance(INDEX_ACCESS_EXPR)) {
             // Array store
@@ -404,6 +412,41 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         StringBuilder code = new StringBuilder();
 
+        code.append(buildClassHeader(node));
+
+        for (var child : node.getChildren(METHOD_DECL)) {
+            var result = visit(child);
+            code.append(result);
+        }
+
+        code.append(R_BRACKET);
+
+        return code.toString();
+    }
+
+    /**
+     * Builds the OLLIR code of the program with the given methods, which must have been generated separately by
+     * visiting each METHOD_DECL node.
+     *
+     * @param classNode
+     * @param methodsCode
+     * @return
+     */
+    public String buildProgram(JmmNode classNode, List<String> methodsCode) {
+        StringBuilder code = new StringBuilder();
+
+        code.append(buildImports());
+        code.append(buildClassHeader(classNode));
+        methodsCode.forEach(code::append);
+        code.append(R_BRACKET);
+
+        return code.toString();
+    }
+
+    private String buildClassHeader(JmmNode node) {
+
+        StringBuilder code = new StringBuilder();
+
         code.append(NL);
         code.append(table.getClassName());
 
@@ -431,13 +474,6 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         code.append(buildConstructor());
         code.append(NL);
 
-        for (var child : node.getChildren(METHOD_DECL)) {
-            var result = visit(child);
-            code.append(result);
-        }
-
-        code.append(R_BRACKET);
-
         return code.toString();
     }
 
@@ -459,6 +495,18 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     private String visitProgram(JmmNode node, Void unused) {
         StringBuilder code = new StringBuilder();
 
+        code.append(buildImports());
+
+        node.getChildren().stream()
+                .map(this::visit)
+                .forEach(code::append);
+
+        return code.toString();
+    }
+
+    private String buildImports() {
+        StringBuilder code = new StringBuilder();
+
         var imports = table.getImports();
 
         // Only generate import statements if there are imports
@@ -470,10 +518,6 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             }
         }
 
-        node.getChildren().stream()
-                .map(this::visit)
-                .forEach(code::append);
-
         return code.toString();
     }
 
@@ -2,10 +2,13 @@ package pt.up.fe.comp2025.optimization;
 
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
 import pt.up.fe.comp2025.ast.TypeUtils;
 import pt.up.fe.specs.util.collections.AccumulatorMap;
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
 
+import java.util.List;
+
 import static pt.up.fe.comp2025.ast.Kind.TYPE;
 
 /**
@@ -72,6 +75,26 @@ public class OptUtils {
         return type.isArray() ? ".array" + toOllirType(type.getName()) : toOllirType(type.getName());
     }
 
+    /**
+     * @param descriptor JVM descriptor of a type, e.g. "I" or "Ljava/lang/String;"
+     * @return the OLLIR type, or null if the type does not exist in Java--
+     */
+    public String descriptorToOllirType(String descriptor) {
+        if (descriptor.startsWith("[")) {
+            var elementType = descriptor.startsWith("[[") ? null : descriptorToOllirType(descriptor.substring(1));
+            return elementType == null ? null : ".array" + elementType;
+        }
+
+        return switch (descriptor.charAt(0)) {
+            case 'I' -> toOllirType("int");
+            case 'Z' -> toOllirType("boolean");
+            case 'V' -> toOllirType("void");
+            // Classes are known by their simple name
+            case 'L' -> toOllirType(descriptor.substring(descriptor.lastIndexOf('/') + 1, descriptor.length() - 1));
+            default -> null;
+        };
+    }
+
     public String toOllirType(String typeName) {
 
         String type = "." + switch (typeName) {
@@ -85,5 +108,73 @@ public class OptUtils {
         return type;
     }
 
+    /**
+     * Folds a binary or unary operation on booleans.
+     *
+     * @param op
+     * @param left
+     * @param right ignored by unary operations
+     * @return the BooleanLiteral with the result
+     */
+    public static JmmNode getJmmNode(String op, boolean left, boolean right) {
+        String result;
+
+        switch (op) {
+            case "&&"-> result = String.valueOf(left && right);
+            case "!" -> result = String.valueOf(!left);
+            default -> throw new IllegalStateException("Unexpected value: " + op);
+        }
+
+        JmmNode replacement = new JmmNodeImpl(List.of("BooleanLiteral"));
+        replacement.put("name", result);
+        return replacement;
+    }
 
+    /**
+     * Folds a binary operation on integers.
+     *
+     * @param op
+     * @param left
+     * @param right
+     * @return the IntegerLiteral with the result, or a BooleanLiteral for comparisons
+     */
+    public static JmmNode getJmmNode(String op, int left, int right) {
+        String result;
+
+        switch (op) {
+            case "+"-> result = String.valueOf(left + right);
+            case "*"-> result = String.valueOf(left * right);
+            case "-" -> result = String.valueOf(left - right) ;
+            case  "/" -> result = String.valueOf(left / right);
+            case "<" -> {
+                result = String.valueOf(left < right);
+                JmmNode replacement = new JmmNodeImpl(List.of("BooleanLiteral"));
+                replacement.put("name", result);
+                return replacement;
+            }
+            default -> throw new IllegalStateException("Unexpected value: " + op);
+        }
+
+        JmmNode replacement = new JmmNodeImpl(List.of("IntegerLiteral"));
+        replacement.put("value", result);
+        return replacement;
+    }
+
+    /**
+     * @param val value of a constant, the text of an integer or a boolean
+     * @return a literal with that value
+     */
+    public static JmmNode newLiteral(String val) {
+        String bool_or_int = val.equals("true") || val.equals("false")? "BooleanLiteral" : "IntegerLiteral";
+
+        List<String> kindHierarchy = List.of(bool_or_int);
+        JmmNode replacement = new JmmNodeImpl(kindHierarchy);
+
+        if (bool_or_int.equals("IntegerLiteral"))
+            replacement.put("value", val);
+        else
+            replacement.put("name", val);
+
+        return replacement;
+    }
 }
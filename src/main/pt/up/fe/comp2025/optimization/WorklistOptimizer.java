@@ -0,0 +1,159 @@
+package pt.up.fe.comp2025.optimization;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constant propagation and folding driven by a worklist, giving the same AST as repeating a propagation and folding
+ * pass over the whole AST until nothing changes, without visiting the whole AST again after each change.
+ * <p>
+ * A first visit links each variable use to the assignment it reads, with the same rules as those passes: methods
+ * start without constants, a while loop forgets the variables assigned in its body, and the uses in the value of an
+ * assignment do not see the variable it assigns. Assignments of literals and binary expressions of two literals are
+ * queued. Then each queued node is processed once: an assignment replaces the uses that read it with its literal, and
+ * a binary expression is folded. Only the nodes that a replacement turns into literals are queued after that: the
+ * parent binary expression once both its operands are literals, and the assignment whose value it is.
+ */
+public class WorklistOptimizer {
+
+    private final Deque<JmmNode> worklist = new ArrayDeque<>();
+
+    // Uses that read each assignment
+    private final Map<JmmNode, List<JmmNode>> uses = new IdentityHashMap<>();
+
+    private int visits = 0;
+
+    /**
+     * @param node the root of the AST or a METHOD_DECL
+     */
+    public void optimize(JmmNode node) {
+        link(node, new HashMap<>());
+
+        while (!worklist.isEmpty()) {
+            var next = worklist.poll();
+            visits++;
+
+            if (next.isInstance(Kind.VAR_ASSIGN_STMT)) {
+                propagate(next);
+            } else {
+                fold(next);
+            }
+        }
+
+        uses.clear();
+    }
+
+    /**
+     * @return nodes visited and processed so far, to compare with the visits of the whole-AST passes
+     */
+    public int getVisits() {
+        return visits;
+    }
+
+    /**
+     * Visits the nodes in preorder, like the whole-AST passes.
+     *
+     * @param node
+     * @param assignments last assignment of each variable that may still be a constant
+     */
+    private void link(JmmNode node, Map<String, JmmNode> assignments) {
+        visits++;
+
+        if (node.isInstance(Kind.METHOD_DECL)) {
+            assignments.clear();
+        } else if (node.isInstance(Kind.WHILE_STMT)) {
+            for (var assign : node.getChild(1).getDescendants(Kind.VAR_ASSIGN_STMT)) {
+                var target = assign.getChild(0);
+                if (target.isInstance(Kind.VAR_REF_EXPR)) {
+                    assignments.remove(target.get("name"));
+                }
+            }
+        } else if (node.isInstance(Kind.VAR_ASSIGN_STMT)) {
+            var name = node.getChild(0).get("name");
+            var value = node.getChild(1);
+
+            // The target is never replaced, and the value sees the variable as not constant
+            assignments.remove(name);
+            link(value, assignments);
+            assignments.put(name, node);
+
+            if (isLiteral(value)) {
+                worklist.add(node);
+            }
+            return;
+        } else if (node.isInstance(Kind.VAR_REF_EXPR)) {
+            var assignment = assignments.get(node.get("name"));
+            if (assignment != null && !node.getParent().isInstance(Kind.VAR_ASSIGN_STMT)) {
+                uses.computeIfAbsent(assignment, key -> new ArrayList<>()).add(node);
+            }
+        }
+
+        for (var child : node.getChildren()) {
+            link(child, assignments);
+        }
+
+        if (node.isInstance(Kind.BINARY_EXPR) && canFold(node)) {
+            worklist.add(node);
+        }
+    }
+
+    private void propagate(JmmNode assignment) {
+        var value = assignment.getChild(1);
+        var constant = value.isInstance(Kind.INTEGER_LITERAL) ? value.get("value") : value.get("name");
+
+        for (var use : uses.getOrDefault(assignment, List.of())) {
+            replace(use, OptUtils.newLiteral(constant));
+        }
+    }
+
+    private void fold(JmmNode binaryExpr) {
+        var lhs = binaryExpr.getChild(0);
+        var rhs = binaryExpr.getChild(1);
+        var op = binaryExpr.get("op");
+
+        JmmNode replacement;
+        if (lhs.isInstance(Kind.INTEGER_LITERAL)) {
+            replacement = OptUtils.getJmmNode(op, Integer.parseInt(lhs.get("value")),
+                    Integer.parseInt(rhs.get("value")));
+        } else {
+            replacement = OptUtils.getJmmNode(op, Boolean.parseBoolean(lhs.get("name")),
+                    Boolean.parseBoolean(rhs.get("name")));
+        }
+
+        replace(binaryExpr, replacement);
+    }
+
+    private void replace(JmmNode node, JmmNode literal) {
+        node.replace(literal);
+        TypeUtils.invalidateTypes(literal);
+
+        // A binary expression is queued once, when its last operand becomes a literal
+        var parent = literal.getParent();
+        if (parent.isInstance(Kind.BINARY_EXPR) && canFold(parent)) {
+            worklist.add(parent);
+        } else if (parent.isInstance(Kind.VAR_ASSIGN_STMT) && parent.getChild(1) == literal) {
+            worklist.add(parent);
+        }
+    }
+
+    private static boolean canFold(JmmNode binaryExpr) {
+        var lhs = binaryExpr.getChild(0);
+        var rhs = binaryExpr.getChild(1);
+
+        return (lhs.isInstance(Kind.INTEGER_LITERAL) && rhs.isInstance(Kind.INTEGER_LITERAL))
+                || (lhs.isInstance(Kind.BOOLEAN_LITERAL) && rhs.isInstance(Kind.BOOLEAN_LITERAL));
+    }
+
+    private static boolean isLiteral(JmmNode node) {
+        return node.isInstance(Kind.INTEGER_LITERAL) || node.isInstance(Kind.BOOLEAN_LITERAL);
+    }
+}
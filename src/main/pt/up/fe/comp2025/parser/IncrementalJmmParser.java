@@ -0,0 +1,303 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the code and AST of a file being edited, and updates them edit by edit.
+ * <p>
+ * When an edit falls inside a method, only that method is parsed again, with the {@code methodDecl} rule, and the new
+ * subtree replaces the old one. The positions of the nodes after the method are moved to match the new code. Any
+ * other edit, or one after which the method no longer parses on its own, falls back to parsing the whole file.
+ * <p>
+ * The AST is updated in place, so it must not be given to the later stages, which change it. Use
+ * {@link #getResult()} for the parser result, and work on a copy of the tree after that.
+ */
+public class IncrementalJmmParser {
+
+    private final JmmParserImpl parser;
+    private final Map<String, String> config;
+
+    private String code;
+    private LineIndex lines;
+    private JmmParserResult result;
+
+    private int reparsedMethods;
+    private int fullParses;
+
+    public IncrementalJmmParser(Map<String, String> config) {
+        this.parser = new JmmParserImpl();
+        this.config = config;
+
+        this.code = null;
+        this.lines = null;
+        this.result = null;
+
+        this.reparsedMethods = 0;
+        this.fullParses = 0;
+    }
+
+    /**
+     * Parses the whole code, replacing whatever was parsed before.
+     *
+     * @param code
+     * @return
+     */
+    public JmmParserResult parse(String code) {
+        fullParses++;
+
+        this.code = code;
+        this.lines = new LineIndex(code);
+        this.result = parser.parse(code, config);
+
+        return result;
+    }
+
+    /**
+     * Applies an edit to the current code and updates the AST.
+     *
+     * @param edit
+     * @return
+     */
+    public JmmParserResult edit(TextEdit edit) {
+        if (code == null) {
+            throw new IllegalStateException("Nothing was parsed yet");
+        }
+
+        var newCode = edit.apply(code);
+        var newLines = new LineIndex(newCode);
+
+        var reparsed = reparseMethod(edit, newCode, newLines);
+        if (reparsed.isEmpty()) {
+            return parse(newCode);
+        }
+
+        reparsedMethods++;
+
+        this.code = newCode;
+        this.lines = newLines;
+        this.result = reparsed.get();
+
+        return result;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public JmmParserResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return number of edits handled by parsing a single method
+     */
+    public int getReparsedMethods() {
+        return reparsedMethods;
+    }
+
+    /**
+     * @return number of times the whole code was parsed
+     */
+    public int getFullParses() {
+        return fullParses;
+    }
+
+    private Optional<JmmParserResult> reparseMethod(TextEdit edit, String newCode, LineIndex newLines) {
+        if (result == null || result.getRootNode() == null) {
+            return Optional.empty();
+        }
+
+        var root = result.getRootNode();
+        var method = findEnclosingMethod(root, edit);
+        if (method == null) {
+            return Optional.empty();
+        }
+
+        int start = lines.offset(method, NodePosition.LINE_START, NodePosition.COL_START);
+        // Methods end with '}', which is their stop token
+        int end = lines.offset(method, NodePosition.LINE_END, NodePosition.COL_END) + 1;
+
+        var methodCode = newCode.substring(start, end + edit.delta());
+        var methodResult = parser.parse(methodCode, "methodDecl", config);
+        var newMethod = methodResult.getRootNode();
+
+        if (newMethod == null || ReportUtils.anyError(methodResult.getReports())) {
+            return Optional.empty();
+        }
+
+        // The rule does not have to reach the end of the input, a method followed by something else is a change of
+        // the class structure
+        var methodLines = new LineIndex(methodCode);
+        if (methodLines.offset(newMethod, NodePosition.LINE_END, NodePosition.COL_END) != methodCode.length() - 1) {
+            return Optional.empty();
+        }
+
+        // Nodes after the method move by the size of the edit, the old end is the position right after its '}'
+        int oldEndLine = Integer.parseInt(method.get(NodePosition.LINE_END.getKey()));
+        int oldEndColumn = Integer.parseInt(method.get(NodePosition.COL_END.getKey())) + 1;
+        int newEnd = end + edit.delta();
+        moveFollowing(method, new PositionShift(oldEndLine, oldEndColumn, newLines.line(newEnd),
+                newLines.column(newEnd)));
+
+        int startLine = method.getLine();
+        int startColumn = method.getColumn();
+        newMethod.getDescendantsAndSelfStream()
+                .forEach(node -> moveToMethodStart(node, startLine, startColumn));
+
+        method.replace(newMethod);
+
+        var reports = new ArrayList<>(methodResult.getReports());
+        reports.add(Report.newLog(Stage.SYNTATIC, -1, -1, "Reparsed only method '" + newMethod.get("methodName")
+                + "'", null));
+
+        return Optional.of(new JmmParserResult(root, reports, config));
+    }
+
+    /**
+     * @return the method that contains the whole edit, after its first character and before its closing brace, or
+     * null if there is none
+     */
+    private JmmNode findEnclosingMethod(JmmNode root, TextEdit edit) {
+        for (var classDecl : root.getChildren(Kind.CLASS_DECL)) {
+            for (var method : classDecl.getChildren(Kind.METHOD_DECL)) {
+                int start = lines.offset(method, NodePosition.LINE_START, NodePosition.COL_START);
+                int end = lines.offset(method, NodePosition.LINE_END, NodePosition.COL_END);
+
+                if (start < edit.offset() && edit.offset() + edit.length() <= end) {
+                    return method;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * How positions at or after the old end of the method move.
+     */
+    private record PositionShift(int oldLine, int oldColumn, int newLine, int newColumn) {
+
+        private boolean changesLine(int line) {
+            return line == oldLine || newLine != oldLine;
+        }
+
+        private void apply(JmmNode node, NodePosition line, NodePosition column) {
+            int nodeLine = Integer.parseInt(node.get(line.getKey()));
+
+            if (nodeLine == oldLine) {
+                int nodeColumn = Integer.parseInt(node.get(column.getKey()));
+                node.put(column.getKey(), Integer.toString(nodeColumn - oldColumn + newColumn));
+            }
+
+            node.put(line.getKey(), Integer.toString(nodeLine - oldLine + newLine));
+        }
+    }
+
+    /**
+     * Moves everything after the method: the nodes that follow it or one of its ancestors, and the end of the
+     * ancestors.
+     */
+    private static void moveFollowing(JmmNode method, PositionShift shift) {
+        for (var node = method; node.getParent() != null; node = node.getParent()) {
+            var parent = node.getParent();
+
+            var siblings = parent.getChildren();
+            for (int i = siblings.indexOf(node) + 1; i < siblings.size(); i++) {
+                moveSubtree(siblings.get(i), shift);
+            }
+
+            shift.apply(parent, NodePosition.LINE_END, NodePosition.COL_END);
+        }
+    }
+
+    private static void moveSubtree(JmmNode node, PositionShift shift) {
+        // When the number of lines does not change, nothing below a later line moves
+        if (!shift.changesLine(node.getLine())) {
+            return;
+        }
+
+        shift.apply(node, NodePosition.LINE_START, NodePosition.COL_START);
+        shift.apply(node, NodePosition.LINE_END, NodePosition.COL_END);
+
+        for (var child : node.getChildren()) {
+            moveSubtree(child, shift);
+        }
+    }
+
+    /**
+     * Positions of the reparsed method start at line 1, column 0.
+     */
+    private static void moveToMethodStart(JmmNode node, int startLine, int startColumn) {
+        moveToMethodStart(node, NodePosition.LINE_START, NodePosition.COL_START, startLine, startColumn);
+        moveToMethodStart(node, NodePosition.LINE_END, NodePosition.COL_END, startLine, startColumn);
+    }
+
+    private static void moveToMethodStart(JmmNode node, NodePosition line, NodePosition column, int startLine,
+                                          int startColumn) {
+        int nodeLine = Integer.parseInt(node.get(line.getKey()));
+
+        if (nodeLine == 1) {
+            int nodeColumn = Integer.parseInt(node.get(column.getKey()));
+            node.put(column.getKey(), Integer.toString(nodeColumn + startColumn));
+        }
+
+        node.put(line.getKey(), Integer.toString(nodeLine + startLine - 1));
+    }
+
+    /**
+     * Converts between offsets and the line and column of the ANTLR tokens, where lines start at 1 and columns at 0.
+     */
+    private static class LineIndex {
+
+        private final int[] lineStarts;
+        private final int length;
+
+        private LineIndex(String code) {
+            int count = 1;
+            for (int i = 0; i < code.length(); i++) {
+                if (code.charAt(i) == '\n') {
+                    count++;
+                }
+            }
+
+            this.lineStarts = new int[count];
+            this.length = code.length();
+
+            int line = 1;
+            for (int i = 0; i < code.length(); i++) {
+                if (code.charAt(i) == '\n') {
+                    lineStarts[line++] = i + 1;
+                }
+            }
+        }
+
+        private int offset(JmmNode node, NodePosition line, NodePosition column) {
+            int nodeLine = Integer.parseInt(node.get(line.getKey()));
+            int nodeColumn = Integer.parseInt(node.get(column.getKey()));
+
+            return Math.min(lineStarts[nodeLine - 1] + nodeColumn, length);
+        }
+
+        private int line(int offset) {
+            int index = Arrays.binarySearch(lineStarts, offset);
+
+            // Not a line start, the insertion point is one after the line that contains it
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        private int column(int offset) {
+            return offset - lineStarts[line(offset) - 1];
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written lexer for Java--, equivalent to the lexer rules of Javamm.g4.
+ * <p>
+ * Tokens are produced on demand, one call to {@link #next()} at a time. Like the ANTLR lexer, it always takes the
+ * longest match, skips whitespace and comments, and reports characters that start no token as errors before skipping
+ * them.
+ */
+public class JmmLexer {
+
+    private static final Map<String, TokenType> KEYWORDS = new HashMap<>();
+
+    static {
+        for (var type : TokenType.values()) {
+            if (type.isKeyword()) {
+                KEYWORDS.put(type.getText(), type);
+            }
+        }
+    }
+
+    private final CharSequence input;
+    private final List<Report> reports;
+
+    private int index;
+    private int line;
+    private int column;
+
+    public JmmLexer(CharSequence input) {
+        this.input = input;
+        this.reports = new ArrayList<>();
+
+        this.index = 0;
+        this.line = 1;
+        this.column = 0;
+    }
+
+    /**
+     * @return errors found so far
+     */
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    /**
+     * @return the next token, or an EOF token once the end of the input is reached
+     */
+    public JmmToken next() {
+
+        while (true) {
+            skipWhitespaceAndComments();
+
+            int line = this.line;
+            int column = this.column;
+
+            if (index >= input.length()) {
+                return new JmmToken(TokenType.EOF, "<EOF>", line, column);
+            }
+
+            char c = input.charAt(index);
+            int start = index;
+
+            if (isIdStart(c)) {
+                while (index < input.length() && isIdPart(input.charAt(index))) {
+                    advance();
+                }
+
+                var text = input.subSequence(start, index).toString();
+                return new JmmToken(KEYWORDS.getOrDefault(text, TokenType.ID), text, line, column);
+            }
+
+            if (c >= '0' && c <= '9') {
+                advance();
+
+                // INTEGER : [1-9][0-9]* | [0], a leading zero is a token on its own
+                if (c != '0') {
+                    while (index < input.length() && isDigit(input.charAt(index))) {
+                        advance();
+                    }
+                }
+
+                return new JmmToken(TokenType.INTEGER, input.subSequence(start, index).toString(), line, column);
+            }
+
+            var type = symbol(c);
+            if (type != null) {
+                for (int i = 0; i < type.getText().length(); i++) {
+                    advance();
+                }
+
+                return new JmmToken(type, type.getText(), line, column);
+            }
+
+            reports.add(Report.newError(Stage.LEXICAL, line, column, "token recognition error at: '" + c + "'",
+                    null));
+            advance();
+        }
+    }
+
+    private TokenType symbol(char c) {
+        return switch (c) {
+            case '{' -> TokenType.LBRACE;
+            case '}' -> TokenType.RBRACE;
+            case '(' -> TokenType.LPAREN;
+            case ')' -> TokenType.RPAREN;
+            case '[' -> TokenType.LBRACKET;
+            case ']' -> TokenType.RBRACKET;
+            case ';' -> TokenType.SEMI;
+            case ',' -> TokenType.COMMA;
+            case '.' -> lookingAt("...") ? TokenType.ELLIPSIS : TokenType.DOT;
+            case '=' -> TokenType.ASSIGN;
+            case '*' -> TokenType.STAR;
+            case '/' -> TokenType.SLASH;
+            case '+' -> TokenType.PLUS;
+            case '-' -> TokenType.MINUS;
+            case '!' -> TokenType.NOT;
+            case '<' -> TokenType.LT;
+            case '>' -> TokenType.GT;
+            case '&' -> lookingAt("&&") ? TokenType.AND : null;
+            case '|' -> lookingAt("||") ? TokenType.OR : null;
+            default -> null;
+        };
+    }
+
+    private void skipWhitespaceAndComments() {
+
+        while (index < input.length()) {
+            char c = input.charAt(index);
+
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                advance();
+                continue;
+            }
+
+            // LINE_COMMENT : '//' ~[\r\n]+, needs at least one character after the slashes
+            if (lookingAt("//") && index + 2 < input.length() && !isNewline(input.charAt(index + 2))) {
+                while (index < input.length() && !isNewline(input.charAt(index))) {
+                    advance();
+                }
+                continue;
+            }
+
+            // MULTI_LINE_COMMENT : '/*' .*? '*/', an unterminated comment is read as '/' and '*'
+            if (lookingAt("/*")) {
+                int end = findCommentEnd(index + 2);
+                if (end != -1) {
+                    while (index < end + 2) {
+                        advance();
+                    }
+                    continue;
+                }
+            }
+
+            return;
+        }
+    }
+
+    private void advance() {
+        if (input.charAt(index) == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+
+        index++;
+    }
+
+    private boolean lookingAt(String text) {
+        if (index + text.length() > input.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (input.charAt(index + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param from
+     * @return index of the next '*' followed by '/', or -1 if there is none
+     */
+    private int findCommentEnd(int from) {
+        for (int i = from; i + 1 < input.length(); i++) {
+            if (input.charAt(i) == '*' && input.charAt(i + 1) == '/') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isIdStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$';
+    }
+
+    private static boolean isIdPart(char c) {
+        return isIdStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNewline(char c) {
+        return c == '\r' || c == '\n';
+    }
+}
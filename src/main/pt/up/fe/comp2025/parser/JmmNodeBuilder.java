@@ -0,0 +1,268 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.ast.antlr.AntlrParser;
+import pt.up.fe.comp.jmm.ast.antlr.JmmErrorListener;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.utils.ReportUtils;
+import pt.up.fe.specs.util.SpecsSystem;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the {@link JmmNode} AST while ANTLR parses, from the enter and exit callbacks of each rule, so that the parser
+ * can run with {@code setBuildParseTree(false)}.
+ * <p>
+ * Produces the same AST as {@code AntlrToJmmNodeConverter}: the kind and hierarchy come from the context classes,
+ * the attributes from their public fields, and the positions from the first and last token of each rule. A context
+ * is turned into a node as soon as its rule exits, and is no longer referenced afterwards.
+ */
+public class JmmNodeBuilder implements ParseTreeListener {
+
+    private static final ClassValue<ContextInfo> CONTEXT_INFO = new ClassValue<>() {
+        @Override
+        protected ContextInfo computeValue(Class<?> contextClass) {
+            return ContextInfo.of(contextClass);
+        }
+    };
+
+    /**
+     * Kind, hierarchy and attribute fields of a context class.
+     */
+    private record ContextInfo(List<String> hierarchy, List<Field> fields) {
+
+        private static ContextInfo of(Class<?> contextClass) {
+            var hierarchy = new ArrayList<String>();
+            var fields = new ArrayList<Field>();
+
+            // All classes up to ParserRuleContext, most specific first
+            for (var current = contextClass; !current.equals(ParserRuleContext.class);
+                 current = current.getSuperclass()) {
+                hierarchy.add(getKind(current));
+
+                Arrays.stream(current.getDeclaredFields())
+                        .filter(field -> Modifier.isPublic(field.getModifiers()))
+                        .forEach(fields::add);
+            }
+
+            return new ContextInfo(List.copyOf(hierarchy), List.copyOf(fields));
+        }
+
+        private static String getKind(Class<?> contextClass) {
+            var className = contextClass.getSimpleName();
+
+            if (!className.endsWith("Context")) {
+                throw new RuntimeException("Expected class name to end with 'Context': " + className);
+            }
+
+            return className.substring(0, className.length() - "Context".length());
+        }
+    }
+
+    /**
+     * Children built so far for a rule that has not exited yet.
+     */
+    private static class Frame {
+        private final List<ParserRuleContext> contexts = new ArrayList<>();
+        private final List<JmmNode> nodes = new ArrayList<>();
+
+        private void add(ParserRuleContext context, JmmNode node) {
+            contexts.add(context);
+            nodes.add(node);
+        }
+
+        private JmmNode find(ParserRuleContext context) {
+            for (int i = 0; i < contexts.size(); i++) {
+                if (contexts.get(i) == context) {
+                    return nodes.get(i);
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private final Parser parser;
+    private final Deque<Frame> frames;
+
+    private ParserRuleContext lastContext;
+    private JmmNode root;
+
+    public JmmNodeBuilder(Parser parser) {
+        this.parser = parser;
+        this.frames = new ArrayDeque<>();
+        this.frames.push(new Frame());
+
+        this.lastContext = null;
+        this.root = null;
+    }
+
+    /**
+     * Same as {@link AntlrParser#parse(Lexer, Parser, String, Map)}, but builds the AST while parsing instead of
+     * converting the parse tree afterwards.
+     *
+     * @param lex
+     * @param parser
+     * @param ruleName
+     * @param config
+     * @return
+     */
+    public static JmmParserResult parse(Lexer lex, Parser parser, String ruleName, Map<String, String> config) {
+
+        lex.removeErrorListeners();
+        var lexerListener = new JmmErrorListener(Stage.LEXICAL);
+        lex.addErrorListener(lexerListener);
+
+        parser.removeErrorListeners();
+        var parserListener = new JmmErrorListener(Stage.SYNTATIC);
+        parser.addErrorListener(parserListener);
+
+        var builder = new JmmNodeBuilder(parser);
+        parser.setBuildParseTree(false);
+        parser.removeParseListeners();
+        parser.addParseListener(builder);
+
+        try {
+            SpecsSystem.invoke(parser, ruleName);
+        } finally {
+            parser.removeParseListener(builder);
+            parser.setBuildParseTree(true);
+        }
+
+        var reports = new ArrayList<Report>();
+        reports.addAll(lexerListener.getReports());
+        reports.addAll(parserListener.getReports());
+
+        if (ReportUtils.anyError(reports)) {
+            return new JmmParserResult(null, reports, config);
+        }
+
+        return new JmmParserResult(builder.getRoot(), reports, config);
+    }
+
+    /**
+     * @return the node of the last rule that exited, which is the root once the starting rule returns
+     */
+    public JmmNode getRoot() {
+        return root;
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+        var frame = new Frame();
+
+        // A left-recursive rule wraps the context that just exited in a new one, which becomes its first child
+        if (lastContext != null && lastContext.getParent() == ctx) {
+            var parentFrame = frames.peek();
+            int last = parentFrame.nodes.size() - 1;
+
+            frame.add(parentFrame.contexts.remove(last), parentFrame.nodes.remove(last));
+        }
+
+        frames.push(frame);
+        lastContext = null;
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        var frame = frames.pop();
+        var info = CONTEXT_INFO.get(ctx.getClass());
+
+        var node = new JmmNodeImpl(info.hierarchy());
+
+        addPosition(node, ctx);
+        addAttributes(node, ctx, info, frame);
+
+        for (var child : frame.nodes) {
+            node.add(child);
+        }
+
+        // Terminals are still added to the context when there is a listener, but are no longer needed
+        ctx.children = null;
+
+        frames.peek().add(ctx, node);
+        lastContext = ctx;
+        root = node;
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+        // Tokens are not AST nodes
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+        // The AST is discarded when there are syntax errors
+    }
+
+    private void addPosition(JmmNode node, ParserRuleContext ctx) {
+        var start = ctx.getStart();
+        // The stop token of a context wrapped by a left-recursive rule is only set after it exits, to this same token
+        var end = ctx.getStop() != null ? ctx.getStop() : parser.getInputStream().LT(-1);
+
+        node.put(NodePosition.LINE_START.getKey(), Integer.toString(start.getLine()));
+        node.put(NodePosition.COL_START.getKey(), Integer.toString(start.getCharPositionInLine()));
+
+        node.put(NodePosition.LINE_END.getKey(), Integer.toString(end.getLine()));
+        node.put(NodePosition.COL_END.getKey(), Integer.toString(end.getCharPositionInLine()));
+    }
+
+    private static void addAttributes(JmmNode node, ParserRuleContext ctx, ContextInfo info, Frame frame) {
+
+        for (var field : info.fields()) {
+            Object value;
+            try {
+                value = field.get(ctx);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Could not access field '" + field.getName() + "' from node " + ctx, e);
+            }
+
+            if (!field.getType().isAssignableFrom(Token.class)) {
+                node.putObject(field.getName(), processValue(value, frame));
+                continue;
+            }
+
+            // If no token for the given field, skip
+            if (value != null) {
+                node.put(field.getName(), ((Token) value).getText());
+            }
+        }
+    }
+
+    private static Object processValue(Object value, Frame frame) {
+        if (value instanceof Token token) {
+            return token.getText();
+        }
+
+        if (value instanceof List<?> list) {
+            return list.stream().map(element -> processValue(element, frame)).collect(Collectors.toList());
+        }
+
+        // Labelled rules refer to one of the children
+        if (value instanceof ParserRuleContext context) {
+            var child = frame.find(context);
+            return child != null ? child : context;
+        }
+
+        return value;
+    }
+}
@@ -1,16 +1,30 @@
 package pt.up.fe.comp2025.parser;
 
-import org.antlr.v4.runtime.ANTLRInputStream;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CommonTokenFactory;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import pt.up.fe.comp.jmm.ast.antlr.AntlrParser;
 import pt.up.fe.comp.jmm.parser.JmmParser;
 import pt.up.fe.comp.jmm.parser.JmmParserResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
 import pt.up.fe.comp2025.JavammLexer;
 import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
+import pt.up.fe.comp2025.utils.ReportUtils;
+import pt.up.fe.specs.util.SpecsSystem;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Copyright 2022 SPeCS.
@@ -27,6 +41,14 @@ import java.util.Map;
 
 public class JmmParserImpl implements JmmParser {
 
+    static {
+        // Rules are invoked through the method cache of SpecsSystem, a plain HashMap. Resolving all of them while the
+        // class is initialized leaves only reads to the parsers running on several threads
+        for (var rule : JavammParser.ruleNames) {
+            SpecsSystem.getMethod(JavammParser.class, rule);
+        }
+    }
+
     @Override
     public String getDefaultRule() {
         return "program";
@@ -34,30 +56,190 @@ public class JmmParserImpl implements JmmParser {
 
     @Override
     public JmmParserResult parse(String jmmCode, String startingRule, Map<String, String> config) {
+        long start = System.nanoTime();
+        var result = PhaseProfiler.measure("parse", () -> parseCode(jmmCode, startingRule, config));
+        ParserPool.recordParse(System.nanoTime() - start);
+
+        return result;
+    }
+
+    private JmmParserResult parseCode(String jmmCode, String startingRule, Map<String, String> config) {
 
         try {
-            // Convert code string into a character stream
-            var input = new ANTLRInputStream(jmmCode);
-            // Transform characters into tokens using the lexer
-            var lex = new JavammLexer(input);
-            // Wrap lexer around a token stream
-            var tokens = new CommonTokenStream(lex);
-            // Transforms tokens into a parse tree
-            var parser = new JavammParser(tokens);
+            var parserName = CompilerConfig.getParser(config);
 
+            if (parserName.equals(CompilerConfig.RD_PARSER)) {
+                return new RecursiveDescentParser(jmmCode).parse(startingRule, config);
+            }
 
-            // Convert ANTLR CST to JmmNode AST
-            var r = AntlrParser.parse(lex, parser, startingRule, config);
+            // Builds the AST while parsing, without an intermediate parse tree. The code is already in memory, so there
+            // is nothing to gain from streaming it
+            boolean direct = parserName.equals(CompilerConfig.LISTENER_PARSER)
+                    || parserName.equals(CompilerConfig.STREAM_PARSER);
 
-            //if (r.getRootNode() != null) {
-            //    System.out.println("AST:\n" + r.getRootNode().toTree());
-            //}
+            // SLL prediction is much cheaper and almost always enough, retry with full LL only when it fails
+            if (parserName.equals(CompilerConfig.SLL_PARSER) || direct) {
+                var sllResult = parseSll(jmmCode, startingRule, config, direct);
+                if (sllResult.isPresent()) {
+                    return withMode(sllResult.get(), PredictionMode.SLL);
+                }
+            }
 
-            return r;
+            return withMode(parseLl(jmmCode, startingRule, config, direct), PredictionMode.LL);
 
         } catch (Exception e) {
             // There was an uncaught exception during parsing, create an error JmmParserResult without root node
             return JmmParserResult.newError(Report.newError(Stage.SYNTATIC, -1, -1, "Exception during parsing", e), config);
         }
     }
+
+    /**
+     * Parses with SLL prediction, giving up at the first syntax error.
+     *
+     * @return the result, or empty if SLL was not enough or the code has errors
+     */
+    private Optional<JmmParserResult> parseSll(String jmmCode, String startingRule, Map<String, String> config,
+                                               boolean direct) {
+        var pooled = ParserPool.acquire(jmmCode);
+
+        try {
+            return parseSll(pooled.getLexer(), pooled.getParser(), startingRule, config, direct);
+        } finally {
+            ParserPool.release();
+        }
+    }
+
+    private static Optional<JmmParserResult> parseSll(Lexer lex, Parser parser, String startingRule,
+                                                      Map<String, String> config, boolean direct) {
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+
+        try {
+            var result = antlrParse(lex, parser, startingRule, config, direct);
+
+            // Lexical errors do not stop the parser, they are reported again by the LL pass
+            if (ReportUtils.anyError(result.getReports())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(result);
+        } catch (RuntimeException e) {
+            if (isParseCancellation(e)) {
+                return Optional.empty();
+            }
+
+            throw e;
+        }
+    }
+
+    private JmmParserResult parseLl(String jmmCode, String startingRule, Map<String, String> config,
+                                    boolean direct) {
+        // Lexer and parser of this thread, reset to read the code
+        var pooled = ParserPool.acquire(jmmCode);
+
+        // Convert ANTLR CST to JmmNode AST
+        JmmParserResult r;
+        try {
+            r = parseLl(pooled.getLexer(), pooled.getParser(), startingRule, config, direct);
+        } finally {
+            ParserPool.release();
+        }
+
+        //if (r.getRootNode() != null) {
+        //    System.out.println("AST:\n" + r.getRootNode().toTree());
+        //}
+
+        return r;
+    }
+
+    private static JmmParserResult parseLl(Lexer lex, Parser parser, String startingRule,
+                                           Map<String, String> config, boolean direct) {
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        // The SLL pass may have left the bail strategy in place
+        parser.setErrorHandler(new DefaultErrorStrategy());
+
+        return antlrParse(lex, parser, startingRule, config, direct);
+    }
+
+    /**
+     * Parses a file without reading it into memory first, see {@link CompilerConfig#STREAM_PARSER}.
+     *
+     * @param file
+     * @param config
+     * @return
+     */
+    public JmmParserResult parseFile(File file, Map<String, String> config) {
+        return parseFile(file, getDefaultRule(), config);
+    }
+
+    public JmmParserResult parseFile(File file, String startingRule, Map<String, String> config) {
+        long start = System.nanoTime();
+        var result = PhaseProfiler.measure("parse", () -> parseStream(file, startingRule, config));
+        ParserPool.recordParse(System.nanoTime() - start);
+
+        return result;
+    }
+
+    private static JmmParserResult parseStream(File file, String startingRule, Map<String, String> config) {
+        try {
+            var source = MappedSource.open(file);
+
+            // The tokens already consumed are gone, so the LL pass reads the file again
+            var sllLexer = newStreamLexer(source);
+            var sllResult = parseSll(sllLexer, newStreamParser(sllLexer), startingRule, config, true);
+            if (sllResult.isPresent()) {
+                return withMode(sllResult.get(), PredictionMode.SLL);
+            }
+
+            var llLexer = newStreamLexer(source);
+            return withMode(parseLl(llLexer, newStreamParser(llLexer), startingRule, config, true), PredictionMode.LL);
+
+        } catch (IOException e) {
+            return JmmParserResult.newError(Report.newError(Stage.SYNTATIC, -1, -1,
+                    "Could not read file '" + file + "'", e), config);
+        } catch (Exception e) {
+            return JmmParserResult.newError(Report.newError(Stage.SYNTATIC, -1, -1, "Exception during parsing", e),
+                    config);
+        }
+    }
+
+    private static Lexer newStreamLexer(MappedSource source) {
+        var lex = new JavammLexer(source.newCharStream());
+        // Characters are dropped once a token is matched, each token keeps a copy of its text
+        lex.setTokenFactory(new CommonTokenFactory(true));
+
+        return lex;
+    }
+
+    private static Parser newStreamParser(Lexer lex) {
+        // Keeps only the tokens the parser may still look at, the AST is built from the callbacks as rules exit
+        return new JavammParser(new UnbufferedTokenStream<>(lex));
+    }
+
+    private static JmmParserResult antlrParse(Lexer lex, Parser parser, String startingRule,
+                                              Map<String, String> config, boolean direct) {
+        if (direct) {
+            return JmmNodeBuilder.parse(lex, parser, startingRule, config);
+        }
+
+        return AntlrParser.parse(lex, parser, startingRule, config);
+    }
+
+    private static boolean isParseCancellation(Throwable e) {
+        // The rule is called through reflection, so the exception may come wrapped
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ParseCancellationException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static JmmParserResult withMode(JmmParserResult result, PredictionMode mode) {
+        ParserPool.recordMode(mode);
+        Log.debug("Parsed with {} prediction", mode);
+
+        return result;
+    }
 }
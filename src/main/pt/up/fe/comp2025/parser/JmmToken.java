@@ -0,0 +1,23 @@
+package pt.up.fe.comp2025.parser;
+
+/**
+ * A token read by {@link JmmLexer}.
+ *
+ * @param type
+ * @param text
+ * @param line   starting at 1, like ANTLR
+ * @param column starting at 0, like ANTLR
+ */
+public record JmmToken(TokenType type, String text, int line, int column) {
+
+    public boolean is(TokenType type) {
+        return this.type == type;
+    }
+
+    /**
+     * @return the token as shown in error messages
+     */
+    public String describe() {
+        return type == TokenType.EOF ? "<EOF>" : "'" + text + "'";
+    }
+}
@@ -0,0 +1,154 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.UnbufferedCharStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A source file mapped into memory, read as a stream of characters.
+ * <p>
+ * The bytes stay outside the heap and are decoded as the lexer asks for them, a small block at a time, so the code is
+ * never held as a {@link String}. Each call to {@link #newCharStream()} reads the file again from the start.
+ */
+public class MappedSource {
+
+    private static final int DECODE_BLOCK = 8192;
+
+    private final String name;
+    private final MappedByteBuffer bytes;
+
+    private MappedSource(String name, MappedByteBuffer bytes) {
+        this.name = name;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Maps the file, which stays mapped until this object is garbage-collected.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public static MappedSource open(File file) throws IOException {
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // A mapping is limited to 2GB, far above any Java-- file
+            return new MappedSource(file.getPath(), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return size of the file, in bytes
+     */
+    public int getSize() {
+        return bytes.capacity();
+    }
+
+    /**
+     * ANTLR stream that keeps only the characters of the token being matched.
+     *
+     * @return
+     */
+    public CharStream newCharStream() {
+        var stream = new UnbufferedCharStream(newReader());
+        stream.name = name;
+
+        return stream;
+    }
+
+    /**
+     * @return reader of the whole file, from the start
+     */
+    public Reader newReader() {
+        return new DecodingReader(bytes.duplicate());
+    }
+
+    /**
+     * Decodes UTF-8 from the mapped bytes into a small buffer. Malformed input is replaced, as when reading the file
+     * into a {@link String}.
+     */
+    private static class DecodingReader extends Reader {
+
+        private final ByteBuffer bytes;
+        private final CharsetDecoder decoder;
+        private final CharBuffer chars;
+
+        private boolean flushed;
+
+        private DecodingReader(ByteBuffer bytes) {
+            this.bytes = bytes;
+            this.decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.chars = CharBuffer.allocate(DECODE_BLOCK);
+            this.chars.flip();
+
+            this.flushed = false;
+        }
+
+        // UnbufferedCharStream reads a character at a time, without going through the lock of Reader
+        @Override
+        public int read() {
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            return chars.get();
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            int count = Math.min(length, chars.remaining());
+            chars.get(buffer, offset, count);
+
+            return count;
+        }
+
+        /**
+         * @return false if the end of the file was reached
+         */
+        private boolean fill() {
+            chars.clear();
+
+            while (chars.position() == 0 && !flushed) {
+                if (bytes.hasRemaining()) {
+                    decoder.decode(bytes, chars, true);
+                } else {
+                    decoder.flush(chars);
+                    flushed = true;
+                }
+            }
+
+            chars.flip();
+
+            return chars.hasRemaining();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release, the mapping is freed with the buffer
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.JavammLexer;
+import pt.up.fe.comp2025.JavammParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reuses one ANTLR lexer and parser per thread, instead of creating new ones for every parse.
+ * <p>
+ * Only the token stream is created again, since the ANTLR 4.5 stream does not forget it has reached EOF when its
+ * source is replaced.
+ * <p>
+ * The prediction DFA of the generated parser is shared by all instances, so {@link #warmUp()} can fill it at startup
+ * by parsing a built-in corpus. The time the corpus takes before and after being parsed once estimates what the first
+ * compilations save; the parse times of the first {@link #FIRST_PARSES} parses are kept for comparison, and so is the
+ * number of parses that needed full LL prediction after SLL gave up.
+ */
+public class ParserPool {
+
+    /**
+     * Number of parses whose time is recorded.
+     */
+    public static final int FIRST_PARSES = 10;
+
+    /**
+     * Programs that go through most rules of the grammar. They also compile without errors, so that they warm up the
+     * later stages as well (see {@link pt.up.fe.comp2025.daemon.CompileDaemon#warmUp()}).
+     */
+    public static final List<String> WARMUP_CORPUS = List.of("""
+            import io;
+            import java.util.List;
+            class Warmup extends List {
+                int[] values;
+                boolean flag;
+                Warmup other;
+                public int sum(int[] a, int n) {
+                    int i;
+                    int acc;
+                    i = 0;
+                    acc = 0;
+                    while (i < n) {
+                        if (a[i] < 10 && !(a[i] < 0)) {
+                            acc = acc + a[i] * 2 - a[i] / 3;
+                        } else {
+                            acc = acc - 1;
+                        }
+                        a[i] = acc;
+                        i = i + 1;
+                    }
+                    return acc;
+                }
+                public int varargs(int... xs) {
+                    return xs[0];
+                }
+                public boolean check(boolean b, Warmup w) {
+                    return !b && w.check(flag, new Warmup());
+                }
+                public static void main(String[] args) {
+                    Warmup w;
+                    int[] a;
+                    w = new Warmup();
+                    a = [1, 2, 3];
+                    a = new int[4 + 1];
+                    io.println(w.sum(a, 3));
+                    { w.varargs(1, 2, 3); }
+                }
+            }
+            """, """
+            class Small {
+                public int f(int x) {
+                    int y;
+                    y = (x + 1) * (x - 1);
+                    if (y > x) y = x; else y = 0;
+                    while (false) { y = y + 1; }
+                    return y;
+                }
+            }
+            """);
+
+    private static final ThreadLocal<PooledParser> PARSERS = ThreadLocal.withInitial(PooledParser::new);
+
+    private static final AtomicInteger created = new AtomicInteger();
+    private static final AtomicInteger reused = new AtomicInteger();
+
+    private static final AtomicInteger sllParses = new AtomicInteger();
+    private static final AtomicInteger llParses = new AtomicInteger();
+    private static final ThreadLocal<PredictionMode> lastMode = new ThreadLocal<>();
+
+    private static final AtomicLong warmupColdNanos = new AtomicLong(-1);
+    private static final AtomicLong warmupWarmNanos = new AtomicLong(-1);
+
+    private static final List<Long> firstParseNanos = new ArrayList<>();
+
+    private ParserPool() {
+    }
+
+    /**
+     * The lexer and parser of a thread.
+     */
+    public static class PooledParser {
+        private final JavammLexer lexer;
+        private final JavammParser parser;
+        private boolean used;
+
+        private PooledParser() {
+            this.lexer = new JavammLexer(new ANTLRInputStream(""));
+            this.parser = new JavammParser(new CommonTokenStream(lexer));
+            this.used = false;
+
+            created.incrementAndGet();
+        }
+
+        public JavammLexer getLexer() {
+            return lexer;
+        }
+
+        public JavammParser getParser() {
+            return parser;
+        }
+
+        private PooledParser reset(String code) {
+            if (used) {
+                reused.incrementAndGet();
+            }
+            used = true;
+
+            clear(code);
+
+            return this;
+        }
+
+        private void clear(String code) {
+            // Both also reset their own state
+            lexer.setInputStream(new ANTLRInputStream(code));
+            parser.setTokenStream(new CommonTokenStream(lexer));
+
+            // Except for the ATN state, which the starting rule would take as the state that invoked it. Error
+            // recovery then follows it out of the rule and fails
+            parser.setState(-1);
+        }
+    }
+
+    /**
+     * @param code
+     * @return the parser of the current thread, ready to parse the given code
+     */
+    public static PooledParser acquire(String code) {
+        return PARSERS.get().reset(code);
+    }
+
+    /**
+     * Drops the tokens of the last parse of the current thread, so that they are not kept alive until the next one.
+     */
+    public static void release() {
+        PARSERS.get().clear("");
+    }
+
+    /**
+     * Records the duration of a parse, if it is one of the first ones.
+     *
+     * @param nanos
+     */
+    static void recordParse(long nanos) {
+        synchronized (firstParseNanos) {
+            if (firstParseNanos.size() < FIRST_PARSES) {
+                firstParseNanos.add(nanos);
+            }
+        }
+    }
+
+    /**
+     * Records the prediction mode a parse finished with.
+     *
+     * @param mode
+     */
+    static void recordMode(PredictionMode mode) {
+        (mode == PredictionMode.SLL ? sllParses : llParses).incrementAndGet();
+        lastMode.set(mode);
+    }
+
+    /**
+     * @return prediction mode of the last parse of the current thread, or null if it has not parsed yet
+     */
+    static PredictionMode getLastMode() {
+        return lastMode.get();
+    }
+
+    /**
+     * Parses the built-in corpus twice with both prediction modes. The first pass fills the shared prediction DFA,
+     * the second one measures how long the corpus takes once it is warm.
+     */
+    public static void warmUp() {
+        warmupColdNanos.compareAndSet(-1, parseCorpus());
+        warmupWarmNanos.set(parseCorpus());
+
+        // The warm-up parses are not real compilations
+        synchronized (firstParseNanos) {
+            firstParseNanos.clear();
+        }
+    }
+
+    private static long parseCorpus() {
+        long start = System.nanoTime();
+
+        var parserImpl = new JmmParserImpl();
+        for (var parser : List.of(CompilerConfig.SLL_PARSER, CompilerConfig.LL_PARSER)) {
+            Map<String, String> config = CompilerConfig.getDefault();
+            CompilerConfig.setParser(config, parser);
+
+            for (var code : WARMUP_CORPUS) {
+                parserImpl.parse(code, config);
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * @return number of states in the prediction DFA shared by all the parsers
+     */
+    public static int getDfaStates() {
+        int states = 0;
+        for (var dfa : PARSERS.get().getParser().getInterpreter().decisionToDFA) {
+            states += dfa.states.size();
+        }
+
+        return states;
+    }
+
+    public static int getCreated() {
+        return created.get();
+    }
+
+    public static int getReused() {
+        return reused.get();
+    }
+
+    public static int getSllParses() {
+        return sllParses.get();
+    }
+
+    public static int getLlParses() {
+        return llParses.get();
+    }
+
+    /**
+     * @return time, in milliseconds, the warm-up saves to the first compilations, or 0 if there was no warm-up
+     */
+    public static double getSavedMillis() {
+        if (warmupColdNanos.get() < 0) {
+            return 0;
+        }
+
+        return Math.max(0, warmupColdNanos.get() - warmupWarmNanos.get()) / 1_000_000.0;
+    }
+
+    /**
+     * @return durations, in milliseconds, of the first {@link #FIRST_PARSES} parses after the warm-up
+     */
+    public static List<Double> getFirstParseMillis() {
+        synchronized (firstParseNanos) {
+            return firstParseNanos.stream().map(nanos -> nanos / 1_000_000.0).toList();
+        }
+    }
+
+    public static String getSummary() {
+        var summary = new StringBuilder("Parser pool: " + getCreated() + " parser(s) created, " + getReused()
+                + " reuse(s), " + getSllParses() + " parse(s) with SLL and " + getLlParses()
+                + " with LL prediction");
+
+        if (warmupColdNanos.get() >= 0) {
+            summary.append(String.format("; warm-up corpus parsed in %.1f ms cold and %.1f ms warm, about %.1f ms "
+                    + "saved on the first compilations, %d prediction DFA states",
+                    warmupColdNanos.get() / 1_000_000.0, warmupWarmNanos.get() / 1_000_000.0, getSavedMillis(),
+                    getDfaStates()));
+        }
+
+        var firstParses = getFirstParseMillis();
+        if (!firstParses.isEmpty()) {
+            summary.append("; first ").append(firstParses.size()).append(" parse(s) took ")
+                    .append(firstParses.stream().map(millis -> String.format("%.1f", millis)).toList())
+                    .append(" ms");
+        }
+
+        return summary.toString();
+    }
+}
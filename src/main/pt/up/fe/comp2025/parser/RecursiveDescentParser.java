@@ -0,0 +1,622 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static pt.up.fe.comp2025.parser.TokenType.*;
+
+/**
+ * Hand-written parser for Java--, building the same JmmNode AST as the ANTLR grammar (Javamm.g4) followed by
+ * {@link pt.up.fe.comp.jmm.ast.antlr.AntlrParser}: same kinds and hierarchies, attributes and source positions.
+ * <p>
+ * Expressions are parsed by precedence climbing, with the precedences ANTLR gives to the alternatives of the
+ * left-recursive 'expr' rule. Parsing stops at the first syntax error.
+ */
+public class RecursiveDescentParser {
+
+    // Precedences of the 'expr' alternatives, as generated by ANTLR
+    private static final int INDEX_PRECEDENCE = 16;
+    private static final int METHOD_CALL_PRECEDENCE = 12;
+    private static final int MULTIPLICATIVE_PRECEDENCE = 11;
+    private static final int ADDITIVE_PRECEDENCE = 10;
+    private static final int NOT_PRECEDENCE = 9;
+    private static final int RELATIONAL_PRECEDENCE = 8;
+    private static final int LOGICAL_PRECEDENCE = 7;
+    private static final int DOT_ACCESS_PRECEDENCE = 3;
+
+    private final JmmLexer lexer;
+
+    // Tokens read ahead of the current position
+    private final List<JmmToken> lookahead;
+
+    // Last token consumed, where the node being built ends
+    private JmmToken previous;
+
+    public RecursiveDescentParser(CharSequence code) {
+        this(new JmmLexer(code));
+    }
+
+    public RecursiveDescentParser(JmmLexer lexer) {
+        this.lexer = lexer;
+        this.lookahead = new ArrayList<>();
+        this.previous = null;
+    }
+
+    /**
+     * Parses the code with the given rule of the grammar.
+     *
+     * @param startingRule
+     * @param config
+     * @return the AST, or a result without root node if there were lexical or syntax errors
+     */
+    public JmmParserResult parse(String startingRule, Map<String, String> config) {
+        var reports = new ArrayList<Report>();
+
+        JmmNode root = null;
+        try {
+            root = parseRule(startingRule);
+        } catch (SyntaxError e) {
+            reports.add(Report.newError(Stage.SYNTATIC, e.token.line(), e.token.column(), e.getMessage(), null));
+        }
+
+        // Lexical errors come first, like in AntlrParser
+        reports.addAll(0, lexer.getReports());
+
+        if (ReportUtils.anyError(reports)) {
+            return new JmmParserResult(null, reports, config);
+        }
+
+        return new JmmParserResult(root, reports, config);
+    }
+
+    private JmmNode parseRule(String rule) {
+        return switch (rule) {
+            case "program" -> program();
+            case "importDecl" -> importDecl();
+            case "classDecl" -> classDecl();
+            case "varDecl" -> varDecl();
+            case "type" -> type();
+            case "methodDecl" -> methodDecl();
+            case "param" -> param();
+            case "stmt" -> stmt();
+            case "expr" -> expr(0);
+            default -> throw new RuntimeException("Unknown starting rule '" + rule + "'");
+        };
+    }
+
+    // program : importDecl* classDecl EOF
+    private JmmNode program() {
+        var start = peek();
+        var node = newNode(Kind.PROGRAM);
+
+        while (check(IMPORT)) {
+            node.add(importDecl());
+        }
+
+        node.add(classDecl());
+        expect(EOF);
+
+        return withPosition(node, start);
+    }
+
+    // importDecl : IMPORT nameImport+=ID ('.' nameImport+=ID)* ';'
+    private JmmNode importDecl() {
+        var start = expect(IMPORT);
+        var node = newNode(Kind.IMPORT_DECL);
+
+        List<String> names = new ArrayList<>();
+        var name = expect(ID);
+        names.add(name.text());
+
+        while (accept(DOT)) {
+            name = expect(ID);
+            names.add(name.text());
+        }
+
+        expect(SEMI);
+
+        node.put("ID", name.text());
+        node.putObject("nameImport", names);
+
+        return withPosition(node, start);
+    }
+
+    // classDecl : CLASS name=ID (EXTENDS nameExtendClass=ID)? '{' varDecl* methodDecl* '}'
+    private JmmNode classDecl() {
+        var start = expect(CLASS);
+        var node = newNode(Kind.CLASS_DECL);
+
+        node.put("name", expect(ID).text());
+
+        if (accept(EXTENDS)) {
+            node.put("nameExtendClass", expect(ID).text());
+        }
+
+        expect(LBRACE);
+
+        while (isFieldDecl()) {
+            node.add(varDecl());
+        }
+
+        while (!check(RBRACE) && !check(EOF)) {
+            node.add(methodDecl());
+        }
+
+        expect(RBRACE);
+
+        return withPosition(node, start);
+    }
+
+    // varDecl : nameType=type name=ID ';'
+    private JmmNode varDecl() {
+        var start = peek();
+        var node = newNode(Kind.VAR_DECL);
+
+        var type = type();
+        node.add(type);
+        node.putObject("nameType", type);
+        node.put("name", expect(ID).text());
+        expect(SEMI);
+
+        return withPosition(node, start);
+    }
+
+    // type : INT ('[' ']')? | INT '...' | BOOLEAN ('[' ']')? | ID ('[' ']')? | BOOLEAN '...' | ID '...'
+    private JmmNode type() {
+        var start = peek();
+
+        var name = peek();
+        if (!check(INT) && !check(BOOLEAN) && !check(ID)) {
+            throw error("a type");
+        }
+        consume();
+
+        boolean isVarargs = accept(ELLIPSIS);
+        boolean isArray = isVarargs;
+        if (!isVarargs && check(LBRACKET)) {
+            consume();
+            expect(RBRACKET);
+            isArray = true;
+        }
+
+        var kind = switch (name.type()) {
+            case INT -> isVarargs ? Kind.VARARGS_TYPE : Kind.INT_TYPE;
+            case BOOLEAN -> isVarargs ? Kind.BOOLEAN_VARARGS_TYPE : Kind.BOOLEAN_TYPE;
+            default -> isVarargs ? Kind.CLASS_VARARGS_TYPE : Kind.CLASS_TYPE;
+        };
+
+        var node = newNode(kind, Kind.TYPE);
+        node.put("name", name.text());
+        node.putObject("isArray", isArray);
+        node.putObject("isVarargs", isVarargs);
+
+        return withPosition(node, start);
+    }
+
+    // methodDecl : (PUBLIC)? (STATIC)? type methodName=ID '(' (param (',' param)*)? ')' '{' varDecl* stmt* '}'
+    //            | (PUBLIC)? STATIC VOID methodName=ID '(' param ')' '{' varDecl* stmt* '}'
+    private JmmNode methodDecl() {
+        var start = peek();
+        var node = newNode(Kind.METHOD_DECL);
+
+        boolean isPublic = accept(PUBLIC);
+        boolean isStatic = accept(STATIC);
+        boolean isMain = isStatic && check(VOID);
+
+        if (isMain) {
+            consume();
+        } else {
+            node.add(type());
+        }
+
+        node.put("methodName", expect(ID).text());
+        node.putObject("isMain", isMain);
+        node.putObject("isPublic", isPublic);
+        node.putObject("isStatic", isStatic);
+
+        expect(LPAREN);
+        if (isMain) {
+            node.add(param());
+        } else if (!check(RPAREN)) {
+            node.add(param());
+            while (accept(COMMA)) {
+                node.add(param());
+            }
+        }
+        expect(RPAREN);
+
+        expect(LBRACE);
+
+        while (isLocalDecl()) {
+            node.add(varDecl());
+        }
+
+        while (!check(RBRACE) && !check(EOF)) {
+            node.add(stmt());
+        }
+
+        expect(RBRACE);
+
+        return withPosition(node, start);
+    }
+
+    // param : nameType=type name=ID
+    private JmmNode param() {
+        var start = peek();
+        var node = newNode(Kind.PARAM);
+
+        var type = type();
+        node.add(type);
+        node.putObject("nameType", type);
+        node.put("name", expect(ID).text());
+
+        return withPosition(node, start);
+    }
+
+    private JmmNode stmt() {
+        var start = peek();
+
+        switch (start.type()) {
+            // '{' stmt* '}'
+            case LBRACE -> {
+                consume();
+                var node = newNode(Kind.BRACKET_STMT, Kind.STMT);
+                while (!check(RBRACE) && !check(EOF)) {
+                    node.add(stmt());
+                }
+                expect(RBRACE);
+                return withPosition(node, start);
+            }
+
+            // IF '(' expr ')' stmt ELSE stmt
+            case IF -> {
+                consume();
+                var node = newNode(Kind.IF_STMT, Kind.STMT);
+                expect(LPAREN);
+                node.add(expr(0));
+                expect(RPAREN);
+                node.add(stmt());
+                expect(ELSE);
+                node.add(stmt());
+                return withPosition(node, start);
+            }
+
+            // WHILE '(' expr ')' stmt
+            case WHILE -> {
+                consume();
+                var node = newNode(Kind.WHILE_STMT, Kind.STMT);
+                expect(LPAREN);
+                node.add(expr(0));
+                expect(RPAREN);
+                node.add(stmt());
+                return withPosition(node, start);
+            }
+
+            // RETURN expr ';'
+            case RETURN -> {
+                consume();
+                var node = newNode(Kind.RETURN_STMT, Kind.STMT);
+                node.add(expr(0));
+                expect(SEMI);
+                return withPosition(node, start);
+            }
+
+            default -> {
+                return assignOrExprStmt(start);
+            }
+        }
+    }
+
+    // expr ';' | name=ID '[' expr ']' '=' expr ';' | expr '=' expr ';'
+    private JmmNode assignOrExprStmt(JmmToken start) {
+        var target = expr(0);
+
+        if (!accept(ASSIGN)) {
+            expect(SEMI);
+            var node = newNode(Kind.EXPR_STMT, Kind.STMT);
+            node.add(target);
+            return withPosition(node, start);
+        }
+
+        var value = expr(0);
+        expect(SEMI);
+
+        // ANTLR prefers the ArrayAssignStmt alternative whenever the target is an identifier indexed once
+        if (Kind.INDEX_ACCESS_EXPR.check(target) && Kind.VAR_REF_EXPR.check(target.getChild(0))) {
+            var node = newNode(Kind.ARRAY_ASSIGN_STMT, Kind.STMT);
+            node.put("name", target.getChild(0).get("name"));
+            node.add(target.getChild(1));
+            node.add(value);
+            return withPosition(node, start);
+        }
+
+        var node = newNode(Kind.VAR_ASSIGN_STMT, Kind.STMT);
+        node.add(target);
+        node.add(value);
+        return withPosition(node, start);
+    }
+
+    /**
+     * Precedence climbing over the binary and postfix alternatives of 'expr'. An operator is only taken if its
+     * precedence is at least the given one; right operands of left-associative operators use one level above.
+     *
+     * @param precedence
+     * @return
+     */
+    private JmmNode expr(int precedence) {
+        var start = peek();
+        var left = primary();
+
+        while (true) {
+            var token = peek();
+            JmmNode node;
+
+            if ((token.is(STAR) || token.is(SLASH)) && MULTIPLICATIVE_PRECEDENCE >= precedence) {
+                node = binary(left, MULTIPLICATIVE_PRECEDENCE);
+            } else if ((token.is(PLUS) || token.is(MINUS)) && ADDITIVE_PRECEDENCE >= precedence) {
+                node = binary(left, ADDITIVE_PRECEDENCE);
+            } else if ((token.is(LT) || token.is(GT)) && RELATIONAL_PRECEDENCE >= precedence) {
+                node = binary(left, RELATIONAL_PRECEDENCE);
+            } else if ((token.is(AND) || token.is(OR)) && LOGICAL_PRECEDENCE >= precedence) {
+                node = binary(left, LOGICAL_PRECEDENCE);
+            } else if (token.is(LBRACKET) && INDEX_PRECEDENCE >= precedence) {
+                // expr '[' expr ']'
+                consume();
+                node = newNode(Kind.INDEX_ACCESS_EXPR, Kind.EXPR);
+                node.add(left);
+                node.add(expr(0));
+                expect(RBRACKET);
+            } else if (token.is(DOT) && peek(1).is(ID) && peek(2).is(LPAREN)
+                    && METHOD_CALL_PRECEDENCE >= precedence) {
+                // expr '.' name=ID '(' ( expr ( ',' expr )* )? ')'
+                consume();
+                node = newNode(Kind.METHOD_CALL_EXPR, Kind.EXPR);
+                node.add(left);
+                node.put("name", consume().text());
+                consume();
+                if (!check(RPAREN)) {
+                    node.add(expr(0));
+                    while (accept(COMMA)) {
+                        node.add(expr(0));
+                    }
+                }
+                expect(RPAREN);
+            } else if (token.is(DOT) && peek(1).is(ID) && DOT_ACCESS_PRECEDENCE >= precedence) {
+                // expr '.' ID
+                consume();
+                consume();
+                node = newNode(Kind.DOT_ACCESS_EXPR, Kind.EXPR);
+                node.add(left);
+            } else {
+                return left;
+            }
+
+            left = withPosition(node, start);
+        }
+    }
+
+    private JmmNode binary(JmmNode left, int precedence) {
+        var node = newNode(Kind.BINARY_EXPR, Kind.EXPR);
+        node.put("op", consume().text());
+        node.add(left);
+        node.add(expr(precedence + 1));
+
+        return node;
+    }
+
+    private JmmNode primary() {
+        var start = peek();
+
+        switch (start.type()) {
+            // '(' expr ')'
+            case LPAREN -> {
+                consume();
+                var node = newNode(Kind.PAREN_EXPR, Kind.EXPR);
+                node.add(expr(0));
+                expect(RPAREN);
+                return withPosition(node, start);
+            }
+
+            // '[' ( expr ( ',' expr )* )? ']'
+            case LBRACKET -> {
+                consume();
+                var node = newNode(Kind.ARRAY_LITERAL, Kind.EXPR);
+                if (!check(RBRACKET)) {
+                    node.add(expr(0));
+                    while (accept(COMMA)) {
+                        node.add(expr(0));
+                    }
+                }
+                expect(RBRACKET);
+                return withPosition(node, start);
+            }
+
+            // NEW INT '[' capacity=expr ']' | NEW name=ID '(' ')'
+            case NEW -> {
+                consume();
+                if (accept(INT)) {
+                    var node = newNode(Kind.NEW_ARRAY_EXPR, Kind.EXPR);
+                    expect(LBRACKET);
+                    var capacity = expr(0);
+                    node.add(capacity);
+                    node.putObject("capacity", capacity);
+                    expect(RBRACKET);
+                    return withPosition(node, start);
+                }
+
+                var node = newNode(Kind.NEW_OBJECT_EXPR, Kind.EXPR);
+                node.put("name", expect(ID).text());
+                expect(LPAREN);
+                expect(RPAREN);
+                return withPosition(node, start);
+            }
+
+            // '!' expr
+            case NOT -> {
+                consume();
+                var node = newNode(Kind.UNARY_EXPR, Kind.EXPR);
+                node.add(expr(NOT_PRECEDENCE));
+                return withPosition(node, start);
+            }
+
+            case INTEGER -> {
+                consume();
+                var node = newNode(Kind.INTEGER_LITERAL, Kind.EXPR);
+                node.put("value", start.text());
+                return withPosition(node, start);
+            }
+
+            case TRUE, FALSE -> {
+                consume();
+                var node = newNode(Kind.BOOLEAN_LITERAL, Kind.EXPR);
+                node.put("name", start.text());
+                return withPosition(node, start);
+            }
+
+            case ID -> {
+                consume();
+                var node = newNode(Kind.VAR_REF_EXPR, Kind.EXPR);
+                node.put("name", start.text());
+                return withPosition(node, start);
+            }
+
+            case THIS -> {
+                consume();
+                var node = newNode(Kind.THIS_EXPR, Kind.EXPR);
+                node.put("name", start.text());
+                return withPosition(node, start);
+            }
+
+            default -> throw error("an expression");
+        }
+    }
+
+    /**
+     * A field is a type followed by a name and ';', anything else in the class body must be a method.
+     *
+     * @return
+     */
+    private boolean isFieldDecl() {
+        int typeLength = typeLength();
+        return typeLength > 0 && peek(typeLength).is(ID) && peek(typeLength + 1).is(SEMI);
+    }
+
+    /**
+     * Inside a method body, statements can also start with an identifier, a declaration is a type followed by a
+     * name.
+     *
+     * @return
+     */
+    private boolean isLocalDecl() {
+        int typeLength = typeLength();
+        return typeLength > 0 && peek(typeLength).is(ID);
+    }
+
+    /**
+     * @return number of tokens of the type at the current position, or 0 if there is no type there
+     */
+    private int typeLength() {
+        if (!check(INT) && !check(BOOLEAN) && !check(ID)) {
+            return 0;
+        }
+
+        if (peek(1).is(ELLIPSIS)) {
+            return 2;
+        }
+
+        if (peek(1).is(LBRACKET) && peek(2).is(RBRACKET)) {
+            return 3;
+        }
+
+        return 1;
+    }
+
+    private static JmmNodeImpl newNode(Kind kind, Kind... superKinds) {
+        return new JmmNodeImpl(Kind.toNodeName(kind, superKinds));
+    }
+
+    /**
+     * Sets the position of the node, from the start of its first token to the start of its last token, like
+     * AntlrToJmmNodeConverter does.
+     *
+     * @param node
+     * @param start
+     * @return
+     */
+    private JmmNode withPosition(JmmNode node, JmmToken start) {
+        node.put(NodePosition.LINE_START.getKey(), Integer.toString(start.line()));
+        node.put(NodePosition.COL_START.getKey(), Integer.toString(start.column()));
+        node.put(NodePosition.LINE_END.getKey(), Integer.toString(previous.line()));
+        node.put(NodePosition.COL_END.getKey(), Integer.toString(previous.column()));
+
+        return node;
+    }
+
+    private JmmToken peek() {
+        return peek(0);
+    }
+
+    private JmmToken peek(int offset) {
+        while (lookahead.size() <= offset) {
+            lookahead.add(lexer.next());
+        }
+
+        return lookahead.get(offset);
+    }
+
+    private boolean check(TokenType type) {
+        return peek().is(type);
+    }
+
+    private JmmToken consume() {
+        previous = peek();
+
+        // The end of file is never removed, so that it can be looked at again
+        if (!previous.is(EOF)) {
+            lookahead.remove(0);
+        }
+
+        return previous;
+    }
+
+    private boolean accept(TokenType type) {
+        if (!check(type)) {
+            return false;
+        }
+
+        consume();
+        return true;
+    }
+
+    private JmmToken expect(TokenType type) {
+        if (!check(type)) {
+            throw error(type == EOF ? "<EOF>" : type.getText() != null ? "'" + type.getText() + "'" : type.name());
+        }
+
+        return consume();
+    }
+
+    private SyntaxError error(String expected) {
+        var token = peek();
+        return new SyntaxError(token, "mismatched input " + token.describe() + " expecting " + expected);
+    }
+
+    private static class SyntaxError extends RuntimeException {
+        private final JmmToken token;
+
+        SyntaxError(JmmToken token, String message) {
+            super(message);
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pt.up.fe.comp2025.parser;
+
+/**
+ * Replacement of a range of the source code, as sent by an editor.
+ *
+ * @param offset index of the first replaced character
+ * @param length number of replaced characters, 0 for an insertion
+ * @param text   text that takes their place, empty for a deletion
+ */
+public record TextEdit(int offset, int length, String text) {
+
+    public TextEdit {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid edit range: offset " + offset + ", length " + length);
+        }
+    }
+
+    /**
+     * @param code
+     * @return the code after the edit
+     */
+    public String apply(String code) {
+        if (offset + length > code.length()) {
+            throw new IllegalArgumentException("Edit range " + offset + "+" + length
+                    + " is outside of the code, which has " + code.length() + " characters");
+        }
+
+        return code.substring(0, offset) + text + code.substring(offset + length);
+    }
+
+    /**
+     * @return how much the code after the edit moves
+     */
+    public int delta() {
+        return text.length() - length;
+    }
+}
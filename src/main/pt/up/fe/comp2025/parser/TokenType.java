@@ -0,0 +1,70 @@
+package pt.up.fe.comp2025.parser;
+
+/**
+ * Tokens of the Java-- grammar, as recognized by {@link JmmLexer}.
+ * <p>
+ * Mirrors the lexer rules of Javamm.g4: keywords come before {@link #ID}, so that a keyword is never read as an
+ * identifier, and the literal tokens of the parser rules are listed with their text.
+ */
+public enum TokenType {
+
+    CLASS("class"),
+    INT("int"),
+    BOOLEAN("boolean"),
+    PUBLIC("public"),
+    RETURN("return"),
+    EXTENDS("extends"),
+    STATIC("static"),
+    VOID("void"),
+    IF("if"),
+    ELSE("else"),
+    WHILE("while"),
+    NEW("new"),
+    THIS("this"),
+    IMPORT("import"),
+    TRUE("true"),
+    FALSE("false"),
+
+    INTEGER(null),
+    ID(null),
+
+    LBRACE("{"),
+    RBRACE("}"),
+    LPAREN("("),
+    RPAREN(")"),
+    LBRACKET("["),
+    RBRACKET("]"),
+    SEMI(";"),
+    COMMA(","),
+    DOT("."),
+    ELLIPSIS("..."),
+    ASSIGN("="),
+    STAR("*"),
+    SLASH("/"),
+    PLUS("+"),
+    MINUS("-"),
+    NOT("!"),
+    LT("<"),
+    GT(">"),
+    AND("&&"),
+    OR("||"),
+
+    EOF(null);
+
+    private final String text;
+
+    TokenType(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @return the fixed text of the token, or null for integers, identifiers and the end of file
+     */
+    public String getText() {
+        return text;
+    }
+
+    public boolean isKeyword() {
+        return ordinal() <= FALSE.ordinal();
+    }
+}
@@ -0,0 +1,162 @@
+package pt.up.fe.comp2025.pipeline;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.backend.JasminAssembler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compiles several independent .jmm files in the same JVM, using a bounded thread pool.
+ * <p>
+ * Files are submitted largest first, so that the longest compilations do not end up alone at the tail of the batch.
+ * <p>
+ * Every class of the batch is written to the same output folder, so inputs that declare the same class all fail,
+ * instead of the last one overwriting the others.
+ */
+public class BatchCompiler {
+
+    private final CompilationPipeline pipeline;
+    private final Map<String, String> config;
+    private final int threads;
+
+    public BatchCompiler(CompilationPipeline pipeline, Map<String, String> config) {
+        this.pipeline = pipeline;
+        this.config = config;
+        this.threads = CompilerConfig.getThreads(config);
+    }
+
+    /**
+     * Compiles all the given files. Results are returned in the same order as the input files.
+     *
+     * @param files
+     * @return
+     */
+    public List<CompilationResult> compile(List<File> files) {
+
+        // Largest files first
+        var schedule = new ArrayList<>(files);
+        schedule.sort(Comparator.comparingLong(File::length).reversed());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, schedule.size())));
+        try {
+            Map<File, Future<CompilationResult>> futures = new HashMap<>();
+            for (var file : schedule) {
+                futures.put(file, executor.submit(() -> compileFile(file)));
+            }
+
+            var results = new ArrayList<CompilationResult>(files.size());
+            for (var file : files) {
+                results.add(getResult(futures.get(file)));
+            }
+
+            return withDuplicateClasses(results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compiles the files, writes the class files of those without errors and prints one line per file plus a summary.
+     *
+     * @param files
+     * @return the process exit status, 0 if every file compiled without errors
+     */
+    public int run(List<File> files) {
+        long start = System.nanoTime();
+        var results = compile(files);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        var outputDir = CompilerConfig.getOutputDir(config);
+
+        int failed = 0;
+        for (var result : results) {
+            if (result.getProfile() != null) {
+                System.out.println(result.getProfile());
+            }
+
+            if (result.isSuccess()) {
+                JasminAssembler.writeClassFile(result.getClassName(), result.getClassBytes(), outputDir);
+                var cached = result.isCached() ? ", cached" : "";
+                System.out.println("[OK] " + result.getName() + " (" + result.getElapsedMillis() + " ms" + cached + ")");
+                continue;
+            }
+
+            failed++;
+            var message = result.getFirstError().map(Object::toString).orElse("unknown error");
+            System.out.println("[FAILED] " + result.getName() + ": " + message);
+        }
+
+        System.out.println("Compiled " + results.size() + " file(s) on " + threads + " thread(s) in " + elapsedMillis
+                + " ms: " + (results.size() - failed) + " succeeded, " + failed + " failed");
+        pipeline.getCache().ifPresent(cache -> System.out.println(cache.getSummary()));
+        if (CompilerConfig.getIncremental(config)) {
+            System.out.println(pipeline.getIncremental().getSummary());
+        }
+
+        return failed == 0 ? 0 : 1;
+    }
+
+    private CompilationResult compileFile(File file) {
+        var fileConfig = new HashMap<>(config);
+        CompilerConfig.setInputFile(fileConfig, file);
+
+        return pipeline.compile(file, fileConfig);
+    }
+
+    /**
+     * Adds an error to every result whose class is declared by another input of the batch.
+     *
+     * @param results
+     * @return the results, in the same order
+     */
+    private static List<CompilationResult> withDuplicateClasses(List<CompilationResult> results) {
+        Map<String, List<String>> inputsByClass = new HashMap<>();
+        for (var result : results) {
+            if (result.getClassName() != null) {
+                inputsByClass.computeIfAbsent(result.getClassName(), key -> new ArrayList<>()).add(result.getName());
+            }
+        }
+
+        var checked = new ArrayList<CompilationResult>(results.size());
+        for (var result : results) {
+            var inputs = result.getClassName() == null ? List.<String>of() : inputsByClass.get(result.getClassName());
+            if (inputs.size() < 2) {
+                checked.add(result);
+                continue;
+            }
+
+            var others = inputs.stream().filter(input -> !input.equals(result.getName())).toList();
+            var reports = new ArrayList<>(result.getReports());
+            reports.add(Report.newError(Stage.OTHER, -1, -1, "Class '" + result.getClassName()
+                    + "' is also declared in " + String.join(", ", others), null));
+
+            checked.add(new CompilationResult(result.getName(), reports, result.getClassName(), result.getOllirCode(),
+                    result.getJasminCode(), result.getClassBytes(), result.getElapsedMillis(), result.isCached(),
+                    result.getProfile()));
+        }
+
+        return checked;
+    }
+
+    private static CompilationResult getResult(Future<CompilationResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for batch compilation", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unexpected failure in batch compilation", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package pt.up.fe.comp2025.pipeline;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+import pt.up.fe.comp2025.backend.JasminAssembler;
+import pt.up.fe.comp2025.cache.CompilationCache;
+import pt.up.fe.comp2025.backend.JasminBackendImpl;
+import pt.up.fe.comp2025.incremental.IncrementalCompiler;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+import pt.up.fe.comp2025.profiling.PhaseProfiler;
+import pt.up.fe.comp2025.utils.ReportUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs parse -> semantic analysis -> optimization -> OLLIR -> Jasmin -> class file over a single source, stopping at
+ * the first stage that reports errors.
+ * <p>
+ * Every call creates its own stage instances, so a single pipeline can be shared between threads. When a
+ * {@link CompilationCache} is given, sources that were already compiled with the same options skip every stage.
+ * With the incremental option, only the methods that changed since the last compilation of the same class, from the
+ * same source, are regenerated (see {@link IncrementalCompiler}).
+ */
+public class CompilationPipeline {
+
+    private final CompilationCache cache;
+    private final IncrementalCompiler incremental = new IncrementalCompiler();
+
+    public CompilationPipeline() {
+        this(null);
+    }
+
+    public CompilationPipeline(CompilationCache cache) {
+        this.cache = cache;
+    }
+
+    public Optional<CompilationCache> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    public IncrementalCompiler getIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Compiles a file, named after its path. With the streaming parser and no cache the file is not read into memory,
+     * the cache needs its contents for the key.
+     *
+     * @param file
+     * @param config
+     * @return
+     */
+    public CompilationResult compile(File file, Map<String, String> config) {
+        var name = file.getPath();
+
+        if (cache == null && CompilerConfig.getParser(config).equals(CompilerConfig.STREAM_PARSER)) {
+            return profile(name, null, file, config);
+        }
+
+        return compile(name, SpecsIo.read(file), config);
+    }
+
+    public CompilationResult compile(String name, String code, Map<String, String> config) {
+
+        if (cache == null) {
+            return profile(name, code, null, config);
+        }
+
+        var key = cache.key(code, config);
+        var cached = cache.get(key, name);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        var result = profile(name, code, null, config);
+
+        // Internal failures may not happen again, only cache results the compiler fully produced
+        var crashed = result.getReports().stream().anyMatch(report -> report.getStage() == Stage.OTHER);
+        if (!crashed) {
+            cache.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param code source to compile, or null to parse the file with the streaming parser
+     */
+    private CompilationResult profile(String name, String code, File file, Map<String, String> config) {
+
+        if (!CompilerConfig.getProfile(config)) {
+            return run(name, code, file, config);
+        }
+
+        PhaseProfiler.start(name);
+        try {
+            return run(name, code, file, config);
+        } finally {
+            PhaseProfiler.stop();
+        }
+    }
+
+    private CompilationResult run(String name, String code, File file, Map<String, String> config) {
+        long start = System.nanoTime();
+
+        List<Report> reports = new ArrayList<>();
+        String className = null;
+        String ollirCode = null;
+        String jasminCode = null;
+        byte[] classBytes = null;
+
+        try {
+            // Parsing stage
+            var parser = new JmmParserImpl();
+            var parserResult = code == null ? parser.parseFile(file, config) : parser.parse(code, config);
+            reports = parserResult.getReports();
+            if (ReportUtils.anyError(reports) || parserResult.getRootNode() == null) {
+                return done(name, reports, null, null, null, null, start);
+            }
+            Log.debug(() -> "AST:\n" + parserResult.getRootNode().toTree());
+
+            // Semantic analysis stage
+            var semanticsResult = new JmmAnalysisImpl().semanticAnalysis(parserResult);
+            reports = semanticsResult.getReports();
+            if (ReportUtils.anyError(reports)) {
+                return done(name, reports, null, null, null, null, start);
+            }
+            className = semanticsResult.getSymbolTable().getClassName();
+
+            if (CompilerConfig.getIncremental(config)) {
+                // Optimization and code generation stages, only for the methods that changed
+                var incrementalResult = incremental.compile(name, semanticsResult);
+                reports = incrementalResult.reports();
+                ollirCode = incrementalResult.ollirCode();
+                jasminCode = incrementalResult.jasminCode();
+                if (ReportUtils.anyError(reports)) {
+                    return done(name, reports, className, ollirCode, jasminCode, null, start);
+                }
+            } else {
+                // Optimization stage
+                var optimization = new JmmOptimizationImpl();
+                semanticsResult = optimization.optimize(semanticsResult);
+                var ollirResult = optimization.optimize(optimization.toOllir(semanticsResult));
+                reports = ollirResult.getReports();
+                ollirCode = ollirResult.getOllirCode();
+                if (ReportUtils.anyError(reports)) {
+                    return done(name, reports, className, ollirCode, null, null, start);
+                }
+
+                // Code generation stage
+                var jasminResult = new JasminBackendImpl().toJasmin(ollirResult);
+                reports = jasminResult.getReports();
+                jasminCode = jasminResult.getJasminCode();
+                if (ReportUtils.anyError(reports)) {
+                    return done(name, reports, className, ollirCode, jasminCode, null, start);
+                }
+            }
+
+            // Assembly, in memory
+            try {
+                var sourceName = className + ".j";
+                var jasmin = jasminCode;
+                classBytes = PhaseProfiler.measure("assemble", () -> JasminAssembler.assemble(jasmin, sourceName));
+            } catch (RuntimeException e) {
+                reports = new ArrayList<>(reports);
+                reports.add(Report.newError(Stage.GENERATION, -1, -1, e.getMessage(), e));
+            }
+
+        } catch (Exception e) {
+            reports = new ArrayList<>(reports);
+            reports.add(Report.newError(Stage.OTHER, -1, -1, "Exception during compilation of '" + name + "'", e));
+        }
+
+        return done(name, reports, className, ollirCode, jasminCode, classBytes, start);
+    }
+
+    private static CompilationResult done(String name, List<Report> reports, String className, String ollirCode,
+                                          String jasminCode, byte[] classBytes, long start) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Ends profiling here, so that the report covers every stage that ran
+        var profile = PhaseProfiler.stop().map(PhaseProfiler::toJson).orElse(null);
+
+        return new CompilationResult(name, reports, className, ollirCode, jasminCode, classBytes, elapsedMillis, false,
+                profile);
+    }
+}
@@ -0,0 +1,95 @@
+package pt.up.fe.comp2025.pipeline;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of running the whole compilation pipeline over a single source.
+ * <p>
+ * Stages that were not reached (because an earlier one reported errors) leave their output as null.
+ */
+public class CompilationResult {
+
+    private final String name;
+    private final List<Report> reports;
+    private final String className;
+    private final String ollirCode;
+    private final String jasminCode;
+    private final byte[] classBytes;
+    private final long elapsedMillis;
+    private final boolean cached;
+    private final String profile;
+
+    public CompilationResult(String name, List<Report> reports, String className, String ollirCode,
+                             String jasminCode, byte[] classBytes, long elapsedMillis, boolean cached,
+                             String profile) {
+        this.name = name;
+        this.reports = reports;
+        this.className = className;
+        this.ollirCode = ollirCode;
+        this.jasminCode = jasminCode;
+        this.classBytes = classBytes;
+        this.elapsedMillis = elapsedMillis;
+        this.cached = cached;
+        this.profile = profile;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getOllirCode() {
+        return ollirCode;
+    }
+
+    public String getJasminCode() {
+        return jasminCode;
+    }
+
+    public byte[] getClassBytes() {
+        return classBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return true if this result was taken from the compilation cache instead of being compiled
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * @return the JSON report of the {@link pt.up.fe.comp2025.profiling.PhaseProfiler}, null if profiling was off
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public boolean isSuccess() {
+        return !ReportUtils.anyError(reports);
+    }
+
+    /**
+     * @return the first ERROR report, if any
+     */
+    public Optional<Report> getFirstError() {
+        return reports.stream()
+                .filter(report -> report.getType() == ReportType.ERROR)
+                .findFirst();
+    }
+}
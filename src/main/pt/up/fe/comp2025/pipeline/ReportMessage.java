@@ -0,0 +1,29 @@
+package pt.up.fe.comp2025.pipeline;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+
+/**
+ * Serializable view of a {@link Report}, without the exception.
+ */
+public class ReportMessage {
+
+    private final String type;
+    private final String stage;
+    private final int line;
+    private final int column;
+    private final String message;
+
+    public ReportMessage(Report report) {
+        this.type = report.getType().name();
+        this.stage = report.getStage().name();
+        this.line = report.getLine();
+        this.column = report.getColumn();
+        this.message = report.getMessage();
+    }
+
+    public Report toReport() {
+        return new Report(ReportType.valueOf(type), Stage.valueOf(stage), line, column, message);
+    }
+}
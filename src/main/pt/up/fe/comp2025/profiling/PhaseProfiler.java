@@ -0,0 +1,173 @@
+package pt.up.fe.comp2025.profiling;
+
+import com.google.gson.Gson;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Records wall time, CPU time and allocated bytes of the compiler phases running in the current thread.
+ * <p>
+ * Profiling is enabled per thread with {@link #start(String)}. While no profiler is active, {@link #measure} just
+ * runs the given code, so the compiler stages can always be instrumented. Nested measurements are recorded with a
+ * path (e.g. "analysis/Method"), and repeated measurements with the same path are added up.
+ */
+public class PhaseProfiler {
+
+    private static final ThreadLocal<PhaseProfiler> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+    private final Deque<String> openPhases = new ArrayDeque<>();
+    private final Sample start;
+
+    private PhaseProfiler(String name) {
+        this.name = name;
+        this.start = Sample.now();
+    }
+
+    /**
+     * Starts profiling the current thread, replacing any profiler that was active.
+     *
+     * @param name name of the compilation, included in the report
+     */
+    public static void start(String name) {
+        CURRENT.set(new PhaseProfiler(name));
+    }
+
+    /**
+     * Stops profiling the current thread.
+     *
+     * @return the profiler that was active, if any
+     */
+    public static Optional<PhaseProfiler> stop() {
+        var profiler = CURRENT.get();
+        CURRENT.remove();
+        return Optional.ofNullable(profiler);
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static <T> T measure(String phase, Supplier<T> body) {
+        var profiler = CURRENT.get();
+
+        if (profiler == null) {
+            return body.get();
+        }
+
+        return profiler.record(phase, body);
+    }
+
+    public static void measure(String phase, Runnable body) {
+        measure(phase, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T record(String phase, Supplier<T> body) {
+        var path = openPhases.isEmpty() ? phase : openPhases.peek() + "/" + phase;
+
+        // Registered before running, so that phases are listed before their nested phases
+        var stats = phases.computeIfAbsent(path, PhaseStats::new);
+
+        openPhases.push(path);
+        var before = Sample.now();
+        try {
+            return body.get();
+        } finally {
+            var after = Sample.now();
+            openPhases.pop();
+            stats.add(before, after);
+        }
+    }
+
+    /**
+     * @return the measurements as a single line of JSON
+     */
+    public String toJson() {
+        var total = new PhaseStats("total");
+        total.add(start, Sample.now());
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("name", name);
+        report.put("total", total);
+        report.put("phases", new ArrayList<>(phases.values()));
+
+        return new Gson().toJson(report);
+    }
+
+    public List<PhaseStats> getPhases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    /**
+     * Accumulated measurements of a phase. Values are -1 when the JVM does not support the corresponding counter.
+     */
+    public static class PhaseStats {
+        private final String phase;
+        private int count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        PhaseStats(String phase) {
+            this.phase = phase;
+        }
+
+        private void add(Sample before, Sample after) {
+            count++;
+            wallNanos += after.wallNanos - before.wallNanos;
+            cpuNanos = before.cpuNanos < 0 ? -1 : cpuNanos + after.cpuNanos - before.cpuNanos;
+            allocatedBytes = before.allocatedBytes < 0 ? -1 : allocatedBytes + after.allocatedBytes - before.allocatedBytes;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    private record Sample(long wallNanos, long cpuNanos, long allocatedBytes) {
+
+        static Sample now() {
+            long cpu = THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+
+            long allocated = -1;
+            if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean allocationBean
+                    && allocationBean.isThreadAllocatedMemorySupported()
+                    && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                allocated = allocationBean.getCurrentThreadAllocatedBytes();
+            }
+
+            return new Sample(System.nanoTime(), cpu, allocated);
+        }
+    }
+}
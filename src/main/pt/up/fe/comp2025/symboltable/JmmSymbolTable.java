@@ -2,6 +2,7 @@ package pt.up.fe.comp2025.symboltable;
 
 import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp2025.ast.TypeRegistry;
 import pt.up.fe.comp2025.ast.TypeUtils;
 import pt.up.fe.specs.util.SpecsCheck;
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
@@ -18,8 +19,16 @@ public class JmmSymbolTable extends AJmmSymbolTable {
     private final Map<String, List<Symbol>> params;
     private final Map<String, List<Symbol>> locals;
     private final List<String> imports;
+    private final Map<String, String> importIndex;
     private final List<Symbol> fields;
 
+    // Class types of this compilation
+    private final TypeRegistry types;
+
+    // Names visible in each method, locals first, then parameters
+    private final Map<String, Map<String, ResolvedSymbol>> methodScopes;
+    private final Map<String, ResolvedSymbol> fieldScope;
+
     public JmmSymbolTable(String className,
                           String superClassName,
                           List<String> methods,
@@ -27,7 +36,9 @@ public class JmmSymbolTable extends AJmmSymbolTable {
                           Map<String, List<Symbol>> params,
                           Map<String, List<Symbol>> locals,
                           List<String> imports,
-                          List<Symbol> fields) {
+                          Map<String, String> importIndex,
+                          List<Symbol> fields,
+                          TypeRegistry types) {
 
         this.className = className;
         this.superClassName = superClassName;
@@ -36,7 +47,64 @@ public class JmmSymbolTable extends AJmmSymbolTable {
         this.params = params;
         this.locals = locals;
         this.imports = imports;
+        this.importIndex = importIndex;
         this.fields = fields;
+        this.types = types;
+
+        this.methodScopes = new HashMap<>();
+        for (var method : methods) {
+            var scope = new HashMap<String, ResolvedSymbol>();
+            addToScope(scope, locals.get(method), ResolvedSymbol.Scope.LOCAL);
+            addToScope(scope, params.get(method), ResolvedSymbol.Scope.PARAM);
+            methodScopes.put(method, scope);
+        }
+
+        this.fieldScope = new HashMap<>();
+        addToScope(fieldScope, fields, ResolvedSymbol.Scope.FIELD);
+    }
+
+    private static void addToScope(Map<String, ResolvedSymbol> scope, List<Symbol> symbols,
+                                   ResolvedSymbol.Scope symbolScope) {
+        if (symbols == null) {
+            return;
+        }
+
+        // A name declared twice refers to the first declaration
+        for (var symbol : symbols) {
+            scope.putIfAbsent(symbol.getName(), new ResolvedSymbol(symbol, symbolScope));
+        }
+    }
+
+    /**
+     * Indexes imports by their simple class name, the first import wins if two have the same name.
+     *
+     * @param imports full names of the imported classes
+     * @return the full name of the import of each simple name
+     */
+    public static Map<String, String> indexImports(List<String> imports) {
+        Map<String, String> index = new HashMap<>();
+        for (String importPath : imports) {
+            index.putIfAbsent(importPath.substring(importPath.lastIndexOf('.') + 1), importPath);
+        }
+        return index;
+    }
+
+    /**
+     * Finds what a variable name refers to inside a method: a local variable, then a parameter, then a field.
+     *
+     * @param methodSignature
+     * @param name
+     * @return the symbol, or empty if the name is not declared
+     */
+    public Optional<ResolvedSymbol> resolve(String methodSignature, String name) {
+        var methodScope = methodScopes.get(methodSignature);
+
+        var symbol = methodScope != null ? methodScope.get(name) : null;
+        if (symbol == null) {
+            symbol = fieldScope.get(name);
+        }
+
+        return Optional.ofNullable(symbol);
     }
 
     @Override
@@ -44,6 +112,29 @@ public class JmmSymbolTable extends AJmmSymbolTable {
         return imports;
     }
 
+    /**
+     * @param simpleName the name of a class, without its package
+     * @return true if a class with that name is imported
+     */
+    public boolean isImportedClass(String simpleName) {
+        return importIndex.containsKey(simpleName);
+    }
+
+    /**
+     * @param simpleName the name of a class, without its package
+     * @return the full name of the import of that class, or empty if it is not imported
+     */
+    public Optional<String> resolveImport(String simpleName) {
+        return Optional.ofNullable(importIndex.get(simpleName));
+    }
+
+    /**
+     * @return the registry of the types of this compilation
+     */
+    public TypeRegistry getTypes() {
+        return types;
+    }
+
     @Override
     public String getClassName() {
         return className;
@@ -6,7 +6,7 @@ import pt.up.fe.comp.jmm.ast.AJmmNode;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
-import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeRegistry;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
 import java.util.*;
@@ -17,6 +17,7 @@ public class JmmSymbolTableBuilder {
 
     // In case we want to already check for some semantic errors during symbol table building.
     private List<Report> reports;
+    private TypeRegistry types;
 
     public List<Report> getReports() {
         return reports;
@@ -31,115 +32,106 @@ public class JmmSymbolTableBuilder {
                 null);
     }
 
+    /**
+     * Builds the table in a single visit of the imports and the class, reporting declarations whose name is already
+     * taken in the same scope.
+     *
+     * @param root
+     * @return
+     */
     public JmmSymbolTable build(JmmNode root) {
         reports = new ArrayList<>();
+        types = new TypeRegistry();
 
-        List<JmmNode> classDecls = root.getChildren(CLASS_DECL);
-        var classDecl = classDecls.get(0);
+        List<String> imports = new ArrayList<>();
+        JmmNode classDecl = null;
+
+        for (JmmNode child : root.getChildren()) {
+            if (child.isInstance(IMPORT_DECL)) {
+                List<String> parts = (List<String>) child.getObject("nameImport");
+                imports.add(String.join(".", parts));
+            } else if (classDecl == null && child.isInstance(CLASS_DECL)) {
+                classDecl = child;
+            }
+        }
 
         String className = classDecl.get("name");
         String superClassName = classDecl.getOptional("nameExtendClass").orElse(null);
-        var methods = buildMethods(classDecl);
-        var returnTypes = buildReturnTypes(classDecl);
-        var params = buildParams(classDecl);
-        var locals = buildLocals(classDecl);
-        var fields = buildFields(classDecl);
-        var imports = buildImports(root);
 
-        JmmSymbolTable table = new JmmSymbolTable(className, superClassName, methods, returnTypes, params, locals, imports, fields);
+        List<String> methods = new ArrayList<>();
+        Map<String, Type> returnTypes = new HashMap<>();
+        Map<String, List<Symbol>> params = new HashMap<>();
+        Map<String, List<Symbol>> locals = new HashMap<>();
+        List<Symbol> fields = new ArrayList<>();
 
-        //System.out.println("Symbol Table generated: \n" + table);
+        Set<String> fieldNames = new HashSet<>();
+        Set<String> methodNames = new HashSet<>();
 
-        return table;
-    }
+        for (JmmNode member : classDecl.getChildren()) {
+            if (member.isInstance(VAR_DECL)) {
+                String name = member.get("name");
+                if (!fieldNames.add(name)) {
+                    reports.add(newError(member, "Field '" + name + "' is already declared."));
+                }
 
-    private static List<String> buildImports(JmmNode root) {
-        List<String> imports = new ArrayList<>();
-        for (JmmNode child : root.getChildren()) {
-            if (child.getKind().equals("ImportDecl")) {
-                List<String> parts = (List<String>) child.getObject("nameImport");            
-                String importPath = String.join(".", parts);
-                imports.add(importPath);
+                boolean isArray = Objects.equals(member.getChild(0).getKind(), "VarArray");
+                fields.add(new Symbol(types.intern(member.getChild(0).get("name"), isArray), name));
+            } else if (member.isInstance(METHOD_DECL)) {
+                String name = member.get("methodName");
+                if (!methodNames.add(name)) {
+                    reports.add(newError(member, "Method '" + name + "' is already declared."));
+                }
+
+                methods.add(name);
+                buildMethod(member, name, returnTypes, params, locals);
             }
         }
-        return imports;
-    }
 
-    private List<Symbol> buildFields(JmmNode classDecl) {
-        List<Symbol> Locals = new ArrayList<>();
-        classDecl.getChildren(VAR_DECL).stream().forEach(varDecl -> {
-            boolean isArray = Objects.equals(varDecl.getChild(0).getKind(), "VarArray");
-            Type type = new Type(varDecl.getChild(0).get("name"), isArray);
-            String name = varDecl.get("name");
-            Locals.add(new Symbol(type, name));
-        });
+        var importIndex = JmmSymbolTable.indexImports(imports);
 
-        return Locals;
-    }
+        JmmSymbolTable table = new JmmSymbolTable(className, superClassName, methods, returnTypes, params, locals,
+                imports, importIndex, fields, types);
 
-    private Map<String, Type> buildReturnTypes(JmmNode classDecl) {
-        Map<String, Type> map = new HashMap<>();
-
-        for (var method : classDecl.getChildren(Kind.METHOD_DECL)) {
-            var name = method.get("methodName");
-            boolean isMain = method.getBoolean("isMain", false);
-
-            if (isMain) {
-                var returnType = new Type("void", false);
-                map.put(name, returnType);
-            } else {
-                if (!method.getChildren().isEmpty()) {
-                    var returnTypeNode = method.getChildren().getFirst();
-                    var returnType = TypeUtils.convertType(returnTypeNode);
-                    map.put(name, returnType);
-                }
-            }
-        }
+        //System.out.println("Symbol Table generated: \n" + table);
 
-        return map;
+        return table;
     }
 
-    private Map<String, List<Symbol>> buildParams(JmmNode classDecl) {
-        Map<String, List<Symbol>> map = new HashMap<>();
-
-        for (var method : classDecl.getChildren(Kind.METHOD_DECL)) {
-            var name = method.get("methodName");
-            var params = method.getChildren(Kind.PARAM).stream()
-                    .map(param -> {
-                        var typeNode = param.getChildren().get(0);
-                        var type = TypeUtils.convertType(typeNode);
-                        return new Symbol(type, param.get("name"));
-                    })
-                    .toList();
+    private void buildMethod(JmmNode method, String name, Map<String, Type> returnTypes,
+                             Map<String, List<Symbol>> params, Map<String, List<Symbol>> locals) {
 
-            map.put(name, params);
+        if (method.getBoolean("isMain", false)) {
+            returnTypes.put(name, TypeRegistry.VOID);
+        } else if (!method.getChildren().isEmpty()) {
+            returnTypes.put(name, TypeUtils.convertType(method.getChildren().getFirst(), types));
         }
 
-        return map;
-    }
-
-    private Map<String, List<Symbol>> buildLocals(JmmNode classDecl) {
-        var map = new HashMap<String, List<Symbol>>();
+        List<Symbol> methodParams = new ArrayList<>();
+        List<Symbol> methodLocals = new ArrayList<>();
+        Set<String> paramNames = new HashSet<>();
+        Set<String> localNames = new HashSet<>();
+
+        for (JmmNode child : method.getChildren()) {
+            if (child.isInstance(PARAM)) {
+                String paramName = child.get("name");
+                if (!paramNames.add(paramName)) {
+                    reports.add(newError(child, "Parameter '" + paramName + "' is already declared in method '"
+                            + name + "'."));
+                }
 
-        for (var method : classDecl.getChildren(Kind.METHOD_DECL)) {
-            var name = method.get("methodName");
-            var locals = method.getChildren(Kind.VAR_DECL).stream()
-                    .map(varDecl -> {
-                        var typeNode = varDecl.getChildren().get(0);
-                        var type = TypeUtils.convertType(typeNode);
-                        return new Symbol(type, varDecl.get("name"));
-                    })
-                    .toList();
+                methodParams.add(new Symbol(TypeUtils.convertType(child.getChild(0), types), paramName));
+            } else if (child.isInstance(VAR_DECL)) {
+                String localName = child.get("name");
+                if (!localNames.add(localName)) {
+                    reports.add(newError(child, "Variable '" + localName + "' is already declared in method '"
+                            + name + "'."));
+                }
 
-            map.put(name, locals);
+                methodLocals.add(new Symbol(TypeUtils.convertType(child.getChild(0), types), localName));
+            }
         }
 
-        return map;
-    }
-
-    private List<String> buildMethods(JmmNode classDecl) {
-        return classDecl.getChildren(Kind.METHOD_DECL).stream()
-                .map(method -> method.get("methodName"))
-                .toList();
+        params.put(name, methodParams);
+        locals.put(name, methodLocals);
     }
-}
\ No newline at end of file
+}
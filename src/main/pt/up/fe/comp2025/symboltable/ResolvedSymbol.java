@@ -0,0 +1,27 @@
+package pt.up.fe.comp2025.symboltable;
+
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+
+/**
+ * The symbol a variable name refers to inside a method, and where it was declared.
+ */
+public record ResolvedSymbol(Symbol symbol, Scope scope) {
+
+    public enum Scope {
+        LOCAL,
+        PARAM,
+        FIELD
+    }
+
+    /**
+     * @return true if the name refers to a field of the class, which is not shadowed by a local or parameter
+     */
+    public boolean isField() {
+        return scope == Scope.FIELD;
+    }
+
+    @Override
+    public String toString() {
+        return scope.name().toLowerCase() + " " + symbol.getName();
+    }
+}
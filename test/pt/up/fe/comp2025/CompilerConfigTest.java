@@ -0,0 +1,47 @@
+package pt.up.fe.comp2025;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the combinations of options the command line rejects.
+ */
+public class CompilerConfigTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void profileRejectsParallelAnalysis() throws IOException {
+        var input = folder.newFile("A.jmm").getPath();
+
+        assertRejected("'-t' and '-a'", "-i=" + input, "-t", "-a");
+        assertRejected("'-t' and '-a'", "-b=" + input, "-t", "-a");
+
+        var config = CompilerConfig.parseArgs(new String[]{"-i=" + input, "-a", "-j=3"});
+        assertTrue(CompilerConfig.getParallelAnalysis(config));
+        assertEquals(3, CompilerConfig.getThreads(config));
+    }
+
+    @Test
+    public void threadsMustBePositive() throws IOException {
+        var input = folder.newFile("A.jmm").getPath();
+
+        assertRejected("'-j'", "-i=" + input, "-a", "-j=0");
+        assertRejected("'-j'", "-b=" + input, "-j=0");
+    }
+
+    private static void assertRejected(String expectedMessage, String... args) {
+        try {
+            CompilerConfig.parseArgs(args);
+            fail("Accepted " + String.join(" ", args));
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedMessage));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package pt.up.fe.comp2025;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the files a single-file compilation leaves behind.
+ */
+public class LauncherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesClassFileUnderOutputDir() throws IOException {
+        var input = folder.newFile("Simple.jmm");
+        SpecsIo.write(input, "class Simple { public int foo(int a) { return a + 1; } }");
+        var outputDir = new File(folder.getRoot(), "out/classes");
+
+        Launcher.main(new String[]{"-i=" + input, "-d=" + outputDir});
+
+        var classFile = new File(outputDir, "Simple.class");
+        assertTrue(classFile.isFile());
+
+        // A class file starts with 0xCAFEBABE
+        var bytes = Files.readAllBytes(classFile.toPath());
+        assertEquals(0xCAFEBABE, ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8)
+                | (bytes[3] & 0xFF));
+    }
+
+    @Test
+    public void usesCompilationCache() throws IOException {
+        var input = folder.newFile("Cached.jmm");
+        SpecsIo.write(input, "class Cached { public boolean foo(boolean b) { return !b; } }");
+        var cacheDir = folder.newFolder("cache");
+
+        Launcher.main(new String[]{"-i=" + input, "-d=" + folder.newFolder("out"), "-c=" + cacheDir});
+
+        var entries = cacheDir.listFiles((dir, name) -> name.endsWith(".json"));
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+    }
+}
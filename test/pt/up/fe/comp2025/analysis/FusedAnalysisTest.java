@@ -0,0 +1,99 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.analysis.passes.*;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the passes report the same in a single visit as when each one visits the AST alone.
+ */
+public class FusedAnalysisTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    @Test
+    public void sameReportsOnTestResources() {
+        for (var file : SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm")) {
+            var root = TestUtils.parse(SpecsIo.read(file)).getRootNode();
+            if (root == null) {
+                continue;
+            }
+
+            var table = new JmmSymbolTableBuilder().build(root);
+            var outcomes = new FusedAnalysis(JmmAnalysisImpl.buildPasses()).analyze(root, table);
+
+            var separatePasses = JmmAnalysisImpl.buildPasses();
+            for (int i = 0; i < separatePasses.size(); i++) {
+                var outcome = outcomes.get(i);
+
+                try {
+                    var expected = separatePasses.get(i).analyze(root, table);
+
+                    assertNull(file.getPath(), outcome.exception());
+                    assertEquals(file.getPath(), expected.toString(), outcome.reports().toString());
+                } catch (RuntimeException e) {
+                    assertNotNull(file.getPath(), outcome.exception());
+                    assertEquals(file.getPath(), e.toString(), outcome.exception().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void exceptionStopsOnlyItsPass() {
+        var root = TestUtils.parse("class A { public int foo() { int a; return a + 1; } }").getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+
+        var failing = new AnalysisVisitor() {
+            @Override
+            protected void buildVisitor() {
+                addVisit(Kind.METHOD_DECL, this::fail);
+            }
+
+            private Void fail(JmmNode node, SymbolTable table) {
+                throw new IllegalStateException("failing pass");
+            }
+        };
+
+        var outcomes = new FusedAnalysis(List.of(failing, new BinaryExpr())).analyze(root, table);
+
+        assertTrue(outcomes.get(0).exception() instanceof IllegalStateException);
+        assertTrue(outcomes.get(0).reports().isEmpty());
+        assertNull(outcomes.get(1).exception());
+        assertFalse(outcomes.get(1).hasErrors());
+    }
+
+    @Test
+    public void stackOverflowStopsOnlyItsPass() {
+        var root = TestUtils.parse("class A { public int foo() { int a; return a + 1; } }").getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+
+        var overflowing = new AnalysisVisitor() {
+            @Override
+            protected void buildVisitor() {
+                addVisit(Kind.METHOD_DECL, this::recurse);
+            }
+
+            private Void recurse(JmmNode node, SymbolTable table) {
+                return recurse(node, table);
+            }
+        };
+
+        var outcomes = new FusedAnalysis(List.of(overflowing, new BinaryExpr())).analyze(root, table);
+
+        assertTrue(outcomes.get(0).exception() instanceof StackOverflowError);
+        assertTrue(FusedAnalysis.asException(outcomes.get(0).exception()).getCause() instanceof StackOverflowError);
+        assertNull(outcomes.get(1).exception());
+        assertFalse(outcomes.get(1).hasErrors());
+    }
+}
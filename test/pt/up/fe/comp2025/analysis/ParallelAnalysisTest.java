@@ -0,0 +1,111 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.analysis.passes.*;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that analysing the methods in parallel gives the same outcomes as a single visit.
+ */
+public class ParallelAnalysisTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    // More threads than methods in most files, so that methods do run at the same time
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void sameOutcomesOnTestResources() {
+        for (var file : SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm")) {
+            var root = TestUtils.parse(SpecsIo.read(file)).getRootNode();
+            if (root == null) {
+                continue;
+            }
+
+            var table = new JmmSymbolTableBuilder().build(root);
+            new TypeUtils(table).annotateTypes(root);
+        new TypeUtils(table).annotateTypes(root);
+
+            var expected = new FusedAnalysis(JmmAnalysisImpl.buildPasses()).analyze(root, table);
+            var outcomes = new ParallelAnalysis(JmmAnalysisImpl::buildPasses, POOL).analyze(root, table);
+
+            assertSameOutcomes(file.getPath(), expected, outcomes);
+        }
+    }
+
+    @Test
+    public void firstExceptionInCodeOrder() {
+        var root = TestUtils.parse("""
+                class A {
+                    public int foo(int a) { return a + 1; }
+                    public int bar(int a) { return a + 2; }
+                    public int baz(int a) { return a + 3; }
+                }
+                """).getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+        new TypeUtils(table).annotateTypes(root);
+
+        var expected = new FusedAnalysis(List.of(new FailingPass(), new BinaryExpr())).analyze(root, table);
+        var outcomes = new ParallelAnalysis(() -> List.of(new FailingPass(), new BinaryExpr()), POOL)
+                .analyze(root, table);
+
+        assertEquals("bar", expected.get(0).exception().getMessage());
+        assertSameOutcomes("exception", expected, outcomes);
+    }
+
+    private static void assertSameOutcomes(String name, List<FusedAnalysis.PassOutcome> expected,
+                                           List<FusedAnalysis.PassOutcome> outcomes) {
+        assertEquals(name, expected.size(), outcomes.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(name, expected.get(i).pass().getClass(), outcomes.get(i).pass().getClass());
+            assertEquals(name, expected.get(i).reports().toString(), outcomes.get(i).reports().toString());
+            assertEquals(name, String.valueOf(expected.get(i).exception()),
+                    String.valueOf(outcomes.get(i).exception()));
+        }
+    }
+
+    /**
+     * Reports every method, and throws from every method but 'foo'.
+     */
+    private static class FailingPass extends AnalysisVisitor {
+
+        @Override
+        public boolean isMethodLocal() {
+            return true;
+        }
+
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.METHOD_DECL, this::visitMethodDecl);
+        }
+
+        private Void visitMethodDecl(JmmNode method, SymbolTable table) {
+            addNewErrorReport(method, method.get("methodName"));
+
+            if (!method.get("methodName").equals("foo")) {
+                throw new IllegalStateException(method.get("methodName"));
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.parser.AstComparison;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a {@link CompactAst} keeps everything in the original tree.
+ */
+public class CompactAstTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    private static final String CODE = """
+            import a.b.C;
+            class A extends C {
+                int[] field;
+                public int foo(boolean b, int... a) {
+                    return a[0] + 2147483647 * 3;
+                }
+                public static void main(String[] args) {
+                    A x;
+                    x = new A();
+                }
+            }
+            """;
+
+    @Test
+    public void sameTreeOnTestResources() {
+        for (var file : SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm")) {
+            var root = TestUtils.parse(SpecsIo.read(file)).getRootNode();
+            if (root == null) {
+                continue;
+            }
+
+            var ast = CompactAst.of(root);
+            assertEquals(file.getPath(), root.getDescendantsAndSelfStream().count(), ast.size());
+
+            AstComparison.assertSameNode(file.getPath(), root, ast.node(0));
+            AstComparison.assertSameNode(file.getPath(), root, ast.toJmmNode());
+        }
+    }
+
+    @Test
+    public void sameTreeAfterAnalysis() {
+        // Analysis adds attributes the arrays know nothing about
+        var root = TestUtils.analyse(CODE).getRootNode();
+        var ast = CompactAst.of(root);
+
+        AstComparison.assertSameNode("analysed", root, ast.node(0));
+        AstComparison.assertSameNode("analysed", root, ast.toJmmNode());
+    }
+
+    @Test
+    public void decodedAttributes() {
+        var ast = CompactAst.of(TestUtils.parse(CODE).getRootNode());
+
+        var literals = indexesOf(ast, Kind.INTEGER_LITERAL);
+        assertEquals(3, literals.size());
+        assertEquals(0, ast.intValue(literals.get(0)));
+        assertEquals(Integer.MAX_VALUE, ast.intValue(literals.get(1)));
+        assertEquals(3, ast.intValue(literals.get(2)));
+
+        var methods = indexesOf(ast, Kind.METHOD_DECL);
+        assertEquals("foo", ast.name(methods.get(0)));
+        assertTrue(ast.isPublic(methods.get(0)));
+        assertFalse(ast.isStatic(methods.get(0)));
+        assertTrue(ast.isMain(methods.get(1)));
+        assertTrue(ast.isStatic(methods.get(1)));
+
+        var varargs = indexesOf(ast, Kind.VARARGS_TYPE).get(0);
+        assertTrue(ast.isArray(varargs));
+        assertTrue(ast.isVarargs(varargs));
+        assertEquals(methods.get(0), Integer.valueOf(ast.parent(ast.parent(varargs))));
+
+        // Names are interned, every 'A' has the same id
+        var nameA = ast.nameId("A");
+        assertNotEquals(CompactAst.NONE, nameA);
+        assertEquals(nameA, ast.nameId(indexesOf(ast, Kind.CLASS_DECL).get(0)));
+        assertEquals(nameA, ast.nameId(indexesOf(ast, Kind.NEW_OBJECT_EXPR).get(0)));
+
+        // The operator takes the place of the name
+        assertEquals("+", ast.name(indexesOf(ast, Kind.BINARY_EXPR).get(0)));
+
+        assertTrue(ast.getBytesPerNode() > 0);
+    }
+
+    @Test
+    public void existingVisitors() {
+        var root = TestUtils.parse(CODE).getRootNode();
+
+        assertEquals(visitKinds(root), visitKinds(CompactAst.of(root).node(0)));
+    }
+
+    private static List<Integer> indexesOf(CompactAst ast, Kind kind) {
+        var indexes = new ArrayList<Integer>();
+        for (int i = 0; i < ast.size(); i++) {
+            if (ast.kind(i) == kind) {
+                indexes.add(i);
+            }
+        }
+
+        return indexes;
+    }
+
+    private static List<String> visitKinds(JmmNode root) {
+        var kinds = new ArrayList<String>();
+
+        new PreorderJmmVisitor<Void, Void>() {
+            @Override
+            protected void buildVisitor() {
+                setDefaultVisit((node, unused) -> {
+                    kinds.add(node.getKind() + " " + node.getOptional("name").orElse(""));
+                    return null;
+                });
+            }
+        }.visit(root);
+
+        return kinds;
+    }
+}
@@ -0,0 +1,64 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that expression types are computed once, kept on the nodes, and computed again after the tree changes.
+ */
+public class ExprTypeCacheTest {
+
+    private static final String CODE = """
+            class A {
+                public int foo(int a) {
+                    int b;
+                    b = (a) * 2;
+                    return b;
+                }
+            }
+            """;
+
+    @Test
+    public void typesKeptOnNodes() {
+        var root = TestUtils.parse(CODE).getRootNode();
+        var types = new TypeUtils(new JmmSymbolTableBuilder().build(root));
+
+        types.annotateTypes(root);
+
+        for (var expr : root.getDescendants(Kind.BINARY_EXPR)) {
+            assertTrue(expr.hasAttribute(TypeUtils.EXPR_TYPE));
+            assertSame(expr.getObject(TypeUtils.EXPR_TYPE), types.getExprType(expr));
+        }
+
+        var paren = root.getDescendants(Kind.PAREN_EXPR).get(0);
+        assertEquals("int", types.getExprType(paren).getName());
+        assertFalse(root.getDescendants(Kind.METHOD_DECL).get(0).hasAttribute(TypeUtils.EXPR_TYPE));
+    }
+
+    @Test
+    public void replacedNodeInvalidatesAncestors() {
+        var root = TestUtils.parse(CODE).getRootNode();
+        var types = new TypeUtils(new JmmSymbolTableBuilder().build(root));
+        types.annotateTypes(root);
+
+        var paren = root.getDescendants(Kind.PAREN_EXPR).get(0);
+        var varRef = paren.getChild(0);
+
+        var replacement = new JmmNodeImpl(List.of("BooleanLiteral"));
+        replacement.put("name", "true");
+        varRef.replace(replacement);
+
+        // Still the stored type until the replacement is reported
+        assertEquals("int", types.getExprType(paren).getName());
+
+        TypeUtils.invalidateTypes(replacement);
+        assertEquals("boolean", types.getExprType(paren).getName());
+        assertEquals("boolean", types.getExprType(replacement).getName());
+    }
+}
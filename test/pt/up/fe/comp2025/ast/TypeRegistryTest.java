@@ -0,0 +1,89 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that types are handed out as shared instances, and compared by id.
+ */
+public class TypeRegistryTest {
+
+    @Test
+    public void sameInstancePerType() {
+        var types = new TypeRegistry();
+
+        assertSame(TypeRegistry.INT, types.intern("int", false));
+        assertSame(TypeRegistry.INT_ARRAY, types.intern("int", true));
+        assertSame(types.intern("Foo", false), types.intern("Foo", false));
+        assertNotSame(types.intern("Foo", false), types.intern("Foo", true));
+
+        assertNotEquals(TypeRegistry.id(TypeRegistry.INT), TypeRegistry.id(TypeRegistry.BOOLEAN));
+        assertEquals(-1, TypeRegistry.id(new Type("int", false)));
+    }
+
+    @Test
+    public void varargsIsTheArrayType() {
+        var varargs = new TypeRegistry().intern("int", true, true);
+
+        assertTrue(varargs.getBoolean("isVarargs", false));
+        assertFalse(TypeRegistry.INT_ARRAY.getBoolean("isVarargs", true));
+        assertTrue(TypeRegistry.sameType(varargs, TypeRegistry.INT_ARRAY));
+        assertFalse(TypeRegistry.sameType(varargs, TypeRegistry.INT));
+    }
+
+    @Test
+    public void sameTypeWithTypesBuiltElsewhere() {
+        assertTrue(TypeRegistry.sameType(new Type("int", false), TypeRegistry.INT));
+        assertFalse(TypeRegistry.sameType(new Type("int", true), TypeRegistry.INT));
+
+        // Equality stays symmetric with comp-lib types, which compare their class
+        var plain = new Type("int", false);
+        assertEquals(plain.equals(TypeRegistry.INT), TypeRegistry.INT.equals(plain));
+    }
+
+    @Test
+    public void classTypesBelongToTheirCompilation() {
+        var first = new TypeRegistry();
+        var second = new TypeRegistry();
+
+        // Each compilation keeps its own class types, which are still the same type
+        assertNotSame(first.intern("Foo", false), second.intern("Foo", false));
+        assertTrue(TypeRegistry.sameType(first.intern("Foo", false), second.intern("Foo", false)));
+        assertEquals(first.intern("Foo", false), second.intern("Foo", false));
+        assertFalse(TypeRegistry.sameType(first.intern("Foo", false), second.intern("Bar", false)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void internedTypesCannotBeChanged() {
+        TypeRegistry.INT.putObject("isVarargs", "true");
+    }
+
+    @Test
+    public void symbolTableAndExpressionsShareTypes() {
+        var root = TestUtils.parse("""
+                class A {
+                    A a;
+                    public int foo(int... b) {
+                        int c;
+                        c = b[0];
+                        return c + 1;
+                    }
+                }
+                """).getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+        var types = new TypeUtils(table);
+
+        assertSame(table.getTypes().intern("A", false), table.getFields().get(0).getType());
+        assertSame(types.getClassType("A"), table.getFields().get(0).getType());
+        assertSame(TypeRegistry.INT, table.getReturnType("foo"));
+        assertSame(TypeRegistry.INT, table.getLocalVariables("foo").get(0).getType());
+
+        for (var binaryExpr : root.getDescendants(Kind.BINARY_EXPR)) {
+            assertSame(TypeRegistry.INT, types.getExprType(binaryExpr));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package pt.up.fe.comp2025.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp2025.CompilerConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that cache keys change with the build of the compiler, the options and the classpath.
+ */
+public class CompilationCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void versionIsTheBuildStamp() throws IOException {
+        var properties = new Properties();
+        try (var input = CompilationCache.class.getResourceAsStream("/jmm-build.properties")) {
+            assertNotNull("build stamp was not generated", input);
+            properties.load(input);
+        }
+
+        var stamp = properties.getProperty("sources.sha256");
+        assertEquals(64, stamp.length());
+        assertEquals(stamp, CompilationCache.COMPILER_VERSION);
+    }
+
+    @Test
+    public void keyDependsOnOutputOptionsOnly() throws IOException {
+        var cache = new CompilationCache(folder.newFolder("cache"), 1024 * 1024);
+        var code = "class A { }";
+
+        var config = CompilerConfig.getDefault();
+        var key = cache.key(code, config);
+
+        config.put("threads", "8");
+        assertEquals(key, cache.key(code, config));
+
+        config.put("optimize", "true");
+        assertNotEquals(key, cache.key(code, config));
+    }
+
+    @Test
+    public void keyDependsOnClasspathFiles() throws IOException {
+        var cache = new CompilationCache(folder.newFolder("cache"), 1024 * 1024);
+        var code = "import io; class A { }";
+
+        var classFile = new File(folder.newFolder("classes"), "io.class");
+        Files.copy(new File("libs-jmm/compiled/io.class").toPath(), classFile.toPath());
+
+        var config = CompilerConfig.getDefault();
+        config.put("classpath", classFile.getParent());
+        config.put("cacheDir", folder.newFolder("index").getPath());
+        var key = cache.key(code, config);
+        assertEquals(key, cache.key(code, config));
+
+        // Same '-l', but the class on it changed
+        assertTrue(classFile.setLastModified(classFile.lastModified() - 10_000));
+        assertNotEquals(key, cache.key(code, config));
+    }
+}
@@ -0,0 +1,85 @@
+package pt.up.fe.comp2025.classpath;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the classes read from the compiled libraries and the index file kept between runs.
+ */
+public class ClasspathIndexTest {
+
+    private static final File LIBS = new File("libs-jmm/compiled");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsCompiledClass() throws IOException {
+        var index = ClasspathIndex.load(List.of(LIBS), folder.newFile("index.idx"));
+
+        var io = index.getClass("io").orElseThrow();
+        assertEquals("java/lang/Object", io.superName());
+
+        var read = index.findMethod("io", "read", List.of()).orElseThrow();
+        assertEquals("()I", read.descriptor());
+        assertTrue(read.isStatic());
+
+        assertEquals("Z", index.findField("io", "init").orElseThrow().descriptor());
+    }
+
+    @Test
+    public void picksOverloadByArguments() throws IOException {
+        var index = ClasspathIndex.load(List.of(LIBS), folder.newFile("index.idx"));
+
+        assertEquals("(I)V", index.findMethod("io", "print", List.of("I")).orElseThrow().descriptor());
+        assertEquals("(Z)V", index.findMethod("io", "print", List.of("Z")).orElseThrow().descriptor());
+
+        // No overload takes an int and a boolean
+        assertTrue(index.findMethod("io", "print", List.of("I", "Z")).isEmpty());
+    }
+
+    @Test
+    public void indexFileIsReused() throws IOException {
+        var classFile = copyIoClass();
+        var cacheFile = new File(folder.getRoot(), "index.idx");
+        ClasspathIndex.load(List.of(classFile.getParentFile()), cacheFile);
+        assertTrue(cacheFile.isFile());
+
+        // Same size and time, but no longer a class file, so its classes can only come from the index file
+        long lastModified = classFile.lastModified();
+        Files.write(classFile.toPath(), new byte[(int) classFile.length()]);
+        assertTrue(classFile.setLastModified(lastModified));
+
+        // Another path is not loaded in memory yet
+        var copy = new File(folder.getRoot(), "copy.idx");
+        Files.copy(cacheFile.toPath(), copy.toPath());
+
+        var index = ClasspathIndex.load(List.of(classFile.getParentFile()), copy);
+        assertEquals("()I", index.findMethod("io", "read", List.of()).orElseThrow().descriptor());
+    }
+
+    @Test
+    public void changedFileIsReadAgain() throws IOException {
+        var classFile = copyIoClass();
+        var cacheFile = new File(folder.getRoot(), "index.idx");
+        assertTrue(ClasspathIndex.load(List.of(classFile.getParentFile()), cacheFile).getClass("io").isPresent());
+
+        Files.write(classFile.toPath(), new byte[0]);
+
+        assertTrue(ClasspathIndex.load(List.of(classFile.getParentFile()), cacheFile).getClass("io").isEmpty());
+    }
+
+    private File copyIoClass() throws IOException {
+        var classFile = new File(folder.newFolder("classes"), "io.class");
+        Files.copy(new File(LIBS, "io.class").toPath(), classFile.toPath());
+        return classFile;
+    }
+}
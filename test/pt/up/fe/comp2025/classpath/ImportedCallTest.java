@@ -0,0 +1,70 @@
+package pt.up.fe.comp2025.classpath;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp2025.CompilerConfig;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that OLLIR and Jasmin agree on the descriptors of calls to classes on the classpath.
+ */
+public class ImportedCallTest {
+
+    // BoardBase has the static methods playerTurn(I)[I, sameArray([I)Z and placeTaken()V
+    private static final String CODE = """
+            import BoardBase;
+            class UseBoard {
+                public int foo() {
+                    int[] turn;
+                    boolean same;
+                    int taken;
+                    turn = BoardBase.playerTurn(1);
+                    same = BoardBase.sameArray(turn);
+                    taken = BoardBase.placeTaken();
+                    return taken;
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void realDescriptors() throws IOException {
+        var ollirResult = TestUtils.optimize(CODE, newConfig());
+        var ollirCode = ollirResult.getOllirCode();
+        var jasminCode = TestUtils.backend(ollirResult).getJasminCode();
+
+        // Return types other than int come from the classpath
+        assertTrue(ollirCode, ollirCode.contains("invokestatic(BoardBase, \"playerTurn\", 1.i32).array.i32"));
+        assertTrue(jasminCode, jasminCode.contains("invokestatic BoardBase/playerTurn(I)[I"));
+
+        assertTrue(ollirCode, ollirCode.contains(".bool :=.bool invokestatic(BoardBase, \"sameArray\""));
+        assertTrue(jasminCode, jasminCode.contains("invokestatic BoardBase/sameArray([I)Z"));
+    }
+
+    @Test
+    public void usedVoidResult() throws IOException {
+        var ollirResult = TestUtils.optimize(CODE, newConfig());
+        var ollirCode = ollirResult.getOllirCode();
+        var jasminCode = TestUtils.backend(ollirResult).getJasminCode();
+
+        // The result of a void method cannot be used, both sides take the type from the assignment instead
+        assertTrue(ollirCode, ollirCode.contains("invokestatic(BoardBase, \"placeTaken\").i32"));
+        assertTrue(jasminCode, jasminCode.contains("invokestatic BoardBase/placeTaken()I"));
+        assertFalse(jasminCode, jasminCode.contains("placeTaken()V"));
+    }
+
+    private Map<String, String> newConfig() throws IOException {
+        var config = CompilerConfig.getDefault();
+        config.put("classpath", "libs-jmm/compiled");
+        config.put("cacheDir", folder.newFolder("cache").getPath());
+        return config;
+    }
+}
@@ -0,0 +1,62 @@
+package pt.up.fe.comp2025.daemon;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.parser.ParserPool;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks a compilation sent to the daemon over its socket, and its answer.
+ */
+public class CompileDaemonTest {
+
+    @Test
+    public void warmUpCorpusCompiles() {
+        // Otherwise the warm-up stops early and never reaches the later stages
+        var pipeline = new CompilationPipeline();
+        for (var code : ParserPool.WARMUP_CORPUS) {
+            var result = pipeline.compile("Warmup.jmm", code, CompilerConfig.getDefault());
+            assertTrue(result.getReports().toString(), result.isSuccess());
+            assertNotNull(result.getClassBytes());
+        }
+    }
+
+    @Test
+    public void compileRoundTrip() throws Exception {
+        try (var daemon = new CompileDaemon(new CompilationPipeline(), CompilerConfig.getDefault(), 0, 2)) {
+            var server = new Thread(daemon::serve);
+            server.start();
+
+            try (var client = new CompileClient(daemon.getPort())) {
+                assertTrue(client.ping().isSuccess());
+
+                var response = client.compile("A.jmm", "class A { public int foo(int a) { return a * 2; } }",
+                        Map.of());
+                assertNull(response.getError());
+                assertTrue(response.getReports().toString(), response.isSuccess());
+                assertEquals("A", response.getClassName());
+                assertTrue(response.getOllirCode().contains("foo(a.i32).i32"));
+
+                // A class file starts with 0xCAFEBABE
+                var classBytes = response.getClassBytes();
+                assertEquals(0xCAFEBABE, ((classBytes[0] & 0xFF) << 24) | ((classBytes[1] & 0xFF) << 16)
+                        | ((classBytes[2] & 0xFF) << 8) | (classBytes[3] & 0xFF));
+
+                // Errors in the code are answered, and the connection stays usable
+                var failed = client.compile("B.jmm", "class B { public int foo() { return b; } }", Map.of());
+                assertNull(failed.getError());
+                assertFalse(failed.isSuccess());
+                assertNull(failed.getClassBytes());
+
+                assertTrue(client.shutdown().isSuccess());
+            }
+
+            server.join(10_000);
+            assertFalse("daemon did not stop after the shutdown request", server.isAlive());
+        }
+    }
+}
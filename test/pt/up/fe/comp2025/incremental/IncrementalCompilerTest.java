@@ -0,0 +1,177 @@
+package pt.up.fe.comp2025.incremental;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
+import pt.up.fe.comp2025.pipeline.CompilationResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that recompiling an edited class incrementally gives the same code as compiling it from scratch.
+ */
+public class IncrementalCompilerTest {
+
+    // Temporaries and labels are numbered across the methods that are generated together
+    private static final Pattern NUMBERED_NAME = Pattern.compile("\\b(tmp|andTemp|then|endif|while)(\\d+)\\b");
+
+    private static final String ORIGINAL = """
+            class Edited {
+                int count;
+                public int inc(int a) {
+                    return a + 1;
+                }
+                public boolean neg(boolean b) {
+                    return !b;
+                }
+                public int twice(int c) {
+                    return this.inc(this.inc(c));
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void methodBodyEdit() throws IOException {
+        var edited = ORIGINAL.replace("return !b;", "return b && !b;");
+        var pipeline = assertSameAsFullCompile(ORIGINAL, edited);
+
+        // Only the edited method is generated again
+        assertEquals(3 + 1, pipeline.getIncremental().getRegenerated());
+        assertEquals(2, pipeline.getIncremental().getReused());
+    }
+
+    @Test
+    public void signatureEdit() throws IOException {
+        var edited = ORIGINAL.replace("public int inc(int a) {\n        return a + 1;",
+                "public int inc(int a, int d) {\n        return a + d;").replace("this.inc(this.inc(c))",
+                "this.inc(this.inc(c, 1), 1)");
+        assertNotEquals(ORIGINAL, edited);
+
+        var pipeline = assertSameAsFullCompile(ORIGINAL, edited);
+        assertEquals(0, pipeline.getIncremental().getReused());
+    }
+
+    @Test
+    public void addedField() throws IOException {
+        var edited = ORIGINAL.replace("int count;", "int count;\n    boolean done;");
+
+        var pipeline = assertSameAsFullCompile(ORIGINAL, edited);
+        assertEquals(0, pipeline.getIncremental().getReused());
+    }
+
+    @Test
+    public void sameClassInAnotherSource() throws IOException {
+        var config = newConfig();
+        var pipeline = new CompilationPipeline();
+
+        var other = ORIGINAL.replace("return a + 1;", "return a + 2;");
+        assertSuccess(pipeline.compile("first/Edited.jmm", ORIGINAL, config));
+        var result = assertSuccess(pipeline.compile("second/Edited.jmm", other, config));
+
+        // The class of the first source is not used as the previous version of the second
+        assertEquals(0, pipeline.getIncremental().getReused());
+        assertSameCode(compileFull(other), result);
+    }
+
+    @Test
+    public void classTypedMembers() throws IOException {
+        var original = ORIGINAL.replace("int count;", "int count;\n    Edited other;")
+                .replace("public int twice(int c) {", "public Edited self() {\n        return other;\n    }\n"
+                        + "    public int twice(int c) {");
+        var edited = original.replace("return !b;", "return b && !b;");
+        assertNotEquals(ORIGINAL, original);
+
+        // Class types of a new compilation are new instances, the methods that did not change are still reused
+        var pipeline = assertSameAsFullCompile(original, edited);
+        assertEquals(4 + 1, pipeline.getIncremental().getRegenerated());
+        assertEquals(3, pipeline.getIncremental().getReused());
+    }
+
+    @Test
+    public void changedClasspath() throws IOException {
+        var classFile = new File(folder.newFolder("classes"), "io.class");
+        Files.copy(new File("libs-jmm/compiled/io.class").toPath(), classFile.toPath());
+
+        var config = newConfig();
+        config.put("classpath", classFile.getParent());
+        var pipeline = new CompilationPipeline();
+
+        assertSuccess(pipeline.compile("Edited.jmm", ORIGINAL, config));
+        assertSuccess(pipeline.compile("Edited.jmm", ORIGINAL, config));
+        assertEquals(3, pipeline.getIncremental().getReused());
+
+        // The descriptors of calls may come from the classpath, so every method is generated again
+        assertTrue(classFile.setLastModified(classFile.lastModified() - 10_000));
+        assertSuccess(pipeline.compile("Edited.jmm", ORIGINAL, config));
+        assertEquals(3, pipeline.getIncremental().getReused());
+        assertEquals(3 * 2, pipeline.getIncremental().getRegenerated());
+    }
+
+    private CompilationPipeline assertSameAsFullCompile(String original, String edited) throws IOException {
+        var config = newConfig();
+        var pipeline = new CompilationPipeline();
+
+        assertSuccess(pipeline.compile("Edited.jmm", original, config));
+        var incremental = assertSuccess(pipeline.compile("Edited.jmm", edited, config));
+
+        assertSameCode(compileFull(edited), incremental);
+
+        return pipeline;
+    }
+
+    private CompilationResult compileFull(String code) throws IOException {
+        var config = newConfig();
+        config.remove("incremental");
+
+        return assertSuccess(new CompilationPipeline().compile("Edited.jmm", code, config));
+    }
+
+    private Map<String, String> newConfig() throws IOException {
+        var input = folder.newFile();
+        return CompilerConfig.parseArgs(new String[]{"-i=" + input, "-o", "-n"});
+    }
+
+    private static CompilationResult assertSuccess(CompilationResult result) {
+        assertTrue(result.getReports().toString(), result.isSuccess());
+        return result;
+    }
+
+    private static void assertSameCode(CompilationResult expected, CompilationResult actual) {
+        assertEquals(renumber(expected.getOllirCode()), renumber(actual.getOllirCode()));
+        assertEquals(expected.getJasminCode(), actual.getJasminCode());
+        assertArrayEquals(expected.getClassBytes(), actual.getClassBytes());
+    }
+
+    /**
+     * Numbers the temporaries and labels of each method in the order they first appear.
+     */
+    private static String renumber(String ollirCode) {
+        var renumbered = new StringBuilder();
+
+        for (var method : ollirCode.split("(?=\\.method )")) {
+            var numbers = new HashMap<String, Integer>();
+            var matcher = NUMBERED_NAME.matcher(method);
+            renumbered.append(matcher.replaceAll(match -> {
+                var prefix = match.group(1);
+                var number = numbers.computeIfAbsent(match.group(), name -> (int) numbers.keySet().stream()
+                        .filter(other -> other.startsWith(prefix) && other.substring(prefix.length()).matches("\\d+"))
+                        .count());
+                return prefix + number;
+            }));
+        }
+
+        return renumbered.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package pt.up.fe.comp2025.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that disabled diagnostics do no work, and that enabled ones are formatted and written to the error stream.
+ */
+public class LogTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream standardOutput = new ByteArrayOutputStream();
+    private PrintStream originalErr;
+    private PrintStream originalOut;
+
+    @Before
+    public void captureOutput() {
+        originalErr = System.err;
+        originalOut = System.out;
+        System.setErr(new PrintStream(output, true));
+        System.setOut(new PrintStream(standardOutput, true));
+    }
+
+    @After
+    public void restore() {
+        System.setErr(originalErr);
+        System.setOut(originalOut);
+        Log.setLevel(Log.DEFAULT_LEVEL);
+    }
+
+    @Test
+    public void disabledLevelDoesNotFormat() {
+        Log.setLevel(Log.Level.DEBUG);
+
+        var argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Formatted a disabled message");
+            }
+        };
+
+        Log.trace("Node {}", argument);
+        Log.trace(() -> {
+            throw new AssertionError("Built a disabled message");
+        });
+
+        assertEquals("", output.toString());
+    }
+
+    @Test
+    public void enabledLevelIsFormatted() {
+        Log.setLevel(Log.Level.TRACE);
+
+        Log.trace("Stored {} = {}", "a", 10);
+        Log.debug("No {} argument");
+
+        assertEquals("[TRACE] Stored a = 10" + System.lineSeparator()
+                + "[DEBUG] No {} argument" + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void everyLevelGoesToStandardError() {
+        Log.setLevel(Log.Level.TRACE);
+
+        Log.error("e");
+        Log.warn("w");
+        Log.info("i");
+        Log.debug("d");
+        Log.trace("t");
+
+        assertEquals("", standardOutput.toString());
+        assertEquals(5, output.toString().lines().count());
+    }
+
+    @Test
+    public void levelFromOption() {
+        assertEquals(Log.DEFAULT_LEVEL, CompilerConfig.getLogLevel(Map.of()));
+        assertEquals(Log.Level.TRACE, CompilerConfig.getLogLevel(Map.of("verbose", "true")));
+        assertEquals(Log.Level.DEBUG, CompilerConfig.getLogLevel(Map.of("verbose", "debug")));
+    }
+}
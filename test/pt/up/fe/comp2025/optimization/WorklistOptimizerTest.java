@@ -0,0 +1,107 @@
+package pt.up.fe.comp2025.optimization;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the worklist gives the same AST as repeating {@link OptimizationVisitor} until nothing changes.
+ */
+public class WorklistOptimizerTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    @Test
+    public void sameAstOnTestResources() {
+        for (var file : SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm")) {
+            var code = SpecsIo.read(file);
+
+            var expected = TestUtils.parse(code).getRootNode();
+            if (expected == null) {
+                continue;
+            }
+            var expectedError = run(() -> optimizeUntilFixpoint(expected));
+
+            var root = TestUtils.parse(code).getRootNode();
+            var error = run(() -> new WorklistOptimizer().optimize(root));
+
+            assertEquals(file.getPath(), expectedError, error);
+            if (expectedError == null) {
+                assertEquals(file.getPath(), expected.toTree(), root.toTree());
+            }
+        }
+    }
+
+    @Test
+    public void chainInOneVisit() {
+        var root = TestUtils.parse("""
+                class A {
+                    public int foo() {
+                        int a;
+                        int b;
+                        int c;
+                        int d;
+                        a = 1;
+                        b = a + 1;
+                        c = b * 2;
+                        d = c - b;
+                        return d;
+                    }
+                }
+                """).getRootNode();
+        int nodes = root.getDescendantsAndSelfStream().toList().size();
+
+        var optimizer = new WorklistOptimizer();
+        optimizer.optimize(root);
+
+        var returnValue = root.getDescendants(Kind.RETURN_STMT).get(0).getChild(0);
+        assertEquals("IntegerLiteral", returnValue.getKind());
+        assertEquals("2", returnValue.get("value"));
+
+        // Each node is visited once, and each assignment and binary expression processed once more
+        assertTrue(optimizer.getVisits() <= 2 * nodes);
+    }
+
+    @Test
+    public void loopForgetsAssignedVariables() {
+        var root = TestUtils.parse("""
+                class A {
+                    public int foo() {
+                        int i;
+                        i = 0;
+                        while (i < 10) {
+                            i = i + 1;
+                        }
+                        return i;
+                    }
+                }
+                """).getRootNode();
+
+        new WorklistOptimizer().optimize(root);
+
+        var condition = root.getDescendants(Kind.WHILE_STMT).get(0).getChild(0);
+        assertEquals("VarRefExpr", condition.getChild(0).getKind());
+        assertEquals("VarRefExpr", root.getDescendants(Kind.RETURN_STMT).get(0).getChild(0).getKind());
+    }
+
+    private static void optimizeUntilFixpoint(JmmNode root) {
+        var table = new JmmSymbolTableBuilder().build(root);
+        new OptimizationVisitor().optimizeUntilFixpoint(root, table);
+    }
+
+    private static String run(Runnable optimization) {
+        try {
+            optimization.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e.getClass() + ": " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares ASTs, including positions, usually the one built by one of the parsers with the one built from the ANTLR
+ * parse tree.
+ */
+public class AstComparison {
+
+    private AstComparison() {
+    }
+
+    /**
+     * @param expected usually the result of the ANTLR parser with LL prediction
+     * @param actual
+     */
+    public static void assertSameResult(String name, JmmParserResult expected, JmmParserResult actual) {
+        // The messages may not be the same, but both must fail on the same inputs
+        assertEquals(name + ": errors", hasErrors(expected), hasErrors(actual));
+
+        if (expected.getRootNode() == null) {
+            assertNull(name + ": root", actual.getRootNode());
+            return;
+        }
+
+        assertSameNode(name, expected.getRootNode(), actual.getRootNode());
+    }
+
+    /**
+     * Compares the message, type, stage and position of each report.
+     */
+    public static void assertSameReports(String name, JmmParserResult expected, JmmParserResult actual) {
+        assertEquals(name + ": reports", describe(expected.getReports()), describe(actual.getReports()));
+    }
+
+    private static List<String> describe(List<Report> reports) {
+        return reports.stream()
+                .map(report -> report.getType() + "@" + report.getStage() + " " + report.getLine() + ":"
+                        + report.getColumn() + " " + report.getMessage())
+                .toList();
+    }
+
+    private static boolean hasErrors(JmmParserResult result) {
+        return result.getReports().stream().anyMatch(report -> report.getType() == ReportType.ERROR);
+    }
+
+    public static void assertSameNode(String path, JmmNode expected, JmmNode actual) {
+        path = path + "/" + expected.getKind();
+
+        assertEquals(path + ": hierarchy", expected.getHierarchy(), actual.getHierarchy());
+        assertEquals(path + ": attributes", new HashSet<>(expected.getAttributes()),
+                new HashSet<>(actual.getAttributes()));
+
+        for (var attribute : expected.getAttributes()) {
+            var expectedValue = expected.getObject(attribute);
+            var actualValue = actual.getObject(attribute);
+
+            // Node attributes refer to one of the children
+            if (expectedValue instanceof JmmNode expectedNode) {
+                assertTrue(path + ": " + attribute, actualValue instanceof JmmNode);
+                assertEquals(path + ": " + attribute, indexOf(expected.getChildren(), expectedNode),
+                        indexOf(actual.getChildren(), (JmmNode) actualValue));
+                continue;
+            }
+
+            assertEquals(path + ": " + attribute, expectedValue, actualValue);
+        }
+
+        assertEquals(path + ": children", expected.getNumChildren(), actual.getNumChildren());
+        for (int i = 0; i < expected.getNumChildren(); i++) {
+            assertSame(path + ": parent", actual, actual.getChild(i).getParent());
+            assertSameNode(path + "[" + i + "]", expected.getChild(i), actual.getChild(i));
+        }
+    }
+
+    private static int indexOf(List<JmmNode> nodes, JmmNode node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == node) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
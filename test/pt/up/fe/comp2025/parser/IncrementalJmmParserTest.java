@@ -0,0 +1,139 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.utils.ReportUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that updating the AST of an edited method gives the same AST as parsing the whole edited code.
+ */
+public class IncrementalJmmParserTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    private static final String CODE = """
+            class A {
+                int field;
+                public int foo(int a) {
+                    int b;
+                    b = a + 1;
+                    return b;
+                }
+                public int bar() { return this.foo(1); } public boolean baz() { return true; }
+            }
+            """;
+
+    @Test
+    public void sameAstOnTestResources() {
+        for (var file : SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm")) {
+            var code = SpecsIo.read(file);
+
+            var incremental = new IncrementalJmmParser(CompilerConfig.getDefault());
+            var result = incremental.parse(code);
+            if (result.getRootNode() == null) {
+                continue;
+            }
+
+            // One statement added at the end of each method, and removed again
+            int methods = result.getRootNode().getDescendants(Kind.METHOD_DECL).size();
+            for (int i = 0; i < methods; i++) {
+                var method = incremental.getResult().getRootNode().getDescendants(Kind.METHOD_DECL).get(i);
+                int closingBrace = endOffset(incremental.getCode(), method);
+
+                var added = "\n    added = 1 + 2;\n";
+                assertSameAsFullParse(file.getPath(), incremental, new TextEdit(closingBrace, 0, added));
+                assertSameAsFullParse(file.getPath(), incremental, new TextEdit(closingBrace, added.length(), ""));
+            }
+
+            assertEquals(file.getPath(), 2 * methods, incremental.getReparsedMethods());
+            assertEquals(file.getPath(), code, incremental.getCode());
+        }
+    }
+
+    @Test
+    public void editsInsideMethods() {
+        var incremental = new IncrementalJmmParser(CompilerConfig.getDefault());
+        incremental.parse(CODE);
+
+        // Multi-line replacement in the middle of foo
+        assertSameAsFullParse("replaceLines", incremental, edit(CODE, "b = a + 1;\n        return b;",
+                "b = a * 2;\n        b = b\n - 1;\n\n        return b;"));
+        // Column change on a line shared with the next method
+        assertSameAsFullParse("sameLine", incremental, edit(incremental.getCode(), "this.foo(1)", "this.foo(1, 2, 3)"));
+        assertSameAsFullParse("deleteStatement", incremental, edit(incremental.getCode(), "int b;", ""));
+
+        assertEquals(3, incremental.getReparsedMethods());
+        assertEquals(1, incremental.getFullParses());
+    }
+
+    @Test
+    public void fullParseOutsideMethods() {
+        var incremental = new IncrementalJmmParser(CompilerConfig.getDefault());
+        incremental.parse(CODE);
+
+        assertSameAsFullParse("field", incremental, edit(CODE, "int field;", "int field;\n    boolean other;"));
+        assertEquals(0, incremental.getReparsedMethods());
+        assertEquals(2, incremental.getFullParses());
+    }
+
+    @Test
+    public void fullParseWhenStructureChanges() {
+        var incremental = new IncrementalJmmParser(CompilerConfig.getDefault());
+        incremental.parse(CODE);
+
+        // The method is split in two, the methodDecl rule alone would stop at the first one
+        assertSameAsFullParse("split", incremental, edit(CODE, "int b;", "return 0; } public int split() { int b;"));
+        assertEquals(0, incremental.getReparsedMethods());
+
+        // Syntax errors are reported by the full parse
+        var result = incremental.edit(edit(incremental.getCode(), "return 0;", "return ;"));
+        assertTrue(ReportUtils.anyError(result.getReports()));
+        assertNull(result.getRootNode());
+        assertEquals(0, incremental.getReparsedMethods());
+
+        // The next edit parses everything again, there is no AST to update
+        assertSameAsFullParse("fixed", incremental, edit(incremental.getCode(), "return ;", "return 0;"));
+        assertEquals(0, incremental.getReparsedMethods());
+    }
+
+    private static void assertSameAsFullParse(String name, IncrementalJmmParser incremental, TextEdit edit) {
+        var result = incremental.edit(edit);
+        var expected = new JmmParserImpl().parse(incremental.getCode(), CompilerConfig.getDefault());
+
+        assertNoErrors(name, expected);
+        assertNoErrors(name, result);
+
+        AstComparison.assertSameNode(name, expected.getRootNode(), result.getRootNode());
+    }
+
+    private static void assertNoErrors(String name, JmmParserResult result) {
+        assertFalse(name + ": " + result.getReports(), ReportUtils.anyError(result.getReports()));
+        assertNotNull(name + ": root", result.getRootNode());
+    }
+
+    private static TextEdit edit(String code, String oldText, String newText) {
+        int offset = code.indexOf(oldText);
+        assertTrue("'" + oldText + "' not found", offset >= 0);
+
+        return new TextEdit(offset, oldText.length(), newText);
+    }
+
+    private static int endOffset(String code, JmmNode node) {
+        int line = Integer.parseInt(node.get(NodePosition.LINE_END.getKey()));
+        int offset = 0;
+        for (int i = 1; i < line; i++) {
+            offset = code.indexOf('\n', offset) + 1;
+        }
+
+        return offset + Integer.parseInt(node.get(NodePosition.COL_END.getKey()));
+    }
+}
@@ -0,0 +1,109 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks that every parser given with '-p' builds the same AST as the ANTLR parser with LL prediction, and fails on
+ * the same inputs. The parsers generated from the grammar must also give the same reports.
+ */
+@RunWith(Parameterized.class)
+public class ParserEquivalenceTest {
+
+    private static final String TEST_FOLDER = "test";
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> parsers() {
+        return List.of(new Object[]{CompilerConfig.SLL_PARSER}, new Object[]{CompilerConfig.LL_PARSER},
+                new Object[]{CompilerConfig.RD_PARSER}, new Object[]{CompilerConfig.LISTENER_PARSER},
+                new Object[]{CompilerConfig.STREAM_PARSER});
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final String parser;
+
+    public ParserEquivalenceTest(String parser) {
+        this.parser = parser;
+    }
+
+    @Test
+    public void sameAstOnTestResources() throws IOException {
+        var files = new ArrayList<>(SpecsIo.getFilesRecursive(new File(TEST_FOLDER), "jmm"));
+        assertFalse("No .jmm files found in '" + TEST_FOLDER + "'", files.isEmpty());
+
+        for (var file : files) {
+            assertSameAst(file.getPath(), SpecsIo.read(file), "program");
+        }
+    }
+
+    @Test
+    public void sameAstOnStartingRules() throws IOException {
+        assertSameAst("import", "import bar.foo.a;", "importDecl");
+        assertSameAst("main", "static void main(String[] args) { a = 1; }", "methodDecl");
+        assertSameAst("varargs", "public int foo(int... a, boolean b, Foo... c) { return a[0]; }", "methodDecl");
+        assertSameAst("assign", "a[i] = b[j][k];", "stmt");
+        assertSameAst("assignIndexed", "a[i][j] = 1;", "stmt");
+        assertSameAst("precedence", "!a.b(1 + 2 * 3, [1, 2]) < c.length + d[0] && true || this.e()", "expr");
+        assertSameAst("dotAccess", "1 + a.length", "expr");
+        assertSameAst("newExprs", "new int[new A().b().length]", "expr");
+        assertSameAst("leftRecursion", "(a)[0][1].b().c.d(2) * 3 - 4 - 5 < 6", "expr");
+    }
+
+    @Test
+    public void sameErrors() throws IOException {
+        assertSameAst("missingSemicolon", "class A { int a }", "program");
+        assertSameAst("unknownCharacter", "class A { int # a; }", "program");
+        assertSameAst("unterminatedComment", "class A { } /* ", "program");
+        assertSameAst("trailingTokens", "class A { } class B { }", "program");
+    }
+
+    private void assertSameAst(String name, String code, String rule) throws IOException {
+        var expectedConfig = CompilerConfig.getDefault();
+        CompilerConfig.setParser(expectedConfig, CompilerConfig.LL_PARSER);
+        var expected = new JmmParserImpl().parse(code, rule, expectedConfig);
+
+        var actual = parse(code, rule);
+        AstComparison.assertSameResult(name, expected, actual);
+
+        // The other parsers are built on the same ANTLR grammar, they report the same errors in the same places and
+        // add the attributes in the same order
+        if (!parser.equals(CompilerConfig.RD_PARSER)) {
+            AstComparison.assertSameReports(name, expected, actual);
+
+            if (expected.getRootNode() != null) {
+                assertEquals(name + ": tree", expected.getRootNode().toTree(), actual.getRootNode().toTree());
+            }
+        }
+    }
+
+    private JmmParserResult parse(String code, String rule) throws IOException {
+        var config = CompilerConfig.getDefault();
+        CompilerConfig.setParser(config, parser);
+
+        // The streaming parser only streams files, code in memory goes through the listener
+        if (parser.equals(CompilerConfig.STREAM_PARSER)) {
+            var file = folder.newFile();
+            SpecsIo.write(file, code);
+            return new JmmParserImpl().parseFile(file, rule, config);
+        }
+
+        return new JmmParserImpl().parse(code, rule, config);
+    }
+}
@@ -0,0 +1,79 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.CompilerConfig;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a pooled parser does not carry state from one parse to the next.
+ */
+public class ParserPoolTest {
+
+    private static final String VALID_CODE = "class A { int a; public int foo(int b) { return a + b; } }";
+
+    @Test
+    public void reuseAfterSyntaxError() {
+        var config = CompilerConfig.getDefault();
+        var parser = new JmmParserImpl();
+
+        var expected = parser.parse(VALID_CODE, config).getRootNode().toTree();
+        int reused = ParserPool.getReused();
+
+        var errorResult = parser.parse("class A { int a }", config);
+        assertTrue(errorResult.getReports().stream().anyMatch(report -> report.getType() == ReportType.ERROR));
+
+        var result = parser.parse(VALID_CODE, config);
+        assertTrue(result.getReports().stream().noneMatch(report -> report.getType() == ReportType.ERROR));
+        assertEquals(expected, result.getRootNode().toTree());
+
+        assertTrue("parser was not reused", ParserPool.getReused() > reused);
+    }
+
+    @Test
+    public void sameErrorsAsNewParser() {
+        var config = CompilerConfig.getDefault();
+        CompilerConfig.setParser(config, CompilerConfig.LL_PARSER);
+        var parser = new JmmParserImpl();
+
+        var code = "class A { int a }";
+        var expected = parser.parse(code, config).getReports().toString();
+
+        // Ends in another state of the grammar, which the next parse must not start from
+        parser.parse("(a)[0][1].b().c.d(2) * 3 - 4 - 5 < 6", "expr", config);
+
+        assertEquals(expected, parser.parse(code, config).getReports().toString());
+        assertTrue(expected, expected.contains("no viable alternative"));
+    }
+
+    @Test
+    public void warmUpFillsPredictionDfa() {
+        ParserPool.warmUp();
+
+        int states = ParserPool.getDfaStates();
+        assertTrue(states > 0);
+        assertTrue(ParserPool.getSummary().contains(states + " prediction DFA states"));
+
+        // The corpus finds every state it needs already in the DFA
+        var config = CompilerConfig.getDefault();
+        var parser = new JmmParserImpl();
+        for (var code : ParserPool.WARMUP_CORPUS) {
+            var result = parser.parse(code, config);
+            assertTrue(result.getReports().stream().noneMatch(report -> report.getType() == ReportType.ERROR));
+        }
+        assertEquals(states, ParserPool.getDfaStates());
+    }
+
+    @Test
+    public void warmUpLeavesParserInPool() {
+        ParserPool.warmUp();
+        int created = ParserPool.getCreated();
+        int reused = ParserPool.getReused();
+
+        new JmmParserImpl().parse(VALID_CODE, CompilerConfig.getDefault());
+
+        assertEquals(created, ParserPool.getCreated());
+        assertTrue(ParserPool.getReused() > reused);
+    }
+}
@@ -0,0 +1,93 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.junit.Test;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.CompilerConfig;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the two-stage parse: SLL prediction first, and full LL prediction when SLL gives up.
+ */
+public class PredictionFallbackTest {
+
+    private static final String VALID_CODE = """
+            class A {
+                int[] a;
+                public int foo(int b) {
+                    a[0] = b;
+                    return a[0] + this.foo(b - 1);
+                }
+            }
+            """;
+
+    // The missing ';' makes the SLL pass bail out, the LL pass recovers and reports every error up to the end
+    private static final String MISSING_SEMICOLON = """
+            class A {
+                int a
+                public int foo(int b) {
+                    return b;
+                }
+            }
+            """;
+
+    @Test
+    public void validCodeParsesWithSll() {
+        var result = parse(VALID_CODE, CompilerConfig.SLL_PARSER);
+
+        assertEquals(PredictionMode.SLL, ParserPool.getLastMode());
+        assertFalse(result.getReports().toString(), hasErrors(result));
+        assertEquals(parse(VALID_CODE, CompilerConfig.LL_PARSER).getRootNode().toTree(),
+                result.getRootNode().toTree());
+    }
+
+    @Test
+    public void syntaxErrorFallsBackToLl() {
+        var result = parse(MISSING_SEMICOLON, CompilerConfig.SLL_PARSER);
+        var llResult = parse(MISSING_SEMICOLON, CompilerConfig.LL_PARSER);
+
+        assertEquals(PredictionMode.LL, ParserPool.getLastMode());
+
+        // The same errors as parsing with LL only, and no AST since the code has errors
+        assertTrue(hasErrors(result));
+        assertEquals(describe(llResult.getReports()), describe(result.getReports()));
+        assertNull(result.getRootNode());
+
+        var error = result.getReports().stream().filter(report -> report.getType() == ReportType.ERROR)
+                .findFirst().orElseThrow();
+        assertEquals(3, error.getLine());
+    }
+
+    @Test
+    public void streamingParserFallsBackToLl() {
+        var result = parse(MISSING_SEMICOLON, CompilerConfig.STREAM_PARSER);
+
+        assertEquals(PredictionMode.LL, ParserPool.getLastMode());
+        assertTrue(hasErrors(result));
+        assertEquals(describe(parse(MISSING_SEMICOLON, CompilerConfig.LL_PARSER).getReports()),
+                describe(result.getReports()));
+    }
+
+    private static JmmParserResult parse(String code, String parser) {
+        var config = CompilerConfig.getDefault();
+        CompilerConfig.setParser(config, parser);
+
+        return new JmmParserImpl().parse(code, config);
+    }
+
+    private static boolean hasErrors(JmmParserResult result) {
+        return result.getReports().stream().anyMatch(report -> report.getType() == ReportType.ERROR);
+    }
+
+    private static List<String> describe(List<Report> reports) {
+        return reports.stream()
+                .map(report -> report.getType() + "@" + report.getLine() + ":" + report.getColumn() + " "
+                        + report.getMessage())
+                .toList();
+    }
+}
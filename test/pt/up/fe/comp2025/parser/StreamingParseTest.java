@@ -0,0 +1,68 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.utils.ReportUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks reading the file of the streaming parser. The ASTs are compared with the other parsers in
+ * {@link ParserEquivalenceTest}.
+ */
+public class StreamingParseTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void syntaxErrors() throws IOException {
+        var file = write("class A { public int foo() { return 1 } }");
+
+        var result = new JmmParserImpl().parseFile(file, CompilerConfig.getDefault());
+
+        assertNull(result.getRootNode());
+        var error = result.getReports().stream().filter(report -> report.getLine() == 1).findFirst();
+        assertTrue(result.getReports().toString(), error.isPresent());
+    }
+
+    @Test
+    public void missingFile() {
+        var result = new JmmParserImpl().parseFile(new File(folder.getRoot(), "Missing.jmm"),
+                CompilerConfig.getDefault());
+
+        assertNull(result.getRootNode());
+        assertTrue(ReportUtils.anyError(result.getReports()));
+    }
+
+    @Test
+    public void decodesAcrossBlocks() throws IOException {
+        // Multi-byte characters end up split between the blocks the reader decodes
+        var code = new StringBuilder("class A {\n");
+        for (int i = 0; i < 3000; i++) {
+            code.append("    // ção ").append(i).append(" 😀\n");
+        }
+        code.append("}\n");
+
+        var file = write(code.toString());
+        var text = new StringWriter();
+        MappedSource.open(file).newReader().transferTo(text);
+
+        assertEquals(code.toString(), text.toString());
+        assertNotNull(new JmmParserImpl().parseFile(file, CompilerConfig.getDefault()).getRootNode());
+    }
+
+    private File write(String code) throws IOException {
+        var file = folder.newFile("Test.jmm");
+        SpecsIo.write(file, code);
+
+        return file;
+    }
+}
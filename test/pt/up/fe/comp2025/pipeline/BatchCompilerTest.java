@@ -0,0 +1,77 @@
+package pt.up.fe.comp2025.pipeline;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a file with errors fails on its own, without stopping the rest of the batch, and that inputs declaring
+ * the same class fail together.
+ */
+public class BatchCompilerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void failingFileDoesNotStopBatch() throws IOException {
+        var first = newSource("First.jmm", "class First { public int foo(int a) { return a + 1; } }");
+        var failing = newSource("Failing.jmm", "class Failing { public int foo() { return b; } }");
+        var last = newSource("Last.jmm", "class Last { public boolean bar(boolean b) { return !b; } }");
+        var outputDir = folder.newFolder("out");
+
+        var config = CompilerConfig.parseArgs(new String[]{"-b=" + first + "," + failing + "," + last,
+                "-d=" + outputDir, "-j=2"});
+        var batchCompiler = new BatchCompiler(new CompilationPipeline(), config);
+
+        var results = batchCompiler.compile(List.of(first, failing, last));
+        assertEquals(List.of(first.getPath(), failing.getPath(), last.getPath()),
+                results.stream().map(CompilationResult::getName).toList());
+        assertTrue(results.get(0).getReports().toString(), results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getFirstError().isPresent());
+        assertTrue(results.get(2).getReports().toString(), results.get(2).isSuccess());
+
+        assertEquals(1, batchCompiler.run(List.of(first, failing, last)));
+        assertTrue(new File(outputDir, "First.class").isFile());
+        assertFalse(new File(outputDir, "Failing.class").exists());
+        assertTrue(new File(outputDir, "Last.class").isFile());
+    }
+
+    @Test
+    public void duplicateClassFailsBothInputs() throws IOException {
+        var first = newSource("First.jmm", "class Same { public int foo(int a) { return a + 1; } }");
+        var second = newSource("Second.jmm", "class Same { public boolean bar(boolean b) { return !b; } }");
+        var other = newSource("Other.jmm", "class Other { public int baz() { return 0; } }");
+        var outputDir = folder.newFolder("out");
+
+        var config = CompilerConfig.parseArgs(new String[]{"-b=" + first + "," + second + "," + other,
+                "-d=" + outputDir, "-j=2"});
+        var batchCompiler = new BatchCompiler(new CompilationPipeline(), config);
+
+        var results = batchCompiler.compile(List.of(first, second, other));
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).getFirstError().orElseThrow().getMessage().contains(second.getPath()));
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getFirstError().orElseThrow().getMessage().contains(first.getPath()));
+        assertTrue(results.get(2).getReports().toString(), results.get(2).isSuccess());
+
+        assertEquals(1, batchCompiler.run(List.of(first, second, other)));
+        assertFalse(new File(outputDir, "Same.class").exists());
+        assertTrue(new File(outputDir, "Other.class").isFile());
+    }
+
+    private File newSource(String name, String code) throws IOException {
+        var file = folder.newFile(name);
+        SpecsIo.write(file, code);
+        return file;
+    }
+}
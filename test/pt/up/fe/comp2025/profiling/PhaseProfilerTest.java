@@ -0,0 +1,78 @@
+package pt.up.fe.comp2025.profiling;
+
+import com.google.gson.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.pipeline.CompilationPipeline;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the profile of a compilation with '-t' lists every phase the pipeline ran.
+ */
+public class PhaseProfilerTest {
+
+    private static final String CODE = """
+            class Profiled {
+                public int foo(int a) {
+                    int b;
+                    b = 2 * 3;
+                    while (a < b) {
+                        a = a + 1;
+                    }
+                    return a + b;
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void profileListsEveryPhase() throws IOException {
+        var input = folder.newFile("Profiled.jmm");
+        SpecsIo.write(input, CODE);
+
+        var config = CompilerConfig.parseArgs(new String[]{"-i=" + input, "-o", "-r=0", "-t"});
+        var result = new CompilationPipeline().compile(input, config);
+        assertTrue(result.getReports().toString(), result.isSuccess());
+        assertNotNull(result.getProfile());
+
+        var profile = JsonParser.parseString(result.getProfile()).getAsJsonObject();
+        assertEquals(input.getPath(), profile.get("name").getAsString());
+        assertTrue(profile.has("total"));
+
+        var phases = new ArrayList<String>();
+        for (var phase : profile.getAsJsonArray("phases")) {
+            var stats = phase.getAsJsonObject();
+            assertTrue(stats.get("count").getAsInt() > 0);
+            assertTrue(stats.get("wallNanos").getAsLong() >= 0);
+            phases.add(stats.get("phase").getAsString());
+        }
+
+        for (var expected : List.of("parse", "symbolTable", "analysis", "analysis/typing", "analysis/Method",
+                "analysis/ParamPass", "optimizeAst", "optimizeAst/constantFoldingPropagation", "toOllir",
+                "registerAllocation", "jasmin", "assemble")) {
+            assertTrue("Missing phase '" + expected + "' in " + phases, phases.contains(expected));
+        }
+    }
+
+    @Test
+    public void noProfileWithoutOption() throws IOException {
+        var input = folder.newFile("Profiled.jmm");
+        SpecsIo.write(input, CODE);
+
+        var config = CompilerConfig.parseArgs(new String[]{"-i=" + input});
+        var result = new CompilationPipeline().compile(input, config);
+        assertTrue(result.getReports().toString(), result.isSuccess());
+        assertNull(result.getProfile());
+        assertFalse(PhaseProfiler.isActive());
+    }
+}
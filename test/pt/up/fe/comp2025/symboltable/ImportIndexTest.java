@@ -0,0 +1,38 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that imported classes are found by their simple name.
+ */
+public class ImportIndexTest {
+
+    @Test
+    public void importsBySimpleName() {
+        var root = TestUtils.parse("""
+                import io;
+                import java.util.List;
+                import other.List;
+                class A {
+                }
+                """).getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+
+        assertEquals(List.of("io", "java.util.List", "other.List"), table.getImports());
+
+        assertTrue(table.isImportedClass("io"));
+        assertTrue(table.isImportedClass("List"));
+        assertFalse(table.isImportedClass("util"));
+        assertFalse(table.isImportedClass("java.util.List"));
+
+        assertEquals(Optional.of("io"), table.resolveImport("io"));
+        assertEquals(Optional.of("java.util.List"), table.resolveImport("List"));
+        assertEquals(Optional.empty(), table.resolveImport("A"));
+    }
+}
@@ -0,0 +1,76 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that variable names resolve to the local variable, then the parameter, then the field.
+ */
+public class ScopeResolutionTest {
+
+    private static final String CODE = """
+            class A {
+                int a;
+                boolean b;
+                int[] c;
+
+                public int foo(boolean a, int b) {
+                    int[] b;
+                    return a;
+                }
+
+                public int bar() {
+                    return a + d;
+                }
+            }
+            """;
+
+    @Test
+    public void localThenParamThenField() {
+        var root = TestUtils.parse(CODE).getRootNode();
+        var table = new JmmSymbolTableBuilder().build(root);
+
+        assertEquals(ResolvedSymbol.Scope.LOCAL, table.resolve("foo", "b").get().scope());
+        assertTrue(table.resolve("foo", "b").get().symbol().getType().isArray());
+        assertEquals(ResolvedSymbol.Scope.PARAM, table.resolve("foo", "a").get().scope());
+        assertEquals(ResolvedSymbol.Scope.FIELD, table.resolve("foo", "c").get().scope());
+        assertEquals(ResolvedSymbol.Scope.FIELD, table.resolve("bar", "a").get().scope());
+        assertTrue(table.resolve("bar", "d").isEmpty());
+        assertTrue(table.resolve("unknown", "d").isEmpty());
+    }
+
+    @Test
+    public void varRefKeepsResolvedSymbol() {
+        var root = TestUtils.parse(CODE).getRootNode();
+        var types = new TypeUtils(new JmmSymbolTableBuilder().build(root));
+
+        var varRefs = root.getDescendants(Kind.VAR_REF_EXPR);
+        types.annotateTypes(root);
+
+        var fooA = find(root, "foo", "a");
+        assertEquals(ResolvedSymbol.Scope.PARAM, ((ResolvedSymbol) fooA.getObject(TypeUtils.RESOLVED_SYMBOL)).scope());
+        assertEquals("boolean", types.getExprType(fooA).getName());
+
+        var barA = find(root, "bar", "a");
+        assertTrue(((ResolvedSymbol) barA.getObject(TypeUtils.RESOLVED_SYMBOL)).isField());
+
+        var barD = find(root, "bar", "d");
+        assertFalse(barD.hasAttribute(TypeUtils.RESOLVED_SYMBOL));
+        assertEquals(TypeUtils.TYPE_ERROR_UNDECLARED_VAR, types.getExprType(barD));
+
+        assertEquals(3, varRefs.size());
+    }
+
+    private static JmmNode find(JmmNode root, String method, String name) {
+        return root.getDescendants(Kind.VAR_REF_EXPR).stream()
+                .filter(varRef -> varRef.get("name").equals(name))
+                .filter(varRef -> varRef.getAncestor(Kind.METHOD_DECL).get().get("methodName").equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,80 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.ast.TypeRegistry;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the table built in one visit and the duplicate declarations it reports.
+ */
+public class SymbolTableBuilderTest {
+
+    @Test
+    public void buildsEverySection() {
+        var root = TestUtils.parse("""
+                import io;
+                class A extends B {
+                    int x;
+                    boolean flag;
+                    public int foo(int a, boolean b) {
+                        int c;
+                        return a;
+                    }
+                    public static void main(String[] args) {
+                        int d;
+                    }
+                }
+                """).getRootNode();
+        var builder = new JmmSymbolTableBuilder();
+        var table = builder.build(root);
+
+        assertTrue(builder.getReports().isEmpty());
+
+        assertEquals("A", table.getClassName());
+        assertEquals("B", table.getSuper());
+        assertEquals(List.of("io"), table.getImports());
+        assertEquals(List.of(new Symbol(TypeRegistry.INT, "x"), new Symbol(TypeRegistry.BOOLEAN, "flag")),
+                table.getFields());
+
+        assertEquals(List.of("foo", "main"), table.getMethods());
+        assertEquals(TypeRegistry.INT, table.getReturnType("foo"));
+        assertEquals(TypeRegistry.VOID, table.getReturnType("main"));
+        assertEquals(List.of(new Symbol(TypeRegistry.INT, "a"), new Symbol(TypeRegistry.BOOLEAN, "b")),
+                table.getParameters("foo"));
+        assertEquals(List.of(new Symbol(TypeRegistry.INT, "c")), table.getLocalVariables("foo"));
+        assertEquals(List.of(new Symbol(TypeRegistry.INT, "d")), table.getLocalVariables("main"));
+    }
+
+    @Test
+    public void reportsDuplicates() {
+        var root = TestUtils.parse("""
+                class A {
+                    int x;
+                    int x;
+                    public int foo(int a, int a) {
+                        int b;
+                        boolean b;
+                        return 0;
+                    }
+                    public int foo() {
+                        return 0;
+                    }
+                }
+                """).getRootNode();
+        var builder = new JmmSymbolTableBuilder();
+        builder.build(root);
+
+        var messages = builder.getReports().stream().map(Report::getMessage).toList();
+        assertEquals(List.of(
+                "Field 'x' is already declared.",
+                "Parameter 'a' is already declared in method 'foo'.",
+                "Variable 'b' is already declared in method 'foo'.",
+                "Method 'foo' is already declared."), messages);
+    }
+}